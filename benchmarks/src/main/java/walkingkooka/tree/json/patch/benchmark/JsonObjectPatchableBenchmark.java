@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch.benchmark;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
+import walkingkooka.tree.json.patch.Patchable;
+
+/**
+ * Benchmarks a {@link Patchable} holding a {@link JsonObject} patched with JSON merge patch semantics, where a null
+ * property removes that property.
+ */
+public class JsonObjectPatchableBenchmark extends PatchableBenchmark<JsonObjectPatchableBenchmark.JsonObjectPatchable> {
+
+    @Override
+    public JsonObjectPatchable createPatchable() {
+        return new JsonObjectPatchable(
+            JsonNode.object()
+        );
+    }
+
+    @Override
+    public JsonNodeUnmarshallContext createPatchContext() {
+        return JsonNodeUnmarshallContexts.fake();
+    }
+
+    public static final class JsonObjectPatchable implements Patchable<JsonObjectPatchable> {
+
+        JsonObjectPatchable(final JsonObject value) {
+            this.value = value;
+        }
+
+        @Override
+        public JsonObjectPatchable patch(final JsonNode json,
+                                         final JsonNodeUnmarshallContext context) {
+            return new JsonObjectPatchable(
+                merge(
+                    this.value,
+                    json.objectOrFail()
+                )
+            );
+        }
+
+        private static JsonObject merge(final JsonObject value,
+                                        final JsonObject patch) {
+            JsonObject merged = value;
+
+            for (final JsonNode property : patch.children()) {
+                if (property.isNull()) {
+                    merged = merged.remove(property.name());
+                    continue;
+                }
+
+                JsonNode propertyValue = property;
+
+                if (property.isObject()) {
+                    propertyValue = merge(
+                        merged.get(property.name())
+                            .filter(JsonNode::isObject)
+                            .map(JsonNode::objectOrFail)
+                            .orElse(JsonNode.object()),
+                        property.objectOrFail()
+                    );
+                }
+
+                merged = merged.set(
+                    property.name(),
+                    propertyValue
+                );
+            }
+
+            return merged;
+        }
+
+        private final JsonObject value;
+
+        @Override
+        public String toString() {
+            return this.value.toString();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch.benchmark;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates JSON object patches of a given width and depth. Each level has width properties, with the last property of
+ * every level except the deepest holding the next level, and the remaining properties holding number or string leaves.
+ */
+final class PatchCorpus {
+
+    static List<JsonNode> generate(final int count,
+                                   final int width,
+                                   final int depth,
+                                   final long seed) {
+        if (width < 1) {
+            throw new IllegalArgumentException("Invalid width " + width + " < 1");
+        }
+        if (depth < 1) {
+            throw new IllegalArgumentException("Invalid depth " + depth + " < 1");
+        }
+
+        final Random random = new Random(seed);
+        final List<JsonNode> patches = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            patches.add(
+                level(
+                    width,
+                    depth,
+                    random
+                )
+            );
+        }
+
+        return patches;
+    }
+
+    private static JsonObject level(final int width,
+                                    final int depth,
+                                    final Random random) {
+        JsonObject object = JsonNode.object();
+
+        for (int i = 0; i < width; i++) {
+            final JsonNode value;
+            if (depth > 1 && i == width - 1) {
+                value = level(
+                    width,
+                    depth - 1,
+                    random
+                );
+            } else {
+                value = random.nextBoolean() ?
+                    JsonNode.number(random.nextInt(100)) :
+                    JsonNode.string("value-" + random.nextInt(100));
+            }
+
+            object = object.set(
+                property(i),
+                value
+            );
+        }
+
+        return object;
+    }
+
+    static JsonPropertyName property(final int i) {
+        return JsonPropertyName.with("property" + i);
+    }
+
+    private PatchCorpus() {
+        throw new UnsupportedOperationException();
+    }
+}
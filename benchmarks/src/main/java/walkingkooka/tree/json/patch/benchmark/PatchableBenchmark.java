@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.patch.Patchable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class for benchmarks of a {@link Patchable} against a corpus of patches. Sub classes provide the {@link Patchable}
+ * and context, and inherit the benchmark methods. The corpus is generated by {@link PatchCorpus} unless
+ * {@link #createPatches(int, int)} is overridden, for example to use property names the {@link Patchable} understands.
+ * <br>
+ * {@link Mode#Throughput} reports patches per second and {@link Mode#SampleTime} reports latency percentiles including
+ * p99. Allocation rates are reported when run with the GC profiler, eg <pre>-prof gc</pre>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class PatchableBenchmark<T extends Patchable<T>> {
+
+    /**
+     * The number of patches generated, which are applied in turn.
+     */
+    final static int CORPUS_SIZE = 1024;
+
+    @Param({"1", "8", "64"})
+    public int width;
+
+    @Param({"1", "4"})
+    public int depth;
+
+    @Setup
+    public void setup() {
+        this.patchable = this.createPatchable();
+        this.context = this.createPatchContext();
+        this.patches = this.createPatches(
+            this.width,
+            this.depth
+        );
+    }
+
+    /**
+     * Applies a single patch, cycling through the corpus.
+     */
+    @Benchmark
+    public T patch() {
+        final List<JsonNode> patches = this.patches;
+        final int next = this.next;
+
+        this.next = next + 1 == patches.size() ?
+            0 :
+            next + 1;
+
+        return this.patchable.patch(
+            patches.get(next),
+            this.context
+        );
+    }
+
+    /**
+     * Applies the entire corpus using {@link Patchable#patchAll(Iterable, JsonNodeUnmarshallContext)}.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public T patchAll() {
+        return this.patchable.patchAll(
+            this.patches,
+            this.context
+        );
+    }
+
+    public abstract T createPatchable();
+
+    /**
+     * Creates the patches applied in turn, each with width properties per level nested depth levels. The default
+     * generates {@link #CORPUS_SIZE} patches with properties named property0, property1 and so on.
+     */
+    public List<JsonNode> createPatches(final int width,
+                                        final int depth) {
+        return PatchCorpus.generate(
+            CORPUS_SIZE,
+            width,
+            depth,
+            width * 31L + depth
+        );
+    }
+
+    public abstract JsonNodeUnmarshallContext createPatchContext();
+
+    private T patchable;
+
+    private JsonNodeUnmarshallContext context;
+
+    private List<JsonNode> patches;
+
+    private int next;
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Holds a shared immutable {@link Patchable} value that many threads may patch without a lock. Each patch is applied
+ * to the current value and the result installed with a compare and set, retrying against the new value after a
+ * short backoff if another thread won. Patches may therefore be applied more than once and must not have side effects.
+ */
+public final class AtomicPatchable<T extends Patchable<T>> {
+
+    /**
+     * The number of retries that spin before backing off by parking.
+     */
+    private final static int SPIN_RETRIES = 4;
+
+    /**
+     * The longest time a retry parks.
+     */
+    private final static long MAX_PARK_NANOS = 1_000_000;
+
+    public static <T extends Patchable<T>> AtomicPatchable<T> with(final T initial) {
+        Objects.requireNonNull(initial, "initial");
+
+        return new AtomicPatchable<>(initial);
+    }
+
+    private AtomicPatchable(final T initial) {
+        super();
+        this.value = new AtomicReference<>(initial);
+    }
+
+    /**
+     * The current value.
+     */
+    public T get() {
+        return this.value.get();
+    }
+
+    /**
+     * Applies the patch to the current value and installs the result, retrying if the value was replaced by another
+     * thread in the meantime. A patch that fails is not retried and leaves the value unchanged.
+     */
+    public T patch(final JsonNode patch,
+                   final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(patch, "patch");
+        Objects.requireNonNull(context, "context");
+
+        final AtomicReference<T> value = this.value;
+        int retries = 0;
+        T patched;
+
+        for (;;) {
+            final T current = value.get();
+            patched = current.patch(
+                patch,
+                context
+            );
+
+            if (current == patched || value.compareAndSet(current, patched)) {
+                break;
+            }
+
+            this.conflicts.increment();
+            backoff(retries);
+            retries++;
+        }
+
+        this.patches.increment();
+        if (retries > 0) {
+            this.maxRetries.accumulateAndGet(
+                retries,
+                Math::max
+            );
+        }
+
+        return patched;
+    }
+
+    private static void backoff(final int retries) {
+        if (retries < SPIN_RETRIES) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(
+                Math.min(
+                    1L << Math.min(retries, 20),
+                    MAX_PARK_NANOS
+                )
+            );
+        }
+    }
+
+    /**
+     * The number of completed patches.
+     */
+    public long patchCount() {
+        return this.patches.sum();
+    }
+
+    /**
+     * The number of times a patch result was discarded because another thread replaced the value first.
+     */
+    public long conflictCount() {
+        return this.conflicts.sum();
+    }
+
+    /**
+     * The most retries needed by a single patch.
+     */
+    public long maxRetries() {
+        return this.maxRetries.get();
+    }
+
+    private final AtomicReference<T> value;
+
+    private final LongAdder patches = new LongAdder();
+
+    private final LongAdder conflicts = new LongAdder();
+
+    private final AtomicLong maxRetries = new AtomicLong();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return String.valueOf(this.value.get());
+    }
+}
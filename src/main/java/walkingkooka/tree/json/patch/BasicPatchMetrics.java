@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link PatchMetrics} that counts properties, successes and failures, and records latencies, for each
+ * {@link Patchable} type.
+ * <br>
+ * Recording takes no locks, types are found in a {@link ConcurrentHashMap} and all counts are atomic, so threads
+ * patching concurrently do not contend on this instance.
+ */
+public final class BasicPatchMetrics implements PatchMetrics {
+
+    public static BasicPatchMetrics empty() {
+        return new BasicPatchMetrics();
+    }
+
+    private BasicPatchMetrics() {
+        super();
+    }
+
+    // PatchMetrics.....................................................................................................
+
+    @Override
+    public void property(final Class<?> type,
+                         final JsonPropertyName property) {
+        this.type(type)
+            .propertyCount(property)
+            .incrementAndGet();
+    }
+
+    @Override
+    public void success(final Class<?> type,
+                        final long nanos) {
+        final BasicPatchMetricsType metrics = this.type(type);
+
+        metrics.success.incrementAndGet();
+        metrics.latency.record(nanos);
+    }
+
+    @Override
+    public void invalidProperty(final Class<?> type,
+                                final JsonPropertyName property,
+                                final long nanos) {
+        final BasicPatchMetricsType metrics = this.type(type);
+
+        metrics.invalidProperty.incrementAndGet();
+        metrics.latency.record(nanos);
+    }
+
+    @Override
+    public void unknownProperty(final Class<?> type,
+                                final JsonPropertyName property,
+                                final long nanos) {
+        final BasicPatchMetricsType metrics = this.type(type);
+
+        metrics.unknownProperty.incrementAndGet();
+        metrics.latency.record(nanos);
+    }
+
+    @Override
+    public void failure(final Class<?> type,
+                        final RuntimeException cause,
+                        final long nanos) {
+        final BasicPatchMetricsType metrics = this.type(type);
+
+        metrics.failure.incrementAndGet();
+        metrics.latency.record(nanos);
+    }
+
+    // counts...........................................................................................................
+
+    // reading a count never creates the type or property, so querying unseen types allocates nothing.
+
+    /**
+     * The number of patches for the type that included the property.
+     */
+    public long propertyCount(final Class<?> type,
+                              final JsonPropertyName property) {
+        Objects.requireNonNull(property, "property");
+
+        final BasicPatchMetricsType metrics = this.typeIfPresent(type);
+        final AtomicLong count = null != metrics ?
+            metrics.propertyCounts.get(property) :
+            null;
+        return null != count ?
+            count.get() :
+            0;
+    }
+
+    public long successCount(final Class<?> type) {
+        final BasicPatchMetricsType metrics = this.typeIfPresent(type);
+        return null != metrics ?
+            metrics.success.get() :
+            0;
+    }
+
+    public long invalidPropertyCount(final Class<?> type) {
+        final BasicPatchMetricsType metrics = this.typeIfPresent(type);
+        return null != metrics ?
+            metrics.invalidProperty.get() :
+            0;
+    }
+
+    public long unknownPropertyCount(final Class<?> type) {
+        final BasicPatchMetricsType metrics = this.typeIfPresent(type);
+        return null != metrics ?
+            metrics.unknownProperty.get() :
+            0;
+    }
+
+    public long failureCount(final Class<?> type) {
+        final BasicPatchMetricsType metrics = this.typeIfPresent(type);
+        return null != metrics ?
+            metrics.failure.get() :
+            0;
+    }
+
+    /**
+     * The latencies of all patches for the type, successful or failed. A type without any patches returns a new empty
+     * histogram that is not kept.
+     */
+    public PatchLatencyHistogram latency(final Class<?> type) {
+        final BasicPatchMetricsType metrics = this.typeIfPresent(type);
+        return null != metrics ?
+            metrics.latency :
+            PatchLatencyHistogram.empty();
+    }
+
+    private BasicPatchMetricsType typeIfPresent(final Class<?> type) {
+        Objects.requireNonNull(type, "type");
+
+        return this.types.get(type);
+    }
+
+    private BasicPatchMetricsType type(final Class<?> type) {
+        Objects.requireNonNull(type, "type");
+
+        final Map<Class<?>, BasicPatchMetricsType> types = this.types;
+
+        BasicPatchMetricsType metrics = types.get(type);
+        if (null == metrics) {
+            metrics = types.computeIfAbsent(
+                type,
+                t -> new BasicPatchMetricsType()
+            );
+        }
+        return metrics;
+    }
+
+    private final Map<Class<?>, BasicPatchMetricsType> types = new ConcurrentHashMap<>();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.types.toString();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The counts and latencies of a single type, recorded by {@link BasicPatchMetrics}. All counts are atomic.
+ */
+final class BasicPatchMetricsType {
+
+    BasicPatchMetricsType() {
+        super();
+    }
+
+    /**
+     * Returns the count for the property, creating it if necessary.
+     */
+    AtomicLong propertyCount(final JsonPropertyName property) {
+        final Map<JsonPropertyName, AtomicLong> propertyCounts = this.propertyCounts;
+
+        AtomicLong count = propertyCounts.get(property);
+        if (null == count) {
+            count = propertyCounts.computeIfAbsent(
+                property,
+                p -> new AtomicLong()
+            );
+        }
+        return count;
+    }
+
+    final Map<JsonPropertyName, AtomicLong> propertyCounts = new ConcurrentHashMap<>();
+
+    final AtomicLong success = new AtomicLong();
+
+    final AtomicLong invalidProperty = new AtomicLong();
+
+    final AtomicLong unknownProperty = new AtomicLong();
+
+    final AtomicLong failure = new AtomicLong();
+
+    final PatchLatencyHistogram latency = PatchLatencyHistogram.empty();
+
+    @Override
+    public String toString() {
+        return "success=" + this.success +
+            " invalidProperty=" + this.invalidProperty +
+            " unknownProperty=" + this.unknownProperty +
+            " failure=" + this.failure +
+            " " + this.latency;
+    }
+}
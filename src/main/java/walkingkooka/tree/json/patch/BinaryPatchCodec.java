@@ -0,0 +1,512 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonArray;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A compact binary encoding of {@link JsonNode} patches, which avoids formatting and parsing JSON text.
+ * <br>
+ * Each value starts with a single tag byte. Strings, arrays and objects are followed by their length as an unsigned
+ * varint. Integral numbers that fit in a long are written as a zigzag varint, all other numbers as an 8 byte double.
+ * Property names are written as a varint reference, where 0 is followed by a new name which is added to a table for
+ * the rest of the message, and any other value is one more than an index into the shared dictionary followed by the
+ * names added by the message. Both sides must use the same dictionary.
+ * <br>
+ * Decoding reads directly from the {@link ByteBuffer} advancing its position, without first copying it. Invalid input,
+ * including arrays and objects nested deeper than {@link #MAX_DEPTH}, is reported with an {@link IllegalArgumentException}.
+ */
+public final class BinaryPatchCodec {
+
+    private final static int NULL = 0;
+    private final static int FALSE = 1;
+    private final static int TRUE = 2;
+    private final static int NUMBER = 3;
+    private final static int STRING = 4;
+    private final static int ARRAY = 5;
+    private final static int OBJECT = 6;
+    private final static int INTEGER = 7;
+
+    /**
+     * The maximum nesting of arrays and objects, which stops hostile input from exhausting the stack.
+     */
+    public final static int MAX_DEPTH = 256;
+
+    /**
+     * Doubles between these limits are exactly representable as a long.
+     */
+    private final static double MIN_INTEGER = -0x1p63;
+    private final static double MAX_INTEGER = 0x1p63;
+
+    /**
+     * Creates a codec with a dictionary of the property names that are expected to appear in most patches.
+     */
+    public static BinaryPatchCodec with(final List<JsonPropertyName> dictionary) {
+        Objects.requireNonNull(dictionary, "dictionary");
+
+        final List<JsonPropertyName> copy = new ArrayList<>(dictionary);
+        final Map<JsonPropertyName, Integer> indices = new HashMap<>();
+
+        for (final JsonPropertyName name : copy) {
+            Objects.requireNonNull(name, "dictionary includes null");
+            if (null != indices.put(name, indices.size())) {
+                throw new IllegalArgumentException("Duplicate dictionary property " + name);
+            }
+        }
+
+        return new BinaryPatchCodec(
+            Collections.unmodifiableList(copy),
+            indices
+        );
+    }
+
+    private BinaryPatchCodec(final List<JsonPropertyName> dictionary,
+                             final Map<JsonPropertyName, Integer> indices) {
+        super();
+        this.dictionary = dictionary;
+        this.indices = indices;
+    }
+
+    // encode...........................................................................................................
+
+    public byte[] encode(final JsonNode patch) {
+        Objects.requireNonNull(patch, "patch");
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        this.encode(
+            patch,
+            new HashMap<>(),
+            output,
+            0
+        );
+        return output.toByteArray();
+    }
+
+    /**
+     * The names map only holds the names added by this message, the indices of which follow the dictionary.
+     */
+    private void encode(final JsonNode node,
+                        final Map<JsonPropertyName, Integer> names,
+                        final ByteArrayOutputStream output,
+                        final int depth) {
+        if (node.isNull()) {
+            output.write(NULL);
+        } else if (node.isBoolean()) {
+            output.write(
+                node.booleanOrFail() ?
+                    TRUE :
+                    FALSE
+            );
+        } else if (node.isNumber()) {
+            final double value = node.numberOrFail()
+                .doubleValue();
+
+            if (isInteger(value)) {
+                final long integer = (long) value;
+
+                output.write(INTEGER);
+                writeVarlong(
+                    (integer << 1) ^ (integer >> 63),
+                    output
+                );
+            } else {
+                output.write(NUMBER);
+
+                final long bits = Double.doubleToLongBits(value);
+                for (int i = 56; i >= 0; i -= 8) {
+                    output.write((int) (bits >>> i));
+                }
+            }
+        } else if (node.isString()) {
+            output.write(STRING);
+            writeString(
+                node.stringOrFail(),
+                output
+            );
+        } else if (node.isArray()) {
+            final List<JsonNode> children = node.children();
+            checkDepth(depth);
+
+            output.write(ARRAY);
+            writeVarint(
+                children.size(),
+                output
+            );
+            for (final JsonNode child : children) {
+                this.encode(
+                    child,
+                    names,
+                    output,
+                    depth + 1
+                );
+            }
+        } else {
+            final List<JsonNode> children = node.objectOrFail()
+                .children();
+            checkDepth(depth);
+
+            output.write(OBJECT);
+            writeVarint(
+                children.size(),
+                output
+            );
+            for (final JsonNode child : children) {
+                final JsonPropertyName name = child.name();
+                Integer index = this.indices.get(name);
+                if (null == index) {
+                    index = names.get(name);
+                }
+
+                if (null == index) {
+                    writeVarint(
+                        0,
+                        output
+                    );
+                    writeString(
+                        name.value(),
+                        output
+                    );
+                    names.put(
+                        name,
+                        this.indices.size() + names.size()
+                    );
+                } else {
+                    writeVarint(
+                        index + 1,
+                        output
+                    );
+                }
+
+                this.encode(
+                    child,
+                    names,
+                    output,
+                    depth + 1
+                );
+            }
+        }
+    }
+
+    /**
+     * Tests if the number can be written as a long without losing anything, which excludes negative zero.
+     */
+    private static boolean isInteger(final double value) {
+        return value >= MIN_INTEGER &&
+            value < MAX_INTEGER &&
+            value == Math.rint(value) &&
+            false == (0 == value && 0 != Double.doubleToRawLongBits(value));
+    }
+
+    private static void checkDepth(final int depth) {
+        if (depth >= MAX_DEPTH) {
+            throw new IllegalArgumentException("Patch nested deeper than " + MAX_DEPTH);
+        }
+    }
+
+    private static void writeString(final String string,
+                                    final ByteArrayOutputStream output) {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarint(
+            bytes.length,
+            output
+        );
+        output.write(
+            bytes,
+            0,
+            bytes.length
+        );
+    }
+
+    private static void writeVarint(final int value,
+                                    final ByteArrayOutputStream output) {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.write((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.write(remaining);
+    }
+
+    private static void writeVarlong(final long value,
+                                     final ByteArrayOutputStream output) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            output.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        output.write((int) remaining);
+    }
+
+    // decode...........................................................................................................
+
+    /**
+     * Decodes a single patch starting at the position of the buffer, leaving the position after the patch.
+     */
+    public JsonNode decode(final ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer");
+
+        try {
+            return this.decode(
+                buffer,
+                new ArrayList<>(),
+                0
+            );
+        } catch (final BufferUnderflowException cause) {
+            throw new IllegalArgumentException("Truncated patch", cause);
+        }
+    }
+
+    /**
+     * The names list only holds the names added by this message, references past the dictionary index into it.
+     */
+    private JsonNode decode(final ByteBuffer buffer,
+                            final List<JsonPropertyName> names,
+                            final int depth) {
+        final JsonNode node;
+
+        final int tag = buffer.get();
+        switch (tag) {
+            case NULL:
+                node = JsonNode.nullNode();
+                break;
+            case FALSE:
+                node = JsonNode.booleanNode(false);
+                break;
+            case TRUE:
+                node = JsonNode.booleanNode(true);
+                break;
+            case NUMBER:
+                node = JsonNode.number(
+                    Double.longBitsToDouble(
+                        buffer.getLong()
+                    )
+                );
+                break;
+            case INTEGER: {
+                final long zigzag = readVarlong(buffer);
+                node = JsonNode.number(
+                    (zigzag >>> 1) ^ -(zigzag & 1)
+                );
+                break;
+            }
+            case STRING:
+                node = JsonNode.string(
+                    readString(buffer)
+                );
+                break;
+            case ARRAY: {
+                checkDepth(depth);
+
+                final int count = readCount(buffer);
+                final List<JsonNode> children = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    children.add(
+                        this.decode(
+                            buffer,
+                            names,
+                            depth + 1
+                        )
+                    );
+                }
+
+                final JsonArray array = JsonNode.array();
+                node = array.setChildren(children);
+                break;
+            }
+            case OBJECT: {
+                checkDepth(depth);
+
+                final int count = readCount(buffer);
+                final List<JsonNode> children = new ArrayList<>(count);
+
+                for (int i = 0; i < count; i++) {
+                    final int reference = readVarint(buffer);
+
+                    final JsonPropertyName name;
+                    if (0 == reference) {
+                        name = JsonPropertyName.with(
+                            readString(buffer)
+                        );
+                        names.add(name);
+                    } else {
+                        final List<JsonPropertyName> dictionary = this.dictionary;
+                        final int dictionarySize = dictionary.size();
+                        final int index = reference - 1;
+
+                        if (index < dictionarySize) {
+                            name = dictionary.get(index);
+                        } else {
+                            if (index - dictionarySize >= names.size()) {
+                                throw new IllegalArgumentException("Invalid property reference " + reference + " > " + (dictionarySize + names.size()));
+                            }
+                            name = names.get(index - dictionarySize);
+                        }
+                    }
+
+                    children.add(
+                        this.decode(
+                            buffer,
+                            names,
+                            depth + 1
+                        ).setName(name)
+                    );
+                }
+
+                final JsonObject object = JsonNode.object();
+                node = object.setChildren(children);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Invalid tag " + tag + " at " + (buffer.position() - 1));
+        }
+
+        return node;
+    }
+
+    /**
+     * Decodes UTF-8 directly from the backing array when available, otherwise from a copy of just the string bytes.
+     */
+    private static String readString(final ByteBuffer buffer) {
+        final int length = readVarint(buffer);
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length " + length + " > " + buffer.remaining());
+        }
+
+        final String string;
+        if (buffer.hasArray()) {
+            final int position = buffer.position();
+            string = new String(
+                buffer.array(),
+                buffer.arrayOffset() + position,
+                length,
+                StandardCharsets.UTF_8
+            );
+            buffer.position(position + length);
+        } else {
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            string = new String(
+                bytes,
+                StandardCharsets.UTF_8
+            );
+        }
+        return string;
+    }
+
+    /**
+     * Reads an array or object count, which cannot be more than the remaining bytes as every value takes at least one.
+     */
+    private static int readCount(final ByteBuffer buffer) {
+        final int count = readVarint(buffer);
+        if (count > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid count " + count + " > " + buffer.remaining());
+        }
+        return count;
+    }
+
+    private static int readVarint(final ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+
+        for (;;) {
+            final int b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (0 == (b & 0x80)) {
+                break;
+            }
+            shift += 7;
+            if (shift > 28) {
+                throw new IllegalArgumentException("Invalid varint at " + buffer.position());
+            }
+        }
+
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid varint " + value);
+        }
+        return value;
+    }
+
+    private static long readVarlong(final ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+
+        for (;;) {
+            final int b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (0 == (b & 0x80)) {
+                break;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IllegalArgumentException("Invalid varint at " + buffer.position());
+            }
+        }
+
+        return value;
+    }
+
+    // patch............................................................................................................
+
+    /**
+     * Decodes a patch from the buffer and applies it to the {@link Patchable}.
+     */
+    public <T> T patch(final Patchable<T> patchable,
+                       final ByteBuffer buffer,
+                       final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(patchable, "patchable");
+        Objects.requireNonNull(context, "context");
+
+        return patchable.patch(
+            this.decode(buffer),
+            context
+        );
+    }
+
+    /**
+     * The shared dictionary of property names.
+     */
+    public List<JsonPropertyName> dictionary() {
+        return this.dictionary;
+    }
+
+    private final List<JsonPropertyName> dictionary;
+
+    private final Map<JsonPropertyName, Integer> indices;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.dictionary.toString();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.Cast;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContextDelegator;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link JsonNodeUnmarshallContext} that wraps another, memoizing {@link #unmarshall(JsonNode, Class)} for immutable
+ * value types such as colors, formats and enums in a bounded least recently used cache, so repeated patch values are
+ * only decoded once. Entries are keyed by the type and the JSON by value. Other types and JSON null are always passed
+ * to the wrapped context, as are all other methods.
+ * <br>
+ * The cache is a synchronized {@link PatchLruCache}, because a concurrent map does not keep the access order needed to
+ * evict the least recently used value.
+ */
+public final class CachingJsonNodeUnmarshallContext implements JsonNodeUnmarshallContextDelegator {
+
+    public static CachingJsonNodeUnmarshallContext with(final JsonNodeUnmarshallContext context,
+                                                        final int maxSize,
+                                                        final Set<Class<?>> types) {
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(types, "types");
+
+        return new CachingJsonNodeUnmarshallContext(
+            context,
+            PatchLruCache.<JsonNodeCacheKey, Object>with(maxSize),
+            new HashSet<>(types)
+        );
+    }
+
+    private CachingJsonNodeUnmarshallContext(final JsonNodeUnmarshallContext context,
+                                             final PatchLruCache<JsonNodeCacheKey, Object> cache,
+                                             final Set<Class<?>> types) {
+        super();
+        this.context = context;
+        this.cache = cache;
+        this.types = types;
+    }
+
+    /**
+     * Returns the cached value or unmarshalls the JSON using the wrapped context, caching the result if the type is
+     * cacheable.
+     */
+    @Override
+    public <V> V unmarshall(final JsonNode node,
+                            final Class<V> type) {
+        Objects.requireNonNull(node, "node");
+        Objects.requireNonNull(type, "type");
+
+        final JsonNodeUnmarshallContext context = this.context;
+        V value;
+
+        if (node.isNull() || false == this.types.contains(type)) {
+            value = context.unmarshall(
+                node,
+                type
+            );
+        } else {
+            final JsonNodeCacheKey key = JsonNodeCacheKey.with(
+                type,
+                node
+            );
+
+            value = Cast.to(
+                this.cache.get(key)
+            );
+            if (null == value) {
+                value = context.unmarshall(
+                    node,
+                    type
+                );
+                if (null != value) {
+                    this.cache.put(
+                        key,
+                        value
+                    );
+                }
+            }
+        }
+
+        return value;
+    }
+
+    // JsonNodeUnmarshallContextDelegator...............................................................................
+
+    @Override
+    public JsonNodeUnmarshallContext jsonNodeUnmarshallContext() {
+        return this.context;
+    }
+
+    private final JsonNodeUnmarshallContext context;
+
+    /**
+     * Returns true if values of the given type are cached.
+     */
+    public boolean isCacheable(final Class<?> type) {
+        return this.types.contains(type);
+    }
+
+    /**
+     * The number of cached values.
+     */
+    public int size() {
+        return this.cache.size();
+    }
+
+    public long hitCount() {
+        return this.cache.hits();
+    }
+
+    public long missCount() {
+        return this.cache.misses();
+    }
+
+    public long evictionCount() {
+        return this.cache.evictions();
+    }
+
+    private final PatchLruCache<JsonNodeCacheKey, Object> cache;
+
+    private final Set<Class<?>> types;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context + " " + this.cache;
+    }
+}
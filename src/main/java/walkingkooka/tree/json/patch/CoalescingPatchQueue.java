@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A queue of pending patches by key, where patches for the same key are merged using a {@link PatchBatch} as they are
+ * offered, so that when drained only the merged patches are applied. Queues created by {@link #empty()} merge top level
+ * properties only, while {@link #mergePatch()} also merges object values, which is only correct when every target is a
+ * {@link MergePatchable}.
+ * <br>
+ * Offering and draining are synchronized, with patches applied outside the lock. A single short lock is used rather than
+ * a concurrent map, because a drain must move the batches of many keys and mark them as draining in one step. A failure
+ * to patch one key does not affect the others, the failed patches are put back so a later drain may retry them, or they
+ * may be discarded with {@link #remove(Object)}.
+ * <br>
+ * Drains may run concurrently, but each key is drained by only one at a time. A drain leaves the patches of a key being
+ * drained by another pending, so if that drain fails its patches are put back ahead of them and patches for a key are
+ * always applied in the order offered.
+ */
+public final class CoalescingPatchQueue<K, T extends Patchable<T>> {
+
+    /**
+     * Creates an empty queue that merges top level properties, with the last writer winning.
+     */
+    public static <K, T extends Patchable<T>> CoalescingPatchQueue<K, T> empty() {
+        return new CoalescingPatchQueue<>(false);
+    }
+
+    /**
+     * Creates an empty queue that merges patches recursively, for targets that are {@link MergePatchable}.
+     */
+    public static <K, T extends MergePatchable<T>> CoalescingPatchQueue<K, T> mergePatch() {
+        return new CoalescingPatchQueue<>(true);
+    }
+
+    private CoalescingPatchQueue(final boolean recursive) {
+        super();
+        this.recursive = recursive;
+    }
+
+    /**
+     * Adds a patch for the given key, merging it with any pending patches for the same key.
+     */
+    public void offer(final K key,
+                      final JsonNode patch) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(patch, "patch");
+
+        synchronized (this.lock) {
+            this.pending.computeIfAbsent(
+                key,
+                k -> this.recursive ?
+                    PatchBatch.mergePatch() :
+                    PatchBatch.empty()
+            ).add(patch);
+            this.offered++;
+        }
+    }
+
+    /**
+     * Removes all pending patches, applying them to the value for each key returned by the targets function, and
+     * returning the patched values in the order keys were first offered.
+     * <br>
+     * If the targets function returns null or applying the patches for a key throws, the failure is passed to the
+     * failures {@link BiConsumer} and the patches for that key are put back ahead of any patches offered since, the
+     * remaining keys are still drained.
+     */
+    public Map<K, T> drain(final Function<K, T> targets,
+                           final JsonNodeUnmarshallContext context,
+                           final BiConsumer<K, RuntimeException> failures) {
+        Objects.requireNonNull(targets, "targets");
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(failures, "failures");
+
+        final Map<K, PatchBatch> pending;
+        synchronized (this.lock) {
+            final Set<K> draining = this.draining;
+
+            if (draining.isEmpty()) {
+                pending = this.pending;
+                this.pending = new LinkedHashMap<>();
+            } else {
+                // keys being drained by another drain stay pending until it finishes
+                pending = new LinkedHashMap<>();
+                final Iterator<Map.Entry<K, PatchBatch>> iterator = this.pending.entrySet()
+                    .iterator();
+                while (iterator.hasNext()) {
+                    final Map.Entry<K, PatchBatch> keyAndBatch = iterator.next();
+                    if (false == draining.contains(keyAndBatch.getKey())) {
+                        pending.put(
+                            keyAndBatch.getKey(),
+                            keyAndBatch.getValue()
+                        );
+                        iterator.remove();
+                    }
+                }
+            }
+            draining.addAll(pending.keySet());
+        }
+
+        final Map<K, T> patched = new LinkedHashMap<>();
+        final Map<K, PatchBatch> failed = new LinkedHashMap<>();
+        long merged = 0;
+        long applied = 0;
+
+        for (final Map.Entry<K, PatchBatch> keyAndBatch : pending.entrySet()) {
+            final K key = keyAndBatch.getKey();
+            final PatchBatch batch = keyAndBatch.getValue();
+            final int patchCount = batch.patches()
+                .size();
+
+            try {
+                final T target = targets.apply(key);
+                if (null == target) {
+                    throw new IllegalArgumentException("Missing target for " + key);
+                }
+
+                patched.put(
+                    key,
+                    batch.apply(
+                        target,
+                        context
+                    )
+                );
+
+                merged += batch.count() - patchCount;
+                applied += patchCount;
+            } catch (final RuntimeException cause) {
+                failed.put(
+                    key,
+                    batch
+                );
+                failures.accept(
+                    key,
+                    cause
+                );
+            }
+        }
+
+        synchronized (this.lock) {
+            this.draining.removeAll(pending.keySet());
+            this.merged += merged;
+            this.applied += applied;
+
+            if (false == failed.isEmpty()) {
+                for (final Map.Entry<K, PatchBatch> keyAndBatch : this.pending.entrySet()) {
+                    final PatchBatch batch = keyAndBatch.getValue();
+                    final PatchBatch previous = failed.get(keyAndBatch.getKey());
+
+                    if (null != previous) {
+                        previous.addBatch(batch);
+                    } else {
+                        failed.put(
+                            keyAndBatch.getKey(),
+                            batch
+                        );
+                    }
+                }
+                this.pending = failed;
+            }
+        }
+
+        return patched;
+    }
+
+    /**
+     * Discards any pending patches for the given key, returning true if there were any.
+     */
+    public boolean remove(final K key) {
+        Objects.requireNonNull(key, "key");
+
+        synchronized (this.lock) {
+            return null != this.pending.remove(key);
+        }
+    }
+
+    /**
+     * The number of keys with pending patches.
+     */
+    public int size() {
+        synchronized (this.lock) {
+            return this.pending.size();
+        }
+    }
+
+    /**
+     * The total number of patches offered.
+     */
+    public long offeredCount() {
+        synchronized (this.lock) {
+            return this.offered;
+        }
+    }
+
+    /**
+     * The total number of drained patches that were merged into another patch and therefore not applied separately.
+     */
+    public long mergedCount() {
+        synchronized (this.lock) {
+            return this.merged;
+        }
+    }
+
+    /**
+     * The total number of {@link Patchable#patch(JsonNode, JsonNodeUnmarshallContext)} calls made while draining.
+     */
+    public long appliedCount() {
+        synchronized (this.lock) {
+            return this.applied;
+        }
+    }
+
+    /**
+     * When true pending patches are merged recursively.
+     */
+    private final boolean recursive;
+
+    private final Object lock = new Object();
+
+    private Map<K, PatchBatch> pending = new LinkedHashMap<>();
+
+    /**
+     * Keys whose patches are being applied by a drain.
+     */
+    private final Set<K> draining = new HashSet<>();
+
+    private long offered;
+
+    private long merged;
+
+    private long applied;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        synchronized (this.lock) {
+            return this.pending.toString();
+        }
+    }
+}
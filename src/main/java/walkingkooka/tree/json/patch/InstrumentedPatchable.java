@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.Cast;
+import walkingkooka.tree.json.InvalidPropertyJsonNodeException;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Patchable} that reports each patch property, the time taken and any failure to a {@link PatchMetrics},
+ * before returning the result of the wrapped {@link Patchable}. The result is not wrapped.
+ * <br>
+ * Every {@link Patchable} method is forwarded to the wrapped {@link Patchable}, so overrides such as a
+ * {@link PatchPlan} dispatch or a cheap no-op check are kept. {@link #patchAll(Iterable, JsonNodeUnmarshallContext)}
+ * is reported as a single patch with the properties of every patch. A wrapped {@link MergePatchable} is wrapped by a
+ * {@link MergePatchable}, so patches are still merged recursively by a {@link PatchBatch}.
+ */
+public class InstrumentedPatchable<T> implements Patchable<T> {
+
+    /**
+     * Wraps the given {@link MergePatchable} unless the metrics is {@link PatchMetrics#noop()}, in which case the
+     * {@link MergePatchable} is returned.
+     */
+    public static <T> MergePatchable<T> with(final MergePatchable<T> patchable,
+                                             final PatchMetrics metrics) {
+        Objects.requireNonNull(patchable, "patchable");
+        Objects.requireNonNull(metrics, "metrics");
+
+        return metrics == NoopPatchMetrics.INSTANCE ?
+            patchable :
+            new InstrumentedMergePatchable<>(
+                patchable,
+                metrics
+            );
+    }
+
+    /**
+     * Wraps the given {@link Patchable} unless the metrics is {@link PatchMetrics#noop()}, in which case the
+     * {@link Patchable} is returned.
+     */
+    public static <T> Patchable<T> with(final Patchable<T> patchable,
+                                        final PatchMetrics metrics) {
+        Objects.requireNonNull(patchable, "patchable");
+        Objects.requireNonNull(metrics, "metrics");
+
+        final Patchable<T> instrumented;
+        if (metrics == NoopPatchMetrics.INSTANCE) {
+            instrumented = patchable;
+        } else {
+            instrumented = patchable instanceof MergePatchable ?
+                new InstrumentedMergePatchable<>(
+                    Cast.<MergePatchable<T>>to(patchable),
+                    metrics
+                ) :
+                new InstrumentedPatchable<>(
+                    patchable,
+                    metrics
+                );
+        }
+        return instrumented;
+    }
+
+    // sub classed by InstrumentedMergePatchable
+    InstrumentedPatchable(final Patchable<T> patchable,
+                          final PatchMetrics metrics) {
+        super();
+        this.patchable = patchable;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public final T patch(final JsonNode json,
+                         final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(json, "json");
+        Objects.requireNonNull(context, "context");
+
+        return this.instrument(
+            Collections.singleton(json),
+            () -> this.patchable.patch(
+                json,
+                context
+            )
+        );
+    }
+
+    @Override
+    public final T patch(final PatchPlan plan,
+                         final JsonNode json,
+                         final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(plan, "plan");
+        Objects.requireNonNull(json, "json");
+        Objects.requireNonNull(context, "context");
+
+        return this.instrument(
+            Collections.singleton(json),
+            () -> this.patchable.patch(
+                plan,
+                json,
+                context
+            )
+        );
+    }
+
+    /**
+     * Forwards to the wrapped {@link Patchable}, so an unchanged result is the wrapped {@link Patchable} not this.
+     */
+    @Override
+    public final T patchIfChanged(final JsonNode json,
+                                  final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(json, "json");
+        Objects.requireNonNull(context, "context");
+
+        return this.instrument(
+            Collections.singleton(json),
+            () -> this.patchable.patchIfChanged(
+                json,
+                context
+            )
+        );
+    }
+
+    @Override
+    public final T patchAll(final Iterable<JsonNode> patches,
+                            final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(patches, "patches");
+        Objects.requireNonNull(context, "context");
+
+        return this.instrument(
+            patches,
+            () -> this.patchable.patchAll(
+                patches,
+                context
+            )
+        );
+    }
+
+    /**
+     * Reports the properties of every patch, then performs the patch reporting the time taken and any failure.
+     */
+    private T instrument(final Iterable<JsonNode> patches,
+                         final Supplier<T> patch) {
+        final Class<?> type = this.patchable.getClass();
+        final PatchMetrics metrics = this.metrics;
+
+        for (final JsonNode json : patches) {
+            if (json.isObject()) {
+                for (final JsonNode property : json.children()) {
+                    metrics.property(
+                        type,
+                        property.name()
+                    );
+                }
+            }
+        }
+
+        final long start = System.nanoTime();
+        try {
+            final T patched = patch.get();
+            metrics.success(
+                type,
+                System.nanoTime() - start
+            );
+            return patched;
+        } catch (final RuntimeException cause) {
+            final long nanos = System.nanoTime() - start;
+
+            if (cause instanceof UnknownPropertyJsonNodeException) {
+                metrics.unknownProperty(
+                    type,
+                    ((UnknownPropertyJsonNodeException) cause).name(),
+                    nanos
+                );
+            } else if (cause instanceof InvalidPropertyJsonNodeException) {
+                metrics.invalidProperty(
+                    type,
+                    ((InvalidPropertyJsonNodeException) cause).name(),
+                    nanos
+                );
+            } else {
+                metrics.failure(
+                    type,
+                    cause,
+                    nanos
+                );
+            }
+            throw cause;
+        }
+    }
+
+    private final Patchable<T> patchable;
+
+    private final PatchMetrics metrics;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.patchable + " " + this.metrics;
+    }
+}
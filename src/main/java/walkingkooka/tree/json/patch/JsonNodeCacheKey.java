@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+/**
+ * A cache key holding a {@link JsonNode} along with a target and optional {@link JsonNodeUnmarshallContext}, comparing
+ * the target and context by identity and the json by value. The target is the value being patched for a
+ * {@link PatchResultCache}, and the unmarshalled {@link Class} without a context for a
+ * {@link CachingJsonNodeUnmarshallContext}.
+ */
+final class JsonNodeCacheKey {
+
+    static JsonNodeCacheKey with(final Object target,
+                                 final JsonNode json) {
+        return with(
+            target,
+            json,
+            null
+        );
+    }
+
+    static JsonNodeCacheKey with(final Object target,
+                                 final JsonNode json,
+                                 final JsonNodeUnmarshallContext context) {
+        return new JsonNodeCacheKey(
+            target,
+            json.removeParent(),
+            context
+        );
+    }
+
+    private JsonNodeCacheKey(final Object target,
+                             final JsonNode json,
+                             final JsonNodeUnmarshallContext context) {
+        super();
+        this.target = target;
+        this.json = json;
+        this.context = context;
+        this.hashCode = System.identityHashCode(target) * 31 + json.hashCode();
+    }
+
+    private final Object target;
+
+    private final JsonNode json;
+
+    private final JsonNodeUnmarshallContext context;
+
+    private final int hashCode;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof JsonNodeCacheKey &&
+                this.equals0((JsonNodeCacheKey) other);
+    }
+
+    private boolean equals0(final JsonNodeCacheKey other) {
+        return this.target == other.target &&
+            this.context == other.context &&
+            this.hashCode == other.hashCode &&
+            this.json.equals(other.json);
+    }
+
+    @Override
+    public String toString() {
+        return this.target + " " + this.json;
+    }
+}
@@ -0,0 +1,556 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Supports JSON Patch (RFC 6902) operation arrays, with add, remove, replace, move, copy and test operations.
+ * <br>
+ * All operations are first applied to the marshalled form of the value, and then a single patch containing only the
+ * changed properties is produced. This means any number of operations results in at most one
+ * {@link Patchable#patch(JsonNode, JsonNodeUnmarshallContext)}, which touches each changed object once. A
+ * {@link MergePatchable} receives the nested merge patch from {@link PatchDiff}, any other {@link Patchable} receives
+ * each changed top level property with its complete new value, because it replaces rather than merges object values.
+ * <br>
+ * Invalid operations, pointers that do not exist and failed tests are reported with an {@link IllegalArgumentException}.
+ * <br>
+ * {@link #apply(JsonNode, JsonNode)} supports null values like RFC 6902. A patch however cannot set an object property
+ * to null, because a null patch value removes the property. {@link #patch(Patchable, JsonNode, JsonNode, JsonNodeUnmarshallContext)}
+ * and {@link #mergePatch(JsonNode, JsonNode)} therefore fail with an {@link IllegalArgumentException} for any object
+ * property that would be patched to null, which for a {@link Patchable} that is not a {@link MergePatchable} only
+ * applies to top level properties.
+ */
+public final class JsonPatchOperations {
+
+    private final static JsonPropertyName OP = JsonPropertyName.with("op");
+
+    private final static JsonPropertyName PATH = JsonPropertyName.with("path");
+
+    private final static JsonPropertyName FROM = JsonPropertyName.with("from");
+
+    private final static JsonPropertyName VALUE = JsonPropertyName.with("value");
+
+    /**
+     * Converts the operations into a patch, and applies it if there are any changes, otherwise the patchable is
+     * returned unchanged. The current value must be the marshalled form of the patchable.
+     */
+    public static <T extends Patchable<T>> T patch(final T patchable,
+                                                   final JsonNode current,
+                                                   final JsonNode operations,
+                                                   final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(patchable, "patchable");
+        Objects.requireNonNull(context, "context");
+
+        final JsonNode after = apply(
+            current,
+            operations
+        );
+        final JsonNode patch = patchable instanceof MergePatchable ?
+            PatchDiff.diff(
+                current,
+                after
+            ) :
+            replacePatch(
+                current,
+                after
+            );
+
+        return PatchDiff.isNoop(current, patch) ?
+            patchable :
+            patchable.patch(
+                patch,
+                context
+            );
+    }
+
+    /**
+     * Returns a patch with each changed top level property holding its complete new value and removed properties with a
+     * null value, or the after value if either is not an object.
+     */
+    static JsonNode replacePatch(final JsonNode before,
+                                 final JsonNode after) {
+        final JsonNode patch;
+
+        if (before.isObject() && after.isObject()) {
+            final JsonObject beforeObject = before.objectOrFail();
+            final List<JsonNode> properties = new ArrayList<>();
+
+            for (final JsonNode afterProperty : after.children()) {
+                final Optional<JsonNode> beforeProperty = beforeObject.get(afterProperty.name());
+
+                if (false == beforeProperty.isPresent() || false == PatchDiff.equalsIgnoringParent(beforeProperty.get(), afterProperty)) {
+                    if (afterProperty.isNull()) {
+                        throw new IllegalArgumentException("Null property " + afterProperty.name() + " cannot be set by a patch");
+                    }
+                    properties.add(
+                        afterProperty.removeParent()
+                            .setName(afterProperty.name())
+                    );
+                }
+            }
+
+            final JsonObject afterObject = after.objectOrFail();
+            for (final JsonNode beforeProperty : before.children()) {
+                final JsonPropertyName name = beforeProperty.name();
+                if (false == afterObject.get(name).isPresent()) {
+                    properties.add(
+                        JsonNode.nullNode()
+                            .setName(name)
+                    );
+                }
+            }
+
+            patch = JsonNode.object()
+                .setChildren(properties);
+        } else {
+            patch = after.removeParent();
+        }
+
+        return patch;
+    }
+
+    /**
+     * Returns the merge patch that has the same result as applying the operations to the current value, failing if
+     * any object property would be set to null.
+     */
+    public static JsonNode mergePatch(final JsonNode current,
+                                      final JsonNode operations) {
+        return PatchDiff.diff(
+            current,
+            apply(
+                current,
+                operations
+            )
+        );
+    }
+
+    /**
+     * Applies all operations in order to the document, returning the result. If any operation fails the entire patch
+     * fails.
+     */
+    public static JsonNode apply(final JsonNode document,
+                                 final JsonNode operations) {
+        Objects.requireNonNull(document, "document");
+        Objects.requireNonNull(operations, "operations");
+
+        if (false == operations.isArray()) {
+            throw new IllegalArgumentException("Operations must be an array but got " + operations);
+        }
+
+        JsonNode result = document.removeParent();
+        for (final JsonNode operation : operations.children()) {
+            result = applyOperation(
+                result,
+                operation
+            );
+        }
+        return result;
+    }
+
+    private static JsonNode applyOperation(final JsonNode document,
+                                           final JsonNode operation) {
+        if (false == operation.isObject()) {
+            throw new IllegalArgumentException("Operation must be an object but got " + operation);
+        }
+        final JsonObject object = operation.objectOrFail();
+
+        final String op = string(object, OP);
+        final List<String> path = pointer(
+            string(object, PATH)
+        );
+
+        final JsonNode result;
+        switch (op) {
+            case "add":
+                result = add(
+                    document,
+                    path,
+                    value(object)
+                );
+                break;
+            case "remove":
+                result = remove(
+                    document,
+                    path
+                );
+                break;
+            case "replace":
+                result = replace(
+                    document,
+                    path,
+                    value(object)
+                );
+                break;
+            case "move": {
+                final List<String> from = pointer(
+                    string(object, FROM)
+                );
+                if (path.size() > from.size() && path.subList(0, from.size()).equals(from)) {
+                    throw new IllegalArgumentException("Cannot move " + object + " into itself");
+                }
+                result = add(
+                    remove(
+                        document,
+                        from
+                    ),
+                    path,
+                    get(
+                        document,
+                        from
+                    )
+                );
+                break;
+            }
+            case "copy":
+                result = add(
+                    document,
+                    path,
+                    get(
+                        document,
+                        pointer(
+                            string(object, FROM)
+                        )
+                    )
+                );
+                break;
+            case "test":
+                if (false == PatchDiff.equalsIgnoringParent(get(document, path), value(object))) {
+                    throw new IllegalArgumentException("Test failed " + object);
+                }
+                result = document;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown op " + op + " in " + object);
+        }
+
+        return result;
+    }
+
+    private static String string(final JsonObject operation,
+                                 final JsonPropertyName property) {
+        final JsonNode value = operation.get(property)
+            .orElseThrow(() -> new IllegalArgumentException("Missing " + property + " in " + operation));
+        if (false == value.isString()) {
+            throw new IllegalArgumentException("Expected string " + property + " in " + operation);
+        }
+        return value.stringOrFail();
+    }
+
+    private static JsonNode value(final JsonObject operation) {
+        return operation.get(VALUE)
+            .orElseThrow(() -> new IllegalArgumentException("Missing " + VALUE + " in " + operation))
+            .removeParent();
+    }
+
+    /**
+     * Parses a JSON pointer (RFC 6901) into its unescaped reference tokens.
+     */
+    static List<String> pointer(final String pointer) {
+        final List<String> tokens;
+
+        if (pointer.isEmpty()) {
+            tokens = Collections.emptyList();
+        } else {
+            if ('/' != pointer.charAt(0)) {
+                throw new IllegalArgumentException("Invalid pointer " + pointer);
+            }
+
+            tokens = new ArrayList<>();
+            for (final String token : pointer.substring(1).split("/", -1)) {
+                tokens.add(
+                    unescape(
+                        token,
+                        pointer
+                    )
+                );
+            }
+        }
+
+        return tokens;
+    }
+
+    private static String unescape(final String token,
+                                   final String pointer) {
+        final String unescaped;
+
+        if (-1 == token.indexOf('~')) {
+            unescaped = token;
+        } else {
+            final StringBuilder b = new StringBuilder();
+            final int length = token.length();
+
+            for (int i = 0; i < length; i++) {
+                final char c = token.charAt(i);
+                if ('~' == c) {
+                    i++;
+                    final char next = i < length ?
+                        token.charAt(i) :
+                        0;
+                    switch (next) {
+                        case '0':
+                            b.append('~');
+                            break;
+                        case '1':
+                            b.append('/');
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Invalid escape in pointer " + pointer);
+                    }
+                } else {
+                    b.append(c);
+                }
+            }
+            unescaped = b.toString();
+        }
+
+        return unescaped;
+    }
+
+    // get..............................................................................................................
+
+    private static JsonNode get(final JsonNode document,
+                                final List<String> path) {
+        JsonNode node = document;
+
+        for (final String token : path) {
+            final Optional<JsonNode> child;
+
+            if (node.isObject()) {
+                child = node.objectOrFail()
+                    .get(JsonPropertyName.with(token));
+            } else {
+                if (false == node.isArray()) {
+                    throw new IllegalArgumentException("Path " + path + " not found");
+                }
+                final List<JsonNode> children = node.children();
+                final int index = index(
+                    token,
+                    children.size() - 1,
+                    path
+                );
+                child = Optional.of(
+                    children.get(index)
+                );
+            }
+
+            node = child.orElseThrow(() -> new IllegalArgumentException("Path " + path + " not found"));
+        }
+
+        return node.removeParent();
+    }
+
+    // add..............................................................................................................
+
+    private final static int ADD = 0;
+
+    private final static int REMOVE = 1;
+
+    private final static int REPLACE = 2;
+
+    private static JsonNode add(final JsonNode document,
+                                final List<String> path,
+                                final JsonNode value) {
+        return path.isEmpty() ?
+            value :
+            update(
+                document,
+                path,
+                0,
+                ADD,
+                value
+            );
+    }
+
+    // remove...........................................................................................................
+
+    private static JsonNode remove(final JsonNode document,
+                                   final List<String> path) {
+        return path.isEmpty() ?
+            JsonNode.nullNode() :
+            update(
+                document,
+                path,
+                0,
+                REMOVE,
+                null
+            );
+    }
+
+    // replace..........................................................................................................
+
+    private static JsonNode replace(final JsonNode document,
+                                    final List<String> path,
+                                    final JsonNode value) {
+        return path.isEmpty() ?
+            value :
+            update(
+                document,
+                path,
+                0,
+                REPLACE,
+                value
+            );
+    }
+
+    /**
+     * Walks the path recreating each container, and performs the add, remove or replace at the end of the path.
+     */
+    private static JsonNode update(final JsonNode node,
+                                   final List<String> path,
+                                   final int i,
+                                   final int mode,
+                                   final JsonNode value) {
+        final String token = path.get(i);
+        final boolean last = i == path.size() - 1;
+
+        final JsonNode updated;
+
+        if (node.isObject()) {
+            final JsonObject object = node.objectOrFail();
+            final JsonPropertyName name = JsonPropertyName.with(token);
+            final Optional<JsonNode> child = object.get(name);
+
+            if (last) {
+                if (ADD != mode && false == child.isPresent()) {
+                    throw new IllegalArgumentException("Path " + path + " not found");
+                }
+                updated = REMOVE == mode ?
+                    object.remove(name) :
+                    object.set(
+                        name,
+                        value
+                    );
+            } else {
+                updated = object.set(
+                    name,
+                    update(
+                        child.orElseThrow(() -> new IllegalArgumentException("Path " + path + " not found")),
+                        path,
+                        i + 1,
+                        mode,
+                        value
+                    )
+                );
+            }
+        } else {
+            if (false == node.isArray()) {
+                throw new IllegalArgumentException("Path " + path + " not found");
+            }
+
+            final List<JsonNode> children = new ArrayList<>(node.children());
+            final int size = children.size();
+
+            if (last) {
+                switch (mode) {
+                    case ADD:
+                        children.add(
+                            "-".equals(token) ?
+                                size :
+                                index(
+                                    token,
+                                    size,
+                                    path
+                                ),
+                            value
+                        );
+                        break;
+                    case REMOVE:
+                        children.remove(
+                            index(
+                                token,
+                                size - 1,
+                                path
+                            )
+                        );
+                        break;
+                    default:
+                        children.set(
+                            index(
+                                token,
+                                size - 1,
+                                path
+                            ),
+                            value
+                        );
+                        break;
+                }
+            } else {
+                final int index = index(
+                    token,
+                    size - 1,
+                    path
+                );
+                children.set(
+                    index,
+                    update(
+                        children.get(index),
+                        path,
+                        i + 1,
+                        mode,
+                        value
+                    )
+                );
+            }
+
+            updated = JsonNode.array()
+                .setChildren(children);
+        }
+
+        return updated;
+    }
+
+    /**
+     * Parses an array index which must be between 0 and max inclusive, without leading zeros.
+     */
+    private static int index(final String token,
+                             final int max,
+                             final List<String> path) {
+        final int length = token.length();
+        boolean valid = length > 0 && length < 10 && (1 == length || '0' != token.charAt(0));
+        for (int i = 0; valid && i < length; i++) {
+            final char c = token.charAt(i);
+            valid = c >= '0' && c <= '9';
+        }
+        if (false == valid) {
+            throw new IllegalArgumentException("Invalid array index " + token + " in path " + path);
+        }
+
+        final int index = Integer.parseInt(token);
+        if (index > max) {
+            throw new IllegalArgumentException("Array index " + index + " out of bounds in path " + path);
+        }
+        return index;
+    }
+
+    /**
+     * Stop creation
+     */
+    private JsonPatchOperations() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link PatchLogStore} that writes records to memory mapped segment files in a directory. Once a record is appended
+ * it survives the JVM exiting or crashing, {@link #flush()} also forces it to the device so it survives the operating
+ * system crashing.
+ * <br>
+ * Each record is a kind byte, the first version and version, the length of the marshalled JSON text and then the UTF-8
+ * text. The kind byte is written last, and a zero kind marks the end of a segment, so a record that was only partly
+ * written before a crash is ignored. When the store is opened everything after the last complete record of the last
+ * segment is zeroed, so the remains of a torn record are never read as a record after later appends. When a record does
+ * not fit in the current segment a new segment is started.
+ * <br>
+ * {@link #rewrite(PatchLogSnapshot, List)} writes new segments before deleting the old, and records repeating versions
+ * already read are skipped, so a crash while rewriting loses nothing.
+ * <br>
+ * Segments are only read when the store is opened, after which the latest snapshot and entries are kept in memory.
+ * Files in the directory that are not named like a segment are ignored.
+ * <br>
+ * All methods are synchronized. Only a single instance should open a directory at any time.
+ */
+public final class MappedPatchLogStore implements PatchLogStore, Closeable {
+
+    /**
+     * The smallest segment size, large enough for a record header and small patches.
+     */
+    final static int MIN_SEGMENT_SIZE = 64;
+
+    final static String SEGMENT_SUFFIX = ".segment";
+
+    /**
+     * Segment file names are a zero padded number followed by {@link #SEGMENT_SUFFIX}.
+     */
+    private final static Pattern SEGMENT_FILE_NAME = Pattern.compile("\\d{16}\\.segment");
+
+    private final static byte END = 0;
+
+    private final static byte ENTRY = 1;
+
+    private final static byte SNAPSHOT = 2;
+
+    /**
+     * The kind, first version, version and text length.
+     */
+    private final static int HEADER_SIZE = 1 + 8 + 8 + 4;
+
+    /**
+     * Opens the store in the given directory, creating the directory and first segment if necessary.
+     */
+    public static MappedPatchLogStore open(final Path directory,
+                                           final int segmentSize) {
+        Objects.requireNonNull(directory, "directory");
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Invalid segment size " + segmentSize + " < " + MIN_SEGMENT_SIZE);
+        }
+
+        try {
+            Files.createDirectories(directory);
+
+            return new MappedPatchLogStore(
+                directory,
+                segmentSize
+            );
+        } catch (final IOException cause) {
+            throw new UncheckedIOException(cause);
+        }
+    }
+
+    private MappedPatchLogStore(final Path directory,
+                                final int segmentSize) throws IOException {
+        super();
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        final List<Path> segments = new ArrayList<>();
+        try (final DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (final Path path : paths) {
+                if (SEGMENT_FILE_NAME.matcher(path.getFileName().toString()).matches()) {
+                    segments.add(path);
+                }
+            }
+        }
+        Collections.sort(segments);
+        this.segments = segments;
+
+        final MappedPatchLogStoreContents contents = new MappedPatchLogStoreContents();
+        this.contents = contents;
+
+        if (segments.isEmpty()) {
+            this.newSegment(segmentSize);
+        } else {
+            MappedByteBuffer buffer = null;
+            for (final Path path : segments) {
+                buffer = read(
+                    path,
+                    contents
+                );
+            }
+
+            // zero any torn record so its remains are never mistaken for a record after a shorter append
+            for (int i = buffer.position(); i < buffer.limit(); i++) {
+                buffer.put(
+                    i,
+                    END
+                );
+            }
+            this.buffer = buffer;
+        }
+    }
+
+    // PatchLogStore....................................................................................................
+
+    @Override
+    public synchronized void append(final PatchLogEntry entry) {
+        Objects.requireNonNull(entry, "entry");
+
+        this.write(
+            ENTRY,
+            entry.firstVersion(),
+            entry.version(),
+            entry.patch()
+        );
+        this.contents.entry(entry);
+    }
+
+    @Override
+    public synchronized void appendSnapshot(final PatchLogSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot");
+
+        this.write(
+            SNAPSHOT,
+            snapshot.version(),
+            snapshot.version(),
+            snapshot.value()
+        );
+        this.contents.snapshot(snapshot);
+    }
+
+    @Override
+    public synchronized Optional<PatchLogSnapshot> latestSnapshot() {
+        return this.contents.snapshot;
+    }
+
+    @Override
+    public synchronized List<PatchLogEntry> entries() {
+        return Collections.unmodifiableList(
+            new ArrayList<>(this.contents.entries)
+        );
+    }
+
+    @Override
+    public synchronized void rewrite(final PatchLogSnapshot snapshot,
+                                     final List<PatchLogEntry> entries) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        Objects.requireNonNull(entries, "entries");
+
+        final List<Path> old = new ArrayList<>(this.segments);
+
+        this.checkOpen();
+        this.newSegment(this.segmentSize);
+        this.contents = new MappedPatchLogStoreContents();
+        this.appendSnapshot(snapshot);
+        for (final PatchLogEntry entry : entries) {
+            this.append(entry);
+        }
+        this.flush();
+
+        try {
+            for (final Path path : old) {
+                Files.delete(path);
+            }
+        } catch (final IOException cause) {
+            throw new UncheckedIOException(cause);
+        }
+        this.segments.removeAll(old);
+    }
+
+    /**
+     * Forces all appended records to the storage device.
+     */
+    public synchronized void flush() {
+        this.checkOpen()
+            .force();
+    }
+
+    /**
+     * The number of segment files.
+     */
+    public synchronized int segmentCount() {
+        return this.segments.size();
+    }
+
+    // Closeable........................................................................................................
+
+    /**
+     * Flushes and closes this store, further appends will fail.
+     */
+    @Override
+    public synchronized void close() {
+        if (null != this.buffer) {
+            this.buffer.force();
+            this.buffer = null;
+        }
+    }
+
+    // write............................................................................................................
+
+    private void write(final byte kind,
+                       final long firstVersion,
+                       final long version,
+                       final JsonNode json) {
+        final byte[] text = json.toString()
+            .getBytes(StandardCharsets.UTF_8);
+        final int size = HEADER_SIZE + text.length;
+
+        MappedByteBuffer buffer = this.checkOpen();
+        if (buffer.remaining() < size) {
+            buffer = this.newSegment(
+                Math.max(
+                    this.segmentSize,
+                    size
+                )
+            );
+        }
+
+        final int position = buffer.position();
+        buffer.position(position + 1);
+        buffer.putLong(firstVersion);
+        buffer.putLong(version);
+        buffer.putInt(text.length);
+        buffer.put(text);
+
+        // kind written last, marking the record complete
+        buffer.put(
+            position,
+            kind
+        );
+    }
+
+    private MappedByteBuffer newSegment(final int size) {
+        final List<Path> segments = this.segments;
+        final long number = segments.isEmpty() ?
+            0 :
+            segmentNumber(segments.get(segments.size() - 1)) + 1;
+        final Path path = this.directory.resolve(
+            String.format("%016d", number) + SEGMENT_SUFFIX
+        );
+
+        final MappedByteBuffer buffer;
+        try {
+            buffer = map(
+                path,
+                size
+            );
+        } catch (final IOException cause) {
+            throw new UncheckedIOException(cause);
+        }
+
+        if (null != this.buffer) {
+            this.buffer.force();
+        }
+        segments.add(path);
+        this.buffer = buffer;
+        return buffer;
+    }
+
+    private static long segmentNumber(final Path path) {
+        final String fileName = path.getFileName()
+            .toString();
+        return Long.parseLong(
+            fileName.substring(
+                0,
+                fileName.length() - SEGMENT_SUFFIX.length()
+            )
+        );
+    }
+
+    private MappedByteBuffer checkOpen() {
+        final MappedByteBuffer buffer = this.buffer;
+        if (null == buffer) {
+            throw new IllegalStateException("Store closed");
+        }
+        return buffer;
+    }
+
+    // read.............................................................................................................
+
+    /**
+     * Reads every complete record of the segment into the contents, returning the buffer positioned after the last.
+     */
+    private static MappedByteBuffer read(final Path path,
+                                         final MappedPatchLogStoreContents contents) throws IOException {
+        final long size = Files.size(path);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Segment " + path + " too large " + size);
+        }
+        final MappedByteBuffer buffer = map(
+            path,
+            (int) size
+        );
+
+        for (;;) {
+            final int length = recordTextLength(buffer);
+            if (-1 == length) {
+                break;
+            }
+
+            final byte kind = buffer.get();
+            final long firstVersion = buffer.getLong();
+            final long version = buffer.getLong();
+            buffer.getInt();
+            final byte[] text = new byte[length];
+            buffer.get(text);
+
+            final JsonNode json = JsonNode.parse(
+                new String(
+                    text,
+                    StandardCharsets.UTF_8
+                )
+            );
+
+            if (SNAPSHOT == kind) {
+                contents.snapshot(
+                    PatchLogSnapshot.with(
+                        version,
+                        json
+                    )
+                );
+            } else {
+                contents.entry(
+                    PatchLogEntry.with(
+                        firstVersion,
+                        version,
+                        json
+                    )
+                );
+            }
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Returns the text length of the record at the buffer position, or -1 if there is no complete record, because the
+     * kind is the end marker or unknown, or the length does not fit in the rest of the segment.
+     */
+    private static int recordTextLength(final MappedByteBuffer buffer) {
+        int length = -1;
+
+        final int position = buffer.position();
+        if (buffer.remaining() >= HEADER_SIZE) {
+            final byte kind = buffer.get(position);
+            if (ENTRY == kind || SNAPSHOT == kind) {
+                final int textLength = buffer.getInt(position + 1 + 8 + 8);
+                if (textLength >= 0 && textLength <= buffer.remaining() - HEADER_SIZE) {
+                    length = textLength;
+                }
+            }
+        }
+
+        return length;
+    }
+
+    private static MappedByteBuffer map(final Path path,
+                                        final int size) throws IOException {
+        try (final FileChannel channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        )) {
+            // the mapping remains valid after the channel is closed
+            return channel.map(
+                FileChannel.MapMode.READ_WRITE,
+                0,
+                Math.max(
+                    size,
+                    channel.size()
+                )
+            );
+        }
+    }
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    /**
+     * All segments oldest first, the last being the segment written by {@link #buffer}.
+     */
+    private final List<Path> segments;
+
+    private MappedByteBuffer buffer;
+
+    private MappedPatchLogStoreContents contents;
+
+    // Object...........................................................................................................
+
+    @Override
+    public synchronized String toString() {
+        return this.directory + " segments=" + this.segments.size();
+    }
+}
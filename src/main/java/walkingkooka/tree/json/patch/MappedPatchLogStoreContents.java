@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The latest snapshot and the entries after it, read once by {@link MappedPatchLogStore} when it is opened and then
+ * kept up to date as records are appended.
+ */
+final class MappedPatchLogStoreContents {
+
+    MappedPatchLogStoreContents() {
+        super();
+    }
+
+    /**
+     * Replaces the snapshot, dropping the entries it includes.
+     */
+    void snapshot(final PatchLogSnapshot snapshot) {
+        this.snapshot = Optional.of(snapshot);
+
+        final long version = snapshot.version();
+        this.entries.removeIf(e -> e.version() <= version);
+    }
+
+    /**
+     * Adds the entry unless its version was already added, which may happen if a rewrite did not complete.
+     */
+    void entry(final PatchLogEntry entry) {
+        final long version = entry.version();
+        if (version > this.lastVersion) {
+            this.entries.add(entry);
+            this.lastVersion = version;
+        }
+    }
+
+    Optional<PatchLogSnapshot> snapshot = Optional.empty();
+
+    final List<PatchLogEntry> entries = new ArrayList<>();
+
+    private long lastVersion = -1;
+
+    @Override
+    public String toString() {
+        return this.snapshot + " " + this.entries;
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+/**
+ * A marker for a {@link Patchable} whose patches follow JSON merge patch (RFC 7386) semantics, where an object value
+ * is itself a patch for the existing property value and null removes a property.
+ * <br>
+ * Only these types may have consecutive patches merged recursively by a {@link PatchBatch}, for all other types a
+ * later property value simply replaces an earlier value.
+ */
+public interface MergePatchable<T> extends Patchable<T> {
+}
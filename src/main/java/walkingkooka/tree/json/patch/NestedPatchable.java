@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link Patchable} container of named {@link Patchable} children, whose object patches hold one child patch for
+ * each child to be patched. {@link NestedPatches} patches only the named children and reuses every other child by
+ * reference.
+ */
+public interface NestedPatchable<T, C extends Patchable<C>> extends Patchable<T> {
+
+    /**
+     * All children by name. Implementations should return a view rather than a copy.
+     */
+    Map<JsonPropertyName, C> nestedPatchables();
+
+    /**
+     * Returns a new container with the patched children replacing existing children and the removed children removed.
+     * All other children must be kept unchanged by reference.
+     */
+    T setNestedPatchables(final Map<JsonPropertyName, C> patched,
+                          final Set<JsonPropertyName> removed);
+}
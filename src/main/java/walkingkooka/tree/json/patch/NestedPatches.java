@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.Cast;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies an object patch to a {@link NestedPatchable}, routing each property to the child of the same name. A null
+ * property value removes the child. Only children named by the patch are visited, so the cost is proportional to the
+ * size of the patch and not the number of children.
+ */
+public final class NestedPatches {
+
+    /**
+     * Patches the named children, reporting names without a child using {@link Patchable#unknownPropertyPresent(JsonPropertyName, JsonNode)}.
+     * If no child changes, the container itself is returned.
+     */
+    public static <T, C extends Patchable<C>> T patch(final NestedPatchable<T, C> nested,
+                                                      final JsonNode patch,
+                                                      final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(nested, "nested");
+        Objects.requireNonNull(patch, "patch");
+        Objects.requireNonNull(context, "context");
+
+        final Map<JsonPropertyName, C> children = nested.nestedPatchables();
+        Map<JsonPropertyName, C> patched = null;
+        Set<JsonPropertyName> removed = null;
+
+        for (final JsonNode property : patch.objectOrFail().children()) {
+            final JsonPropertyName name = property.name();
+            final C child = children.get(name);
+            if (null == child) {
+                Patchable.unknownPropertyPresent(
+                    name,
+                    property
+                );
+            }
+
+            if (property.isNull()) {
+                if (null == removed) {
+                    removed = new HashSet<>();
+                }
+                removed.add(name);
+            } else {
+                final C patchedChild = child.patch(
+                    property,
+                    context
+                );
+                if (child != patchedChild) {
+                    if (null == patched) {
+                        patched = new LinkedHashMap<>();
+                    }
+                    patched.put(
+                        name,
+                        patchedChild
+                    );
+                }
+            }
+        }
+
+        return null == patched && null == removed ?
+            Cast.to(nested) :
+            nested.setNestedPatchables(
+                null == patched ?
+                    Collections.emptyMap() :
+                    patched,
+                null == removed ?
+                    Collections.emptySet() :
+                    removed
+            );
+    }
+
+    /**
+     * Stop creation
+     */
+    private NestedPatches() {
+        throw new UnsupportedOperationException();
+    }
+}
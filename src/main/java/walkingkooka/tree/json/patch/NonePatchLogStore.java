@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A {@link PatchLogStore} that stores nothing.
+ */
+final class NonePatchLogStore implements PatchLogStore {
+
+    /**
+     * Singleton
+     */
+    final static NonePatchLogStore INSTANCE = new NonePatchLogStore();
+
+    private NonePatchLogStore() {
+        super();
+    }
+
+    @Override
+    public void append(final PatchLogEntry entry) {
+        // nop
+    }
+
+    @Override
+    public void appendSnapshot(final PatchLogSnapshot snapshot) {
+        // nop
+    }
+
+    @Override
+    public Optional<PatchLogSnapshot> latestSnapshot() {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<PatchLogEntry> entries() {
+        return Lists.empty();
+    }
+
+    @Override
+    public void rewrite(final PatchLogSnapshot snapshot,
+                        final List<PatchLogEntry> entries) {
+        // nop
+    }
+
+    @Override
+    public String toString() {
+        return "none";
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonPropertyName;
+
+/**
+ * A {@link PatchMetrics} that ignores all events.
+ */
+final class NoopPatchMetrics implements PatchMetrics {
+
+    /**
+     * Singleton
+     */
+    final static NoopPatchMetrics INSTANCE = new NoopPatchMetrics();
+
+    private NoopPatchMetrics() {
+        super();
+    }
+
+    @Override
+    public void property(final Class<?> type,
+                         final JsonPropertyName property) {
+        // nop
+    }
+
+    @Override
+    public void success(final Class<?> type,
+                        final long nanos) {
+        // nop
+    }
+
+    @Override
+    public void invalidProperty(final Class<?> type,
+                                final JsonPropertyName property,
+                                final long nanos) {
+        // nop
+    }
+
+    @Override
+    public void unknownProperty(final Class<?> type,
+                                final JsonPropertyName property,
+                                final long nanos) {
+        // nop
+    }
+
+    @Override
+    public void failure(final Class<?> type,
+                        final RuntimeException cause,
+                        final long nanos) {
+        // nop
+    }
+
+    @Override
+    public String toString() {
+        return "noop";
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.Cast;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Applies an object patch to a {@link NestedPatchable} like {@link NestedPatches}, routing each property to the child of
+ * the same name, but when more than threshold children are patched, patching them in parallel using a
+ * {@link ForkJoinPool}. Unknown names are reported and removed children collected before any child is patched.
+ * <br>
+ * This class is not available to J2CL or GWT.
+ */
+public final class ParallelPatches {
+
+    /**
+     * Patches the named children, reporting names without a child using {@link Patchable#unknownPropertyPresent(JsonPropertyName, JsonNode)}.
+     * Children are patched in parallel when there are more than threshold of them, and may be patched concurrently so
+     * must not share mutable state. If no child changes, the container itself is returned.
+     */
+    public static <T, C extends Patchable<C>> T patch(final NestedPatchable<T, C> nested,
+                                                      final JsonNode patch,
+                                                      final JsonNodeUnmarshallContext context,
+                                                      final ForkJoinPool pool,
+                                                      final int threshold) {
+        Objects.requireNonNull(nested, "nested");
+        Objects.requireNonNull(patch, "patch");
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(pool, "pool");
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Invalid threshold " + threshold + " < 1");
+        }
+
+        final Map<JsonPropertyName, C> children = nested.nestedPatchables();
+        final List<JsonNode> properties = patch.objectOrFail()
+            .children();
+
+        final List<C> targets = new ArrayList<>(properties.size());
+        final List<JsonNode> patches = new ArrayList<>(properties.size());
+        Set<JsonPropertyName> removed = null;
+
+        for (final JsonNode property : properties) {
+            final JsonPropertyName name = property.name();
+            final C child = children.get(name);
+            if (null == child) {
+                Patchable.unknownPropertyPresent(
+                    name,
+                    property
+                );
+            }
+
+            if (property.isNull()) {
+                if (null == removed) {
+                    removed = new HashSet<>();
+                }
+                removed.add(name);
+            } else {
+                targets.add(child);
+                patches.add(property);
+            }
+        }
+
+        final int count = targets.size();
+        final Object[] patchedChildren = new Object[count];
+
+        final ParallelPatchesRecursiveAction<C> action = new ParallelPatchesRecursiveAction<>(
+            targets,
+            patches,
+            context,
+            threshold,
+            patchedChildren,
+            0,
+            count
+        );
+        // the same boundary as the action uses to stop splitting
+        if (count <= threshold) {
+            action.compute();
+        } else {
+            pool.invoke(action);
+        }
+
+        Map<JsonPropertyName, C> patched = null;
+        for (int i = 0; i < count; i++) {
+            final C patchedChild = Cast.to(patchedChildren[i]);
+            if (targets.get(i) != patchedChild) {
+                if (null == patched) {
+                    patched = new LinkedHashMap<>();
+                }
+                patched.put(
+                    patches.get(i).name(),
+                    patchedChild
+                );
+            }
+        }
+
+        return null == patched && null == removed ?
+            Cast.to(nested) :
+            nested.setNestedPatchables(
+                null == patched ?
+                    Collections.emptyMap() :
+                    patched,
+                null == removed ?
+                    Collections.emptySet() :
+                    removed
+            );
+    }
+
+    /**
+     * Stop creation
+     */
+    private ParallelPatches() {
+        throw new UnsupportedOperationException();
+    }
+}
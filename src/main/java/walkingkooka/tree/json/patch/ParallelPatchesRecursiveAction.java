@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Patches a range of children, splitting the range in half until it is no larger than the threshold.
+ */
+final class ParallelPatchesRecursiveAction<C extends Patchable<C>> extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    ParallelPatchesRecursiveAction(final List<C> children,
+                                   final List<JsonNode> patches,
+                                   final JsonNodeUnmarshallContext context,
+                                   final int threshold,
+                                   final Object[] patched,
+                                   final int from,
+                                   final int to) {
+        super();
+        this.children = children;
+        this.patches = patches;
+        this.context = context;
+        this.threshold = threshold;
+        this.patched = patched;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        final int from = this.from;
+        final int to = this.to;
+
+        if (to - from <= this.threshold) {
+            final List<C> children = this.children;
+            final List<JsonNode> patches = this.patches;
+            final JsonNodeUnmarshallContext context = this.context;
+
+            for (int i = from; i < to; i++) {
+                this.patched[i] = children.get(i)
+                    .patch(
+                        patches.get(i),
+                        context
+                    );
+            }
+        } else {
+            final int middle = (from + to) >>> 1;
+            invokeAll(
+                this.range(from, middle),
+                this.range(middle, to)
+            );
+        }
+    }
+
+    private ParallelPatchesRecursiveAction<C> range(final int from,
+                                                    final int to) {
+        return new ParallelPatchesRecursiveAction<>(
+            this.children,
+            this.patches,
+            this.context,
+            this.threshold,
+            this.patched,
+            from,
+            to
+        );
+    }
+
+    private final transient List<C> children;
+
+    private final transient List<JsonNode> patches;
+
+    private final transient JsonNodeUnmarshallContext context;
+
+    private final int threshold;
+
+    private final transient Object[] patched;
+
+    private final int from;
+
+    private final int to;
+}
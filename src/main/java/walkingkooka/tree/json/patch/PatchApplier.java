@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.Cast;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Applies a single JSON object patch to many values of the same type, unmarshalling each property value once using the
+ * {@link JsonNodeUnmarshallContext} rather than once for every value.
+ * <br>
+ * The {@link PatchSchema} decides which properties are known and the type each value is unmarshalled to. Unknown
+ * properties are reported using {@link Patchable#unknownPropertyPresent(JsonPropertyName, JsonNode)}, immutable
+ * properties and properties without a setter using {@link Patchable#invalidPropertyPresent(JsonPropertyName, JsonNode)}
+ * and values of the wrong JSON type with an {@link IllegalArgumentException}. All are reported before any value is
+ * patched.
+ */
+public final class PatchApplier<T> {
+
+    /**
+     * An applier without any setters for the given schema.
+     */
+    public static <T> PatchApplier<T> with(final PatchSchema<T> schema) {
+        Objects.requireNonNull(schema, "schema");
+
+        return new PatchApplier<>(
+            schema,
+            Collections.emptyMap()
+        );
+    }
+
+    private PatchApplier(final PatchSchema<T> schema,
+                         final Map<JsonPropertyName, PatchApplierProperty<T, ?>> properties) {
+        super();
+        this.schema = schema;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns a new applier which unmarshalls the property to the given type and applies it using the setter. A JSON
+     * null is given to the setter as null. The property must be patchable in the schema and the type must be its
+     * {@link PatchSchema} value type.
+     */
+    public <V> PatchApplier<T> property(final JsonPropertyName property,
+                                        final Class<V> type,
+                                        final BiFunction<T, V, T> setter) {
+        final PatchSchema<T> schema = this.schema;
+        schema.patchableOrFail(property);
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(setter, "setter");
+
+        final Class<?> schemaType = schema.valueType(property)
+            .get();
+        if (type != schemaType) {
+            throw new IllegalArgumentException("Property " + property + " type " + type.getName() + " is not the schema type " + schemaType.getName());
+        }
+
+        final Map<JsonPropertyName, PatchApplierProperty<T, ?>> properties = new HashMap<>(this.properties);
+        properties.put(
+            property,
+            PatchApplierProperty.with(
+                type,
+                setter
+            )
+        );
+        return new PatchApplier<>(
+            schema,
+            properties
+        );
+    }
+
+    /**
+     * Unmarshalls every property of the patch once, returning a function that applies the unmarshalled values to any
+     * value. The function holds no mutable state and may be shared between threads, for example with a parallel stream.
+     */
+    public UnaryOperator<T> prepare(final JsonNode patch,
+                                    final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(patch, "patch");
+        Objects.requireNonNull(context, "context");
+
+        final List<JsonNode> children = patch.objectOrFail()
+            .children();
+        final int count = children.size();
+
+        final Map<JsonPropertyName, PatchApplierProperty<T, ?>> properties = this.properties;
+        final PatchApplierProperty<T, ?>[] setters = Cast.to(new PatchApplierProperty<?, ?>[count]);
+        final Object[] values = new Object[count];
+
+        for (int i = 0; i < count; i++) {
+            final JsonNode child = children.get(i);
+            final PatchApplierProperty<T, ?> property = properties.get(child.name());
+            final PatchViolation violation = this.schema.violation(
+                child,
+                null != property
+            );
+            if (null != violation) {
+                throw violation.exception();
+            }
+
+            setters[i] = property;
+            values[i] = property.unmarshall(
+                child,
+                context
+            );
+        }
+
+        return (value) -> {
+            Objects.requireNonNull(value, "value");
+
+            T patched = value;
+            for (int i = 0; i < count; i++) {
+                patched = setters[i].apply(
+                    patched,
+                    values[i]
+                );
+            }
+            return patched;
+        };
+    }
+
+    /**
+     * Applies the patch to every value in order, returning the patched values in the same order.
+     * <br>
+     * This is sequential because the main use is J2CL/GWT where threads are unavailable, callers on the JVM may use
+     * {@link #prepare(JsonNode, JsonNodeUnmarshallContext)} with a parallel stream.
+     */
+    public List<T> apply(final List<T> values,
+                         final JsonNode patch,
+                         final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(values, "values");
+
+        final UnaryOperator<T> prepared = this.prepare(
+            patch,
+            context
+        );
+
+        final List<T> patched = new ArrayList<>(values.size());
+        for (final T value : values) {
+            patched.add(
+                prepared.apply(value)
+            );
+        }
+        return Collections.unmodifiableList(patched);
+    }
+
+    /**
+     * Returns true if the property is known by the schema, including immutable properties.
+     */
+    public boolean isKnown(final JsonPropertyName property) {
+        return this.schema.isKnown(property);
+    }
+
+    private final PatchSchema<T> schema;
+
+    private final Map<JsonPropertyName, PatchApplierProperty<T, ?>> properties;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.properties.keySet()
+            .toString();
+    }
+}
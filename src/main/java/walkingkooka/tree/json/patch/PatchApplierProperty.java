@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.Cast;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.function.BiFunction;
+
+/**
+ * A single property registered with a {@link PatchApplier}, holding the type its JSON is unmarshalled to and the setter
+ * that applies the unmarshalled value.
+ */
+final class PatchApplierProperty<T, V> {
+
+    static <T, V> PatchApplierProperty<T, V> with(final Class<V> type,
+                                                  final BiFunction<T, V, T> setter) {
+        return new PatchApplierProperty<>(
+            type,
+            setter
+        );
+    }
+
+    private PatchApplierProperty(final Class<V> type,
+                                 final BiFunction<T, V, T> setter) {
+        super();
+        this.type = type;
+        this.setter = setter;
+    }
+
+    /**
+     * Unmarshalls the JSON property value, with JSON null becoming null.
+     */
+    V unmarshall(final JsonNode property,
+                 final JsonNodeUnmarshallContext context) {
+        return property.isNull() ?
+            null :
+            context.unmarshall(
+                property,
+                this.type
+            );
+    }
+
+    T apply(final T value,
+            final Object propertyValue) {
+        return this.setter.apply(
+            value,
+            Cast.to(propertyValue)
+        );
+    }
+
+    private final Class<V> type;
+
+    private final BiFunction<T, V, T> setter;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.type.getName();
+    }
+}
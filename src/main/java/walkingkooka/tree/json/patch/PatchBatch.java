@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.Cast;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Accumulates many patches, merging consecutive {@link JsonObject} patches so they may be applied with fewer
+ * {@link Patchable#patch(JsonNode, JsonNodeUnmarshallContext)} calls.
+ * <br>
+ * Two object patches are merged property by property, with the later value replacing the earlier. This assumes only
+ * that each top level property is patched independently of the others, which holds for most {@link Patchable}.
+ * <br>
+ * A batch created by {@link #mergePatch()} also merges object values recursively, which is only correct for a
+ * {@link MergePatchable}. When a later object value would follow an earlier non object value, the two patches
+ * cannot be merged and are kept separate.
+ * <br>
+ * Non object patches are never merged.
+ * <br>
+ * Instances are mutable and not thread safe.
+ */
+public final class PatchBatch {
+
+    /**
+     * Creates a new empty {@link PatchBatch} that merges top level properties only, with the last writer winning.
+     */
+    public static PatchBatch empty() {
+        return new PatchBatch(false);
+    }
+
+    /**
+     * Creates a new empty {@link PatchBatch} that merges object values recursively, following JSON merge patch
+     * semantics.
+     */
+    public static PatchBatch mergePatch() {
+        return new PatchBatch(true);
+    }
+
+    /**
+     * Creates a new empty {@link PatchBatch} suitable for the given {@link Patchable}, merging recursively only
+     * if it is a {@link MergePatchable}.
+     */
+    public static PatchBatch with(final Patchable<?> patchable) {
+        Objects.requireNonNull(patchable, "patchable");
+
+        return patchable instanceof MergePatchable ?
+            mergePatch() :
+            empty();
+    }
+
+    private PatchBatch(final boolean recursive) {
+        super();
+        this.recursive = recursive;
+        this.patches = new ArrayList<>();
+    }
+
+    /**
+     * When true object values are merged recursively.
+     */
+    private final boolean recursive;
+
+    /**
+     * Adds all the given patches.
+     */
+    public PatchBatch addAll(final Iterable<JsonNode> patches) {
+        Objects.requireNonNull(patches, "patches");
+
+        for (final JsonNode patch : patches) {
+            this.add(patch);
+        }
+        return this;
+    }
+
+    /**
+     * Adds all the patches of another batch, counting every patch originally added to it.
+     */
+    void addBatch(final PatchBatch batch) {
+        for (final JsonNode patch : batch.patches) {
+            this.add(patch);
+        }
+        this.count += batch.count - batch.patches.size();
+    }
+
+    /**
+     * Adds a patch, merging it with the previous patch if possible.
+     */
+    public PatchBatch add(final JsonNode patch) {
+        Objects.requireNonNull(patch, "patch");
+
+        final List<JsonNode> patches = this.patches;
+        final int last = patches.size() - 1;
+
+        JsonNode add = patch;
+        if (last >= 0 && patch.isObject()) {
+            final JsonNode previous = patches.get(last);
+            if (previous.isObject()) {
+                final JsonObject merged = merge(
+                    previous.objectOrFail(),
+                    patch.objectOrFail(),
+                    this.recursive
+                );
+                if (null != merged) {
+                    patches.set(
+                        last,
+                        merged
+                    );
+                    add = null;
+                }
+            }
+        }
+
+        if (null != add) {
+            patches.add(add);
+        }
+        this.count++;
+        return this;
+    }
+
+    /**
+     * Merges the properties of the next patch into the previous, returning null if they cannot be merged.
+     */
+    static JsonObject merge(final JsonObject previous,
+                            final JsonObject next,
+                            final boolean recursive) {
+        JsonObject merged = previous;
+
+        for (final JsonNode property : next.children()) {
+            final JsonPropertyName name = property.name();
+            JsonNode value = property;
+
+            if (recursive && property.isObject()) {
+                final Optional<JsonNode> existing = merged.get(name);
+                if (existing.isPresent()) {
+                    final JsonNode existingValue = existing.get();
+                    if (false == existingValue.isObject()) {
+                        merged = null;
+                        break;
+                    }
+                    value = merge(
+                        existingValue.objectOrFail(),
+                        property.objectOrFail(),
+                        true
+                    );
+                    if (null == value) {
+                        merged = null;
+                        break;
+                    }
+                }
+            }
+
+            merged = merged.set(
+                name,
+                value
+            );
+        }
+
+        return merged;
+    }
+
+    /**
+     * Applies all the merged patches in order to the given {@link Patchable}. If more than one patch remains after
+     * merging, each intermediate result must also be a {@link Patchable}.
+     */
+    public <T> T apply(final Patchable<T> patchable,
+                       final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(patchable, "patchable");
+        Objects.requireNonNull(context, "context");
+
+        Patchable<T> patching = patchable;
+        T result = Cast.to(patchable);
+
+        for (final JsonNode patch : this.patches) {
+            result = patching.patch(
+                patch,
+                context
+            );
+            patching = Cast.to(result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the patches after merging.
+     */
+    public List<JsonNode> patches() {
+        return Collections.unmodifiableList(
+            new ArrayList<>(this.patches)
+        );
+    }
+
+    private final List<JsonNode> patches;
+
+    /**
+     * The number of patches added, before any merging.
+     */
+    public int count() {
+        return this.count;
+    }
+
+    private int count;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.recursive ?
+            "mergePatch " + this.patches :
+            this.patches.toString();
+    }
+}
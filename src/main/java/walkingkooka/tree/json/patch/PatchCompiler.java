@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compiles the property names of a patch into a {@link PatchPlan}, given the properties supported by a
+ * {@link Patchable} type. Plans are cached by patch shape, so patches with the same property names in the same order
+ * share a single plan. A cached plan is found by hashing the property names and confirmed using
+ * {@link PatchPlan#matches(JsonNode)}, which costs less than compiling a new plan.
+ */
+public final class PatchCompiler {
+
+    /**
+     * The maximum number of shapes that are cached, after which the cache is cleared.
+     */
+    final static int MAX_CACHE_SIZE = 256;
+
+    public static PatchCompiler with(final JsonPropertyName... properties) {
+        Objects.requireNonNull(properties, "properties");
+
+        return with(
+            Arrays.asList(properties)
+        );
+    }
+
+    public static PatchCompiler with(final List<JsonPropertyName> properties) {
+        Objects.requireNonNull(properties, "properties");
+
+        final Map<JsonPropertyName, Integer> propertyToIndex = new HashMap<>();
+        int i = 0;
+        for (final JsonPropertyName property : properties) {
+            Objects.requireNonNull(property, "property");
+
+            if (null != propertyToIndex.put(property, i)) {
+                throw new IllegalArgumentException("Duplicate property " + property);
+            }
+            i++;
+        }
+
+        return new PatchCompiler(
+            Collections.unmodifiableList(
+                new ArrayList<>(properties)
+            ),
+            propertyToIndex
+        );
+    }
+
+    private PatchCompiler(final List<JsonPropertyName> properties,
+                          final Map<JsonPropertyName, Integer> propertyToIndex) {
+        super();
+        this.properties = properties;
+        this.propertyToIndex = propertyToIndex;
+    }
+
+    /**
+     * Returns the {@link PatchPlan} for the given patch, which must be a {@link walkingkooka.tree.json.JsonObject}.
+     * Unknown properties are reported using {@link Patchable#unknownPropertyPresent(JsonPropertyName, JsonNode)}.
+     */
+    public PatchPlan compile(final JsonNode patch) {
+        Objects.requireNonNull(patch, "patch");
+
+        final List<JsonNode> children = patch.objectOrFail()
+            .children();
+
+        int hash = 0;
+        for (final JsonNode child : children) {
+            hash = 31 * hash + child.name()
+                .hashCode();
+        }
+
+        final Map<Integer, PatchPlan> cache = this.cache;
+        PatchPlan plan;
+        synchronized (cache) {
+            plan = cache.get(hash);
+        }
+
+        if (null == plan || false == plan.matches(patch)) {
+            plan = this.plan(children);
+
+            synchronized (cache) {
+                if (cache.size() >= MAX_CACHE_SIZE) {
+                    cache.clear();
+                }
+                cache.put(
+                    hash,
+                    plan
+                );
+            }
+        }
+
+        return plan;
+    }
+
+    private PatchPlan plan(final List<JsonNode> children) {
+        final int count = children.size();
+        final JsonPropertyName[] names = new JsonPropertyName[count];
+        final int[] indices = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            final JsonNode child = children.get(i);
+            final JsonPropertyName name = child.name();
+            final Integer index = this.propertyToIndex.get(name);
+            if (null == index) {
+                Patchable.unknownPropertyPresent(
+                    name,
+                    child
+                );
+            }
+            names[i] = name;
+            indices[i] = index;
+        }
+
+        return new PatchPlan(
+            this.properties.size(),
+            names,
+            indices
+        );
+    }
+
+    /**
+     * Plans keyed by the hash of their property names, a colliding shape replaces the cached plan.
+     */
+    private final Map<Integer, PatchPlan> cache = new HashMap<>();
+
+    /**
+     * The properties supported, with the position of each being its {@link PatchPlan} index.
+     */
+    public List<JsonPropertyName> properties() {
+        return this.properties;
+    }
+
+    private final List<JsonPropertyName> properties;
+
+    private final Map<JsonPropertyName, Integer> propertyToIndex;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.properties.toString();
+    }
+}
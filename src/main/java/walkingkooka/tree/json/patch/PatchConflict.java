@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A property changed to different values by two concurrent patches, found by {@link PatchMerger}.
+ */
+public final class PatchConflict {
+
+    public static PatchConflict with(final List<JsonPropertyName> path,
+                                     final Optional<JsonNode> base,
+                                     final JsonNode left,
+                                     final JsonNode right) {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(base, "base");
+        Objects.requireNonNull(left, "left");
+        Objects.requireNonNull(right, "right");
+
+        return new PatchConflict(
+            Collections.unmodifiableList(
+                new ArrayList<>(path)
+            ),
+            base.map(JsonNode::removeParent),
+            left.removeParent(),
+            right.removeParent()
+        );
+    }
+
+    private PatchConflict(final List<JsonPropertyName> path,
+                          final Optional<JsonNode> base,
+                          final JsonNode left,
+                          final JsonNode right) {
+        super();
+        this.path = path;
+        this.base = base;
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * The property names from the root to the conflicting property, empty when both patches replace the entire value.
+     */
+    public List<JsonPropertyName> path() {
+        return this.path;
+    }
+
+    private final List<JsonPropertyName> path;
+
+    /**
+     * The value of the property before either patch, if it was present.
+     */
+    public Optional<JsonNode> base() {
+        return this.base;
+    }
+
+    private final Optional<JsonNode> base;
+
+    public JsonNode left() {
+        return this.left;
+    }
+
+    private final JsonNode left;
+
+    public JsonNode right() {
+        return this.right;
+    }
+
+    private final JsonNode right;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.path,
+            this.base,
+            this.left,
+            this.right
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PatchConflict &&
+                this.equals0((PatchConflict) other);
+    }
+
+    private boolean equals0(final PatchConflict other) {
+        return this.path.equals(other.path) &&
+            this.base.equals(other.base) &&
+            this.left.equals(other.left) &&
+            this.right.equals(other.right);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        for (final JsonPropertyName name : this.path) {
+            b.append('/')
+                .append(name.value());
+        }
+
+        return b.toString() + " " + this.left + " <> " + this.right;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Computes the minimal patch between two marshalled values, assuming JSON merge patch semantics, where object values
+ * are patched property by property, a null removes a property, and any other value replaces the previous.
+ */
+public final class PatchDiff {
+
+    /**
+     * Returns a patch that when applied to before produces after. When both are objects only changed properties are
+     * included, recursing into object values, and removed properties are included with a null value. Any other after
+     * value replaces before.
+     * <br>
+     * A merge patch cannot set a property to null, because null means remove. If after has a new or changed object
+     * property with a null value, including within a new object value, an {@link IllegalArgumentException} is thrown
+     * rather than returning a patch that would remove the property.
+     */
+    public static JsonNode diff(final JsonNode before,
+                                final JsonNode after) {
+        Objects.requireNonNull(before, "before");
+        Objects.requireNonNull(after, "after");
+
+        return before.isObject() && after.isObject() ?
+            diffObject(
+                before.objectOrFail(),
+                after.objectOrFail()
+            ) :
+            replace(after);
+    }
+
+    private static JsonObject diffObject(final JsonObject before,
+                                         final JsonObject after) {
+        final Map<JsonPropertyName, JsonNode> beforeProperties = new LinkedHashMap<>();
+        for (final JsonNode property : before.children()) {
+            beforeProperties.put(
+                property.name(),
+                property
+            );
+        }
+
+        final List<JsonNode> patch = new ArrayList<>();
+
+        for (final JsonNode afterProperty : after.children()) {
+            final JsonPropertyName name = afterProperty.name();
+            final JsonNode beforeProperty = beforeProperties.remove(name);
+
+            if (afterProperty.isNull() && (null == beforeProperty || false == beforeProperty.isNull())) {
+                nullPropertyFails(afterProperty);
+            }
+
+            if (null == beforeProperty) {
+                patch.add(
+                    replace(afterProperty)
+                        .setName(name)
+                );
+            } else {
+                if (false == equalsIgnoringParent(beforeProperty, afterProperty)) {
+                    patch.add(
+                        diff(
+                            beforeProperty,
+                            afterProperty
+                        ).setName(name)
+                    );
+                }
+            }
+        }
+
+        // properties only in before were removed
+        for (final JsonPropertyName removed : beforeProperties.keySet()) {
+            patch.add(
+                JsonNode.nullNode()
+                    .setName(removed)
+            );
+        }
+
+        // a single setChildren rather than a set per property which would copy the children each time
+        return JsonNode.object()
+            .setChildren(patch);
+    }
+
+    /**
+     * Returns the after value as a patch that replaces any previous value, failing if it is or contains a null object
+     * property that the patch would remove.
+     */
+    private static JsonNode replace(final JsonNode after) {
+        failIfNullProperties(after);
+        return after.removeParent();
+    }
+
+    private static void failIfNullProperties(final JsonNode value) {
+        if (value.isObject()) {
+            for (final JsonNode property : value.children()) {
+                if (property.isNull()) {
+                    nullPropertyFails(property);
+                }
+                failIfNullProperties(property);
+            }
+        }
+    }
+
+    private static void nullPropertyFails(final JsonNode property) {
+        throw new IllegalArgumentException("Null property " + property.name() + " cannot be set by a merge patch");
+    }
+
+    /**
+     * Returns true if applying the patch to the current value would not change it. Null patch values must be absent
+     * from current, object patch values are tested recursively, and any other patch value must equal current.
+     */
+    public static boolean isNoop(final JsonNode current,
+                                 final JsonNode patch) {
+        Objects.requireNonNull(current, "current");
+        Objects.requireNonNull(patch, "patch");
+
+        return patch.isObject() && current.isObject() ?
+            isNoopObject(
+                current.objectOrFail(),
+                patch.objectOrFail()
+            ) :
+            equalsIgnoringParent(
+                current,
+                patch
+            );
+    }
+
+    private static boolean isNoopObject(final JsonObject current,
+                                        final JsonObject patch) {
+        boolean noop = true;
+
+        for (final JsonNode property : patch.children()) {
+            final Optional<JsonNode> currentProperty = current.get(property.name());
+
+            noop = currentProperty.isPresent() ?
+                false == property.isNull() && isNoop(
+                    currentProperty.get(),
+                    property
+                ) :
+                property.isNull();
+            if (false == noop) {
+                break;
+            }
+        }
+
+        return noop;
+    }
+
+    /**
+     * Compares two {@link JsonNode} ignoring their parents, which would otherwise be included by {@link JsonNode#equals(Object)}.
+     */
+    static boolean equalsIgnoringParent(final JsonNode left,
+                                        final JsonNode right) {
+        return left.removeParent()
+            .equals(right.removeParent());
+    }
+
+    /**
+     * Stop creation
+     */
+    private PatchDiff() {
+        throw new UnsupportedOperationException();
+    }
+}
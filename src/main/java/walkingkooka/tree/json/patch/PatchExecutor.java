@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs patches on an {@link Executor}, keeping patches with the same key in submission order while patches with
+ * different keys run concurrently. At most max pending tasks may be queued or running, further submissions fail
+ * immediately with a {@link RejectedExecutionException} rather than queueing without limit.
+ * <br>
+ * On Java 21 and later pass {@code Executors.newVirtualThreadPerTaskExecutor()} so blocking I/O around each patch does
+ * not tie up a platform thread.
+ */
+public final class PatchExecutor<K> {
+
+    public static <K> PatchExecutor<K> with(final Executor executor,
+                                            final int maxPending) {
+        Objects.requireNonNull(executor, "executor");
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("Invalid max pending " + maxPending + " < 1");
+        }
+
+        return new PatchExecutor<>(
+            executor,
+            maxPending
+        );
+    }
+
+    private PatchExecutor(final Executor executor,
+                          final int maxPending) {
+        super();
+        this.executor = executor;
+        this.maxPending = maxPending;
+        this.permits = new Semaphore(maxPending);
+    }
+
+    /**
+     * Patches the value returned by the target {@link Supplier} after all earlier tasks with the same key complete, so
+     * the target may load the result of the previous patch.
+     */
+    public <T extends Patchable<T>> CompletableFuture<T> patch(final K key,
+                                                               final Supplier<T> target,
+                                                               final JsonNode patch,
+                                                               final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(target, "target");
+        Objects.requireNonNull(patch, "patch");
+        Objects.requireNonNull(context, "context");
+
+        return this.submit(
+            key,
+            () -> target.get()
+                .patch(
+                    patch,
+                    context
+                )
+        );
+    }
+
+    /**
+     * Runs the task after all earlier tasks with the same key complete, whether they succeeded or failed.
+     */
+    public <R> CompletableFuture<R> submit(final K key,
+                                           final Supplier<R> task) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(task, "task");
+
+        if (false == this.permits.tryAcquire()) {
+            this.rejected.incrementAndGet();
+
+            final CompletableFuture<R> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(
+                new RejectedExecutionException("Too many pending patches " + this.maxPending)
+            );
+            return rejected;
+        }
+
+        final CompletableFuture<R> next;
+
+        synchronized (this.tails) {
+            final CompletableFuture<?> tail = this.tails.get(key);
+
+            try {
+                next = null == tail ?
+                    CompletableFuture.supplyAsync(
+                        task,
+                        this.executor
+                    ) :
+                    tail.handleAsync(
+                        (r, t) -> task.get(),
+                        this.executor
+                    );
+            } catch (final RuntimeException cause) {
+                this.permits.release();
+                throw cause;
+            }
+
+            this.tails.put(
+                key,
+                next
+            );
+        }
+
+        next.whenComplete(
+            (r, t) -> this.complete(
+                key,
+                next
+            )
+        );
+        return next;
+    }
+
+    private void complete(final K key,
+                          final CompletableFuture<?> future) {
+        synchronized (this.tails) {
+            this.tails.remove(
+                key,
+                future
+            );
+        }
+        this.permits.release();
+    }
+
+    /**
+     * The number of tasks that are queued or running.
+     */
+    public int pending() {
+        return this.maxPending - this.permits.availablePermits();
+    }
+
+    /**
+     * The number of keys with queued or running tasks.
+     */
+    public int activeKeys() {
+        synchronized (this.tails) {
+            return this.tails.size();
+        }
+    }
+
+    /**
+     * The number of submissions rejected because max pending was reached.
+     */
+    public long rejectedCount() {
+        return this.rejected.get();
+    }
+
+    private final Executor executor;
+
+    private final int maxPending;
+
+    private final Semaphore permits;
+
+    /**
+     * The last task submitted for each key, which the next task for the key waits on.
+     */
+    private final Map<K, CompletableFuture<?>> tails = new HashMap<>();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "pending=" + this.pending() + " maxPending=" + this.maxPending + " rejected=" + this.rejected.get();
+    }
+}
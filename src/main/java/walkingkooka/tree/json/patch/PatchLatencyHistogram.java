@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed size histogram of latencies in nanos, with buckets for each power of two split into 8 linear sub buckets,
+ * giving percentiles within 12.5% of the recorded values without allocating while recording.
+ * <br>
+ * Recording is lock free, using an atomic count per bucket. Percentiles read the buckets without a lock, so while
+ * latencies are being recorded they may include some but not all concurrent recordings.
+ */
+public final class PatchLatencyHistogram {
+
+    private final static int SUB_BUCKET_BITS = 3;
+
+    private final static int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private final static int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    public static PatchLatencyHistogram empty() {
+        return new PatchLatencyHistogram();
+    }
+
+    private PatchLatencyHistogram() {
+        super();
+
+        final AtomicLong[] counts = new AtomicLong[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = new AtomicLong();
+        }
+        this.counts = counts;
+    }
+
+    /**
+     * Records a single latency, with negative values treated as zero.
+     */
+    public void record(final long nanos) {
+        this.counts[index(Math.max(0, nanos))].incrementAndGet();
+        this.count.incrementAndGet();
+    }
+
+    static int index(final long value) {
+        final int index;
+
+        if (value < SUB_BUCKET_COUNT) {
+            index = (int) value;
+        } else {
+            final int exponent = 63 - Long.numberOfLeadingZeros(value);
+            final int shift = exponent - SUB_BUCKET_BITS;
+            index = SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+        }
+
+        return index;
+    }
+
+    /**
+     * The highest value that would be recorded in the given bucket.
+     */
+    static long highestValue(final int index) {
+        final long value;
+
+        if (index < SUB_BUCKET_COUNT) {
+            value = index;
+        } else {
+            final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+            final int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+            value = ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the latency at the given percentile between 0 and 100, or 0 if nothing was recorded.
+     */
+    public long percentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Invalid percentile " + percentile + " not between 0 and 100");
+        }
+
+        long value = 0;
+
+        final long count = this.count.get();
+        if (count > 0) {
+            final long target = Math.max(
+                1,
+                (long) Math.ceil(percentile * count / 100)
+            );
+            final AtomicLong[] counts = this.counts;
+
+            long total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                total += counts[i].get();
+                if (total >= target) {
+                    value = highestValue(i);
+                    break;
+                }
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * The number of latencies recorded.
+     */
+    public long count() {
+        return this.count.get();
+    }
+
+    private final AtomicLong[] counts;
+
+    private final AtomicLong count = new AtomicLong();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "count=" + this.count() + " p50=" + this.percentile(50) + " p99=" + this.percentile(99);
+    }
+}
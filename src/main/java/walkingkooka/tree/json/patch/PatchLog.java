@@ -0,0 +1,508 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * An append only log of patches applied to a {@link Patchable}, which takes a snapshot of the patched value every
+ * snapshot interval patches. Any version may be rebuilt by replaying the patches after the nearest snapshot, with
+ * consecutive patches merged by {@link Patchable#patchAll(Iterable, JsonNodeUnmarshallContext)}, so replay cost is
+ * bounded by the snapshot interval rather than the length of the history.
+ * <br>
+ * Every patch and snapshot is also written to a {@link PatchLogStore}, so a log may be recovered after a restart using
+ * {@link #recover(PatchLogStore, int, Function, Function, JsonNodeUnmarshallContext)}, replaying only the patches after
+ * the latest stored snapshot.
+ * <br>
+ * {@link #compact()} folds consecutive patches between snapshots into as few patches as a {@link PatchBatch} allows,
+ * so snapshot versions may still be replayed but versions within a folded patch may not. A snapshot other than the first
+ * and latest is dropped once the patches before it fold into one, as it may be rebuilt from the previous snapshot with
+ * that single patch. Each compaction only folds the patches appended since the previous compaction.
+ * All methods are synchronized.
+ */
+public final class PatchLog<T extends Patchable<T>> {
+
+    /**
+     * Creates a log held only in memory.
+     */
+    public static <T extends Patchable<T>> PatchLog<T> with(final T initial,
+                                                            final int snapshotInterval) {
+        Objects.requireNonNull(initial, "initial");
+        checkSnapshotInterval(snapshotInterval);
+
+        final PatchLog<T> log = new PatchLog<>(
+            snapshotInterval,
+            PatchLogStore.none(),
+            Optional.empty()
+        );
+        log.start(
+            0,
+            initial
+        );
+        return log;
+    }
+
+    /**
+     * Creates a log that writes every patch and snapshot to the given empty {@link PatchLogStore}, using the marshaller
+     * to write snapshots, starting with the initial value.
+     */
+    public static <T extends Patchable<T>> PatchLog<T> with(final T initial,
+                                                            final int snapshotInterval,
+                                                            final PatchLogStore store,
+                                                            final Function<T, JsonNode> marshaller) {
+        Objects.requireNonNull(initial, "initial");
+        checkSnapshotInterval(snapshotInterval);
+        Objects.requireNonNull(store, "store");
+        Objects.requireNonNull(marshaller, "marshaller");
+
+        if (store.latestSnapshot().isPresent()) {
+            throw new IllegalArgumentException("Store not empty " + store);
+        }
+
+        final PatchLog<T> log = new PatchLog<>(
+            snapshotInterval,
+            store,
+            Optional.of(marshaller)
+        );
+        log.start(
+            0,
+            initial
+        );
+        log.storeSnapshot(
+            0,
+            initial
+        );
+        return log;
+    }
+
+    /**
+     * Recovers a log from the given {@link PatchLogStore}, unmarshalling the latest stored snapshot and replaying the
+     * stored patches after it. Versions before the latest stored snapshot cannot be replayed.
+     */
+    public static <T extends Patchable<T>> PatchLog<T> recover(final PatchLogStore store,
+                                                               final int snapshotInterval,
+                                                               final Function<T, JsonNode> marshaller,
+                                                               final Function<JsonNode, T> unmarshaller,
+                                                               final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(store, "store");
+        checkSnapshotInterval(snapshotInterval);
+        Objects.requireNonNull(marshaller, "marshaller");
+        Objects.requireNonNull(unmarshaller, "unmarshaller");
+        Objects.requireNonNull(context, "context");
+
+        final PatchLogSnapshot snapshot = store.latestSnapshot()
+            .orElseThrow(() -> new IllegalArgumentException("Store empty " + store));
+
+        final PatchLog<T> log = new PatchLog<>(
+            snapshotInterval,
+            store,
+            Optional.of(marshaller)
+        );
+        log.start(
+            snapshot.version(),
+            Objects.requireNonNull(
+                unmarshaller.apply(snapshot.value()),
+                "unmarshaller returned null"
+            )
+        );
+
+        for (final PatchLogEntry entry : store.entries()) {
+            log.add(
+                entry,
+                log.head.patch(
+                    entry.patch(),
+                    context
+                )
+            );
+        }
+
+        return log;
+    }
+
+    private static void checkSnapshotInterval(final int snapshotInterval) {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("Invalid snapshot interval " + snapshotInterval + " < 1");
+        }
+    }
+
+    private PatchLog(final int snapshotInterval,
+                     final PatchLogStore store,
+                     final Optional<Function<T, JsonNode>> marshaller) {
+        super();
+        this.snapshotInterval = snapshotInterval;
+        this.store = store;
+        this.marshaller = PatchLogStore.none() == store ?
+            Optional.empty() :
+            marshaller;
+    }
+
+    private void start(final long version,
+                       final T value) {
+        this.version = version;
+        this.firstVersion = version;
+        this.compactedVersion = version;
+        this.head = value;
+        this.snapshots.put(
+            version,
+            value
+        );
+    }
+
+    /**
+     * Applies the patch to the latest value and appends it to the log and store, returning the new latest value. A patch
+     * that fails is not appended.
+     */
+    public synchronized T append(final JsonNode patch,
+                                 final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(patch, "patch");
+        Objects.requireNonNull(context, "context");
+
+        final T patched = this.head.patch(
+            patch,
+            context
+        );
+
+        final long version = this.version + 1;
+        final PatchLogEntry entry = PatchLogEntry.with(
+            version,
+            version,
+            patch
+        );
+        this.store.append(entry);
+
+        if (this.add(entry, patched)) {
+            this.storeSnapshot(
+                version,
+                patched
+            );
+        }
+
+        return patched;
+    }
+
+    /**
+     * Adds the entry and the value it produced, returning true if a snapshot was taken.
+     */
+    private boolean add(final PatchLogEntry entry,
+                        final T patched) {
+        final long previous = this.version;
+        final long version = entry.version();
+        final int interval = this.snapshotInterval;
+
+        this.entries.add(entry);
+        this.version = version;
+        this.head = patched;
+
+        final boolean snapshot = previous / interval != version / interval;
+        if (snapshot) {
+            this.snapshots.put(
+                version,
+                patched
+            );
+        }
+        return snapshot;
+    }
+
+    private void storeSnapshot(final long version,
+                               final T value) {
+        final Optional<Function<T, JsonNode>> marshaller = this.marshaller;
+        if (marshaller.isPresent()) {
+            this.store.appendSnapshot(
+                PatchLogSnapshot.with(
+                    version,
+                    marshaller.get()
+                        .apply(value)
+                )
+            );
+        }
+    }
+
+    /**
+     * Rebuilds the value at the given version starting from the nearest snapshot at or before that version. Versions
+     * within a folded patch, other than its last, cannot be replayed.
+     */
+    public synchronized T replay(final long version,
+                                 final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(context, "context");
+
+        final long first = this.firstVersion;
+        if (version < first || version > this.version) {
+            throw new IllegalArgumentException("Invalid version " + version + " not between " + first + " and " + this.version);
+        }
+
+        final Map.Entry<Long, T> snapshot = this.snapshots.floorEntry(version);
+        final long snapshotVersion = snapshot.getKey();
+
+        final T replayed;
+        if (snapshotVersion == version) {
+            replayed = snapshot.getValue();
+        } else {
+            final int to = this.indexOf(version);
+            final PatchLogEntry last = this.entries.get(to);
+            if (last.version() != version) {
+                throw new IllegalArgumentException("Invalid version " + version + " folded into " + last.firstVersion() + ".." + last.version());
+            }
+
+            final List<JsonNode> patches = new ArrayList<>();
+            for (final PatchLogEntry entry : this.entries.subList(this.indexAfter(snapshotVersion), to + 1)) {
+                patches.add(entry.patch());
+            }
+
+            replayed = snapshot.getValue()
+                .patchAll(
+                    patches,
+                    context
+                );
+        }
+
+        return replayed;
+    }
+
+    /**
+     * Returns the index of the entry that includes the given version.
+     */
+    private int indexOf(final long version) {
+        final List<PatchLogEntry> entries = this.entries;
+
+        int low = 0;
+        int high = entries.size() - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final PatchLogEntry entry = entries.get(middle);
+
+            if (version < entry.firstVersion()) {
+                high = middle - 1;
+            } else if (version > entry.version()) {
+                low = middle + 1;
+            } else {
+                return middle;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown version " + version);
+    }
+
+    /**
+     * Returns the index of the first entry after the given version, which is the number of entries if it is the latest
+     * version.
+     */
+    private int indexAfter(final long version) {
+        return version == this.version ?
+            this.entries.size() :
+            this.indexOf(version + 1);
+    }
+
+    /**
+     * Folds consecutive patches between each pair of snapshots appended since the previous compaction, returning the
+     * number of patches removed. Snapshots other than the first and latest whose preceding patches fold into one are
+     * dropped, and the patches after the latest snapshot are untouched. The store is rewritten with the latest snapshot
+     * and the patches after it, which is all that recovery requires.
+     */
+    public synchronized int compact() {
+        final TreeMap<Long, T> snapshots = this.snapshots;
+        final List<PatchLogEntry> entries = this.entries;
+
+        // patches before the previous compaction were already folded
+        Map.Entry<Long, T> from = snapshots.floorEntry(this.compactedVersion);
+        final List<PatchLogEntry> compacted = new ArrayList<>(
+            entries.subList(
+                0,
+                this.indexAfter(from.getKey())
+            )
+        );
+        final List<Long> dropped = new ArrayList<>();
+
+        for (; ; ) {
+            final Map.Entry<Long, T> to = snapshots.higherEntry(from.getKey());
+            if (null == to) {
+                break;
+            }
+
+            final int before = compacted.size();
+            fold(
+                from.getValue(),
+                entries.subList(
+                    this.indexAfter(from.getKey()),
+                    this.indexOf(to.getKey()) + 1
+                ),
+                compacted
+            );
+            if (1 == compacted.size() - before) {
+                dropped.add(to.getKey());
+            }
+            from = to;
+        }
+
+        final long latest = from.getKey();
+        final List<PatchLogEntry> afterLatest = new ArrayList<>(
+            entries.subList(
+                this.indexAfter(latest),
+                entries.size()
+            )
+        );
+        compacted.addAll(afterLatest);
+
+        // the latest snapshot is kept so replaying recent versions stays bounded by the snapshot interval
+        dropped.remove(Long.valueOf(latest));
+        for (final Long version : dropped) {
+            snapshots.remove(version);
+        }
+        this.compactedVersion = latest;
+
+        final int removed = entries.size() - compacted.size();
+        if (removed > 0) {
+            entries.clear();
+            entries.addAll(compacted);
+
+            final Optional<Function<T, JsonNode>> marshaller = this.marshaller;
+            if (marshaller.isPresent()) {
+                this.store.rewrite(
+                    PatchLogSnapshot.with(
+                        latest,
+                        marshaller.get()
+                            .apply(from.getValue())
+                    ),
+                    afterLatest
+                );
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Folds each run of entries that a {@link PatchBatch} merges into a single patch into a single entry.
+     */
+    private static <T extends Patchable<T>> void fold(final T snapshot,
+                                                      final List<PatchLogEntry> entries,
+                                                      final List<PatchLogEntry> folded) {
+        PatchBatch batch = null;
+        long firstVersion = 0;
+        long version = 0;
+
+        for (final PatchLogEntry entry : entries) {
+            if (null != batch) {
+                batch.add(entry.patch());
+
+                final List<JsonNode> patches = batch.patches();
+                if (1 == patches.size()) {
+                    version = entry.version();
+                    continue;
+                }
+                folded.add(
+                    PatchLogEntry.with(
+                        firstVersion,
+                        version,
+                        patches.get(0)
+                    )
+                );
+            }
+
+            batch = PatchBatch.with(snapshot)
+                .add(entry.patch());
+            firstVersion = entry.firstVersion();
+            version = entry.version();
+        }
+
+        if (null != batch) {
+            folded.add(
+                PatchLogEntry.with(
+                    firstVersion,
+                    version,
+                    batch.patches()
+                        .get(0)
+                )
+            );
+        }
+    }
+
+    /**
+     * The latest value.
+     */
+    public synchronized T head() {
+        return this.head;
+    }
+
+    /**
+     * The version of the latest value, which is the total number of patches appended.
+     */
+    public synchronized long version() {
+        return this.version;
+    }
+
+    /**
+     * The oldest version which may be replayed.
+     */
+    public synchronized long firstVersion() {
+        return this.firstVersion;
+    }
+
+    /**
+     * The patches after the first version, oldest first.
+     */
+    public synchronized List<PatchLogEntry> entries() {
+        return Collections.unmodifiableList(
+            new ArrayList<>(this.entries)
+        );
+    }
+
+    public synchronized int snapshotCount() {
+        return this.snapshots.size();
+    }
+
+    private final int snapshotInterval;
+
+    private final PatchLogStore store;
+
+    /**
+     * Empty when the store is {@link PatchLogStore#none()}, so snapshots need not be marshalled.
+     */
+    private final Optional<Function<T, JsonNode>> marshaller;
+
+    private final TreeMap<Long, T> snapshots = new TreeMap<>();
+
+    private final List<PatchLogEntry> entries = new ArrayList<>();
+
+    private T head;
+
+    private long version;
+
+    private long firstVersion;
+
+    /**
+     * The latest snapshot version when {@link #compact()} last ran, patches before which are already folded.
+     */
+    private long compactedVersion;
+
+    // Object...........................................................................................................
+
+    @Override
+    public synchronized String toString() {
+        return "version=" + this.version + " firstVersion=" + this.firstVersion + " snapshots=" + this.snapshots.size();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+
+import java.util.Objects;
+
+/**
+ * A single patch in a {@link PatchLog}, covering the versions from first version to version inclusive. An appended patch
+ * covers a single version, while a patch folded by {@link PatchLog#compact()} covers all the versions it replaced.
+ */
+public final class PatchLogEntry {
+
+    public static PatchLogEntry with(final long firstVersion,
+                                     final long version,
+                                     final JsonNode patch) {
+        if (firstVersion < 1) {
+            throw new IllegalArgumentException("Invalid first version " + firstVersion + " < 1");
+        }
+        if (version < firstVersion) {
+            throw new IllegalArgumentException("Invalid version " + version + " < " + firstVersion);
+        }
+        Objects.requireNonNull(patch, "patch");
+
+        return new PatchLogEntry(
+            firstVersion,
+            version,
+            patch.removeParent()
+        );
+    }
+
+    private PatchLogEntry(final long firstVersion,
+                          final long version,
+                          final JsonNode patch) {
+        super();
+        this.firstVersion = firstVersion;
+        this.version = version;
+        this.patch = patch;
+    }
+
+    /**
+     * The first version produced by this patch.
+     */
+    public long firstVersion() {
+        return this.firstVersion;
+    }
+
+    private final long firstVersion;
+
+    /**
+     * The version after applying this patch.
+     */
+    public long version() {
+        return this.version;
+    }
+
+    private final long version;
+
+    public JsonNode patch() {
+        return this.patch;
+    }
+
+    private final JsonNode patch;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.version) * 31 + this.patch.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PatchLogEntry &&
+                this.equals0((PatchLogEntry) other);
+    }
+
+    private boolean equals0(final PatchLogEntry other) {
+        return this.firstVersion == other.firstVersion &&
+            this.version == other.version &&
+            this.patch.equals(other.patch);
+    }
+
+    @Override
+    public String toString() {
+        return (this.firstVersion == this.version ?
+            String.valueOf(this.version) :
+            this.firstVersion + ".." + this.version) +
+            " " +
+            this.patch;
+    }
+}
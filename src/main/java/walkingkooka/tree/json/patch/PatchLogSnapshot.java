@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+
+import java.util.Objects;
+
+/**
+ * The marshalled value of a {@link PatchLog} at a version, written to a {@link PatchLogStore} so recovery need only
+ * replay the patches after it.
+ */
+public final class PatchLogSnapshot {
+
+    public static PatchLogSnapshot with(final long version,
+                                        final JsonNode value) {
+        if (version < 0) {
+            throw new IllegalArgumentException("Invalid version " + version + " < 0");
+        }
+        Objects.requireNonNull(value, "value");
+
+        return new PatchLogSnapshot(
+            version,
+            value.removeParent()
+        );
+    }
+
+    private PatchLogSnapshot(final long version,
+                             final JsonNode value) {
+        super();
+        this.version = version;
+        this.value = value;
+    }
+
+    public long version() {
+        return this.version;
+    }
+
+    private final long version;
+
+    public JsonNode value() {
+        return this.value;
+    }
+
+    private final JsonNode value;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.version) * 31 + this.value.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PatchLogSnapshot &&
+                this.equals0((PatchLogSnapshot) other);
+    }
+
+    private boolean equals0(final PatchLogSnapshot other) {
+        return this.version == other.version &&
+            this.value.equals(other.value);
+    }
+
+    @Override
+    public String toString() {
+        return this.version + " " + this.value;
+    }
+}
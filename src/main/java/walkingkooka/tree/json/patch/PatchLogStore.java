@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable storage for a {@link PatchLog}, receiving every appended patch and snapshot, so the log may be recovered after
+ * a restart with {@link PatchLog#recover(PatchLogStore, int, java.util.function.Function, java.util.function.Function, walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext)}.
+ */
+public interface PatchLogStore {
+
+    /**
+     * A {@link PatchLogStore} that stores nothing, used by logs that are only held in memory.
+     */
+    static PatchLogStore none() {
+        return NonePatchLogStore.INSTANCE;
+    }
+
+    /**
+     * Stores a patch after it was successfully applied.
+     */
+    void append(final PatchLogEntry entry);
+
+    /**
+     * Stores a snapshot, which becomes the latest snapshot.
+     */
+    void appendSnapshot(final PatchLogSnapshot snapshot);
+
+    /**
+     * The latest snapshot, if any have been stored.
+     */
+    Optional<PatchLogSnapshot> latestSnapshot();
+
+    /**
+     * All stored patches after the latest snapshot, oldest first.
+     */
+    List<PatchLogEntry> entries();
+
+    /**
+     * Replaces everything stored with the snapshot and the patches after it.
+     */
+    void rewrite(final PatchLogSnapshot snapshot,
+                 final List<PatchLogEntry> entries);
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded least recently used cache with hit, miss and eviction counts. All methods are synchronized.
+ */
+final class PatchLruCache<K, V> {
+
+    static <K, V> PatchLruCache<K, V> with(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Invalid max size " + maxSize + " < 1");
+        }
+
+        return new PatchLruCache<>(maxSize);
+    }
+
+    private PatchLruCache(final int maxSize) {
+        super();
+        this.maxSize = maxSize;
+        this.map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                final boolean remove = this.size() > PatchLruCache.this.maxSize;
+                if (remove) {
+                    PatchLruCache.this.evictions++;
+                }
+                return remove;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value or null, updating the hit or miss count.
+     */
+    synchronized V get(final K key) {
+        final V value = this.map.get(key);
+        if (null != value) {
+            this.hits++;
+        } else {
+            this.misses++;
+        }
+        return value;
+    }
+
+    synchronized void put(final K key,
+                          final V value) {
+        this.map.put(
+            key,
+            value
+        );
+    }
+
+    synchronized int size() {
+        return this.map.size();
+    }
+
+    synchronized long hits() {
+        return this.hits;
+    }
+
+    synchronized long misses() {
+        return this.misses;
+    }
+
+    synchronized long evictions() {
+        return this.evictions;
+    }
+
+    private final int maxSize;
+
+    private final LinkedHashMap<K, V> map;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    @Override
+    public synchronized String toString() {
+        return "size=" + this.map.size() + " hits=" + this.hits + " misses=" + this.misses + " evictions=" + this.evictions;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The result of a {@link PatchMerger} three way merge, holding either the merged patch or every {@link PatchConflict}.
+ */
+public final class PatchMergeResult {
+
+    public static PatchMergeResult merged(final JsonNode patch) {
+        Objects.requireNonNull(patch, "patch");
+
+        return new PatchMergeResult(
+            Optional.of(
+                patch.removeParent()
+            ),
+            Collections.emptyList()
+        );
+    }
+
+    public static PatchMergeResult conflicts(final List<PatchConflict> conflicts) {
+        Objects.requireNonNull(conflicts, "conflicts");
+
+        final List<PatchConflict> copy = Collections.unmodifiableList(
+            new ArrayList<>(conflicts)
+        );
+        if (copy.isEmpty()) {
+            throw new IllegalArgumentException("Missing conflicts");
+        }
+
+        return new PatchMergeResult(
+            Optional.empty(),
+            copy
+        );
+    }
+
+    private PatchMergeResult(final Optional<JsonNode> patch,
+                             final List<PatchConflict> conflicts) {
+        super();
+        this.patch = patch;
+        this.conflicts = conflicts;
+    }
+
+    public boolean isMerged() {
+        return this.patch.isPresent();
+    }
+
+    public Optional<JsonNode> patch() {
+        return this.patch;
+    }
+
+    private final Optional<JsonNode> patch;
+
+    public List<PatchConflict> conflicts() {
+        return this.conflicts;
+    }
+
+    private final List<PatchConflict> conflicts;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.patch,
+            this.conflicts
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PatchMergeResult &&
+                this.equals0((PatchMergeResult) other);
+    }
+
+    private boolean equals0(final PatchMergeResult other) {
+        return this.patch.equals(other.patch) &&
+            this.conflicts.equals(other.conflicts);
+    }
+
+    @Override
+    public String toString() {
+        return this.isMerged() ?
+            this.patch.get().toString() :
+            this.conflicts.toString();
+    }
+}
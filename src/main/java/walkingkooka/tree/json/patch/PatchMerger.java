@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Merges two patches made concurrently against the same base value, assuming JSON merge patch semantics.
+ * <br>
+ * Properties patched by only one side, or to the same value by both, are merged. Object values patched by both sides
+ * are merged recursively. A property patched to a value equal to the base value is not a change and gives way to the
+ * other side. All other properties patched by both sides are conflicts. Each property is visited once, so the merge is
+ * linear in the size of the patches.
+ */
+public final class PatchMerger {
+
+    /**
+     * Returns the merged patch, or every conflict if any property was changed differently by each patch.
+     */
+    public static PatchMergeResult merge(final JsonNode base,
+                                         final JsonNode left,
+                                         final JsonNode right) {
+        Objects.requireNonNull(base, "base");
+        Objects.requireNonNull(left, "left");
+        Objects.requireNonNull(right, "right");
+
+        final List<PatchConflict> conflicts = new ArrayList<>();
+        final JsonNode merged = merge(
+            Optional.of(base),
+            left,
+            right,
+            new ArrayList<>(),
+            conflicts
+        );
+
+        return conflicts.isEmpty() ?
+            PatchMergeResult.merged(merged) :
+            PatchMergeResult.conflicts(conflicts);
+    }
+
+    private static JsonNode merge(final Optional<JsonNode> base,
+                                  final JsonNode left,
+                                  final JsonNode right,
+                                  final List<JsonPropertyName> path,
+                                  final List<PatchConflict> conflicts) {
+        final JsonNode merged;
+
+        if (PatchDiff.equalsIgnoringParent(left, right)) {
+            merged = left;
+        } else if (left.isObject() && right.isObject() && base.map(b -> b.isObject()).orElse(true)) {
+            merged = mergeObject(
+                base.map(JsonNode::objectOrFail),
+                left.objectOrFail(),
+                right.objectOrFail(),
+                path,
+                conflicts
+            );
+        } else if (isNoop(base, left)) {
+            merged = right;
+        } else if (isNoop(base, right)) {
+            merged = left;
+        } else {
+            conflicts.add(
+                PatchConflict.with(
+                    path,
+                    base,
+                    left,
+                    right
+                )
+            );
+            merged = left;
+        }
+
+        return merged;
+    }
+
+    private static JsonObject mergeObject(final Optional<JsonObject> base,
+                                          final JsonObject left,
+                                          final JsonObject right,
+                                          final List<JsonPropertyName> path,
+                                          final List<PatchConflict> conflicts) {
+        final Map<JsonPropertyName, JsonNode> rightProperties = new LinkedHashMap<>();
+        for (final JsonNode property : right.children()) {
+            rightProperties.put(
+                property.name(),
+                property
+            );
+        }
+
+        final List<JsonNode> merged = new ArrayList<>(left.children().size() + rightProperties.size());
+
+        for (final JsonNode leftProperty : left.children()) {
+            final JsonPropertyName name = leftProperty.name();
+            final JsonNode rightProperty = rightProperties.remove(name);
+
+            JsonNode value = leftProperty;
+            if (null != rightProperty) {
+                path.add(name);
+                value = merge(
+                    base.flatMap(b -> b.get(name)),
+                    leftProperty,
+                    rightProperty,
+                    path,
+                    conflicts
+                );
+                path.remove(path.size() - 1);
+            }
+
+            merged.add(
+                value.removeParent()
+                    .setName(name)
+            );
+        }
+
+        for (final JsonNode rightProperty : rightProperties.values()) {
+            merged.add(
+                rightProperty.removeParent()
+                    .setName(rightProperty.name())
+            );
+        }
+
+        // a single setChildren rather than a set per property which would copy the children each time
+        return JsonNode.object()
+            .setChildren(merged);
+    }
+
+    /**
+     * Returns true if the patch value leaves the base value unchanged, where a null patch of a missing property is also
+     * unchanged.
+     */
+    private static boolean isNoop(final Optional<JsonNode> base,
+                                  final JsonNode patch) {
+        return base.isPresent() ?
+            PatchDiff.isNoop(
+                base.get(),
+                patch
+            ) :
+            patch.isNull();
+    }
+
+    /**
+     * Stop creation
+     */
+    private PatchMerger() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonPropertyName;
+
+/**
+ * Receives events as patches are applied by an {@link InstrumentedPatchable}. Implementations must be thread safe.
+ */
+public interface PatchMetrics {
+
+    /**
+     * A {@link PatchMetrics} that ignores all events. {@link InstrumentedPatchable#with(Patchable, PatchMetrics)}
+     * returns the {@link Patchable} undecorated when given this instance.
+     */
+    static PatchMetrics noop() {
+        return NoopPatchMetrics.INSTANCE;
+    }
+
+    /**
+     * A property present in a patch about to be applied to the given type.
+     */
+    void property(final Class<?> type,
+                  final JsonPropertyName property);
+
+    /**
+     * A patch was successfully applied taking the given nanos.
+     */
+    void success(final Class<?> type,
+                 final long nanos);
+
+    /**
+     * A patch failed because of an invalid property.
+     */
+    void invalidProperty(final Class<?> type,
+                         final JsonPropertyName property,
+                         final long nanos);
+
+    /**
+     * A patch failed because of an unknown property.
+     */
+    void unknownProperty(final Class<?> type,
+                         final JsonPropertyName property,
+                         final long nanos);
+
+    /**
+     * A patch failed for any other reason.
+     */
+    void failure(final Class<?> type,
+                 final RuntimeException cause,
+                 final long nanos);
+}
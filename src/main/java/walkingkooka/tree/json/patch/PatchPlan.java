@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A compiled patch shape, created by {@link PatchCompiler#compile(JsonNode)}, that maps each patch property to the
+ * index of the property within {@link PatchCompiler#properties()}, allowing a {@link Patchable} to dispatch using
+ * array indices instead of comparing property names.
+ */
+public final class PatchPlan {
+
+    PatchPlan(final int propertyCount,
+              final JsonPropertyName[] names,
+              final int[] indices) {
+        super();
+        this.propertyCount = propertyCount;
+        this.names = names;
+        this.indices = indices;
+    }
+
+    /**
+     * Returns true if the patch has the shape this plan was compiled from, the same property names in the same order.
+     * Callers that keep a plan for later patches should check each patch before calling {@link #values(JsonNode)}.
+     */
+    public boolean matches(final JsonNode patch) {
+        Objects.requireNonNull(patch, "patch");
+
+        final List<JsonNode> children = patch.objectOrFail()
+            .children();
+        final JsonPropertyName[] names = this.names;
+        final int count = names.length;
+
+        boolean matches = children.size() == count;
+        for (int i = 0; matches && i < count; i++) {
+            final JsonPropertyName name = children.get(i)
+                .name();
+            matches = names[i] == name || names[i].equals(name);
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the patch property values indexed by property, with missing properties left as null. The patch must have
+     * the shape this plan was compiled from, which is not verified beyond the number of properties, see
+     * {@link #matches(JsonNode)}.
+     */
+    public JsonNode[] values(final JsonNode patch) {
+        Objects.requireNonNull(patch, "patch");
+
+        final List<JsonNode> children = patch.objectOrFail()
+            .children();
+        final int[] indices = this.indices;
+        final int count = indices.length;
+
+        if (children.size() != count) {
+            throw new IllegalArgumentException("Patch has " + children.size() + " properties expected " + count);
+        }
+
+        final JsonNode[] values = new JsonNode[this.propertyCount];
+        for (int i = 0; i < count; i++) {
+            values[indices[i]] = children.get(i);
+        }
+        return values;
+    }
+
+    /**
+     * The number of properties in patches of this shape.
+     */
+    public int size() {
+        return this.indices.length;
+    }
+
+    /**
+     * Returns the property index of the n-th patch property.
+     */
+    public int index(final int child) {
+        return this.indices[child];
+    }
+
+    private final int propertyCount;
+
+    /**
+     * The patch property names in order, which form the shape of this plan.
+     */
+    private final JsonPropertyName[] names;
+
+    private final int[] indices;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.indices);
+    }
+}
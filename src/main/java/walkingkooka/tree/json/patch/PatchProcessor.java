@@ -0,0 +1,464 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.tree.json.InvalidPropertyJsonNodeException;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A {@link Flow.Processor} that receives patches as JSON text by key and emits a {@link PatchProcessorResult} for each
+ * key, passing each patch through these stages:
+ * <ol>
+ * <li>parse the JSON text</li>
+ * <li>validate against an optional {@link PatchSchema}, which also rejects patches that are not JSON objects</li>
+ * <li>coalesce patches for the same key using {@link Patchable#patchAll(Iterable, JsonNodeUnmarshallContext)}</li>
+ * <li>apply to the latest value for the key</li>
+ * <li>store the patched value</li>
+ * <li>emit the result</li>
+ * </ol>
+ * At most max batch size patches are requested from upstream at any time, and results are published with a bounded
+ * {@link SubmissionPublisher}, so a slow subscriber stops upstream demand rather than growing a buffer. All patches that
+ * arrive while a batch is being processed form the next batch, so batches grow under load without delaying patches when
+ * idle. Batches are processed one at a time in arrival order, so patches for the same key are applied in order.
+ * <br>
+ * A patch that cannot be parsed or validated is reported by its own result and skipped, later patches for the same
+ * key are still applied. If applying the coalesced patches for a key fails, none of them are applied and a single
+ * result reports the failure. Every patched value is given to the store before its result is emitted, and the latest
+ * values of up to max keys recently patched keys are kept, loading the value of any other key using the loader. The
+ * loader should read what the store wrote, so a key that was evicted while its result was still waiting for a slow
+ * subscriber is never reloaded with an older value.
+ * <br>
+ * Results that could not be emitted because publishing failed are kept, and emitted before any later results the next
+ * time the processor drains.
+ * <br>
+ * The executor processes batches and delivers results, and must be able to run more than one task at a time, for
+ * example a {@link java.util.concurrent.ForkJoinPool}, because publishing a result waits for slow subscribers.
+ */
+public final class PatchProcessor<K, T extends Patchable<T>> implements Flow.Processor<Map.Entry<K, String>, PatchProcessorResult<K, T>> {
+
+    public static <K, T extends Patchable<T>> PatchProcessor<K, T> with(final Function<K, T> loader,
+                                                                        final BiConsumer<K, T> store,
+                                                                        final Optional<PatchSchema<T>> schema,
+                                                                        final JsonNodeUnmarshallContext context,
+                                                                        final Executor executor,
+                                                                        final int maxBatchSize,
+                                                                        final int maxKeys) {
+        Objects.requireNonNull(loader, "loader");
+        Objects.requireNonNull(store, "store");
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(executor, "executor");
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Invalid max batch size " + maxBatchSize + " < 1");
+        }
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("Invalid max keys " + maxKeys + " < 1");
+        }
+
+        return new PatchProcessor<>(
+            loader,
+            store,
+            schema,
+            context,
+            executor,
+            maxBatchSize,
+            maxKeys
+        );
+    }
+
+    private PatchProcessor(final Function<K, T> loader,
+                           final BiConsumer<K, T> store,
+                           final Optional<PatchSchema<T>> schema,
+                           final JsonNodeUnmarshallContext context,
+                           final Executor executor,
+                           final int maxBatchSize,
+                           final int maxKeys) {
+        super();
+        this.loader = loader;
+        this.store = store;
+        this.schema = schema;
+        this.context = context;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+        this.values = PatchLruCache.with(maxKeys);
+        this.publisher = new SubmissionPublisher<>(
+            executor,
+            maxBatchSize
+        );
+    }
+
+    // Flow.Publisher...................................................................................................
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super PatchProcessorResult<K, T>> subscriber) {
+        this.publisher.subscribe(subscriber);
+    }
+
+    // Flow.Subscriber..................................................................................................
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+
+        synchronized (this.lock) {
+            if (null != this.subscription) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+        }
+
+        subscription.request(this.maxBatchSize);
+    }
+
+    @Override
+    public void onNext(final Map.Entry<K, String> item) {
+        Objects.requireNonNull(item, "item");
+
+        synchronized (this.lock) {
+            this.buffer.add(item);
+            this.scheduleDrain();
+        }
+    }
+
+    @Override
+    public void onError(final Throwable cause) {
+        Objects.requireNonNull(cause, "cause");
+
+        synchronized (this.lock) {
+            this.error = cause;
+            this.completed = true;
+            this.scheduleDrain();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this.lock) {
+            this.completed = true;
+            this.scheduleDrain();
+        }
+    }
+
+    /**
+     * Must be called holding the lock.
+     */
+    private void scheduleDrain() {
+        if (false == this.draining) {
+            this.draining = true;
+            this.executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Processes batches until the buffer is empty, then closes the publisher if upstream completed. An unexpected
+     * failure, typically while emitting, must not leave the processor draining forever.
+     */
+    private void drain() {
+        boolean drained = false;
+        try {
+            this.drainBatches();
+            drained = true;
+        } finally {
+            if (false == drained) {
+                synchronized (this.lock) {
+                    this.draining = false;
+                    if (this.completed || false == this.buffer.isEmpty() || false == this.results.isEmpty()) {
+                        this.scheduleDrain();
+                    }
+                }
+            }
+        }
+    }
+
+    private void drainBatches() {
+        for (;;) {
+            // results left by a previous failure are emitted before any later results
+            this.emitResults();
+
+            final List<Map.Entry<K, String>> batch = new ArrayList<>();
+            final boolean completed;
+            final Throwable error;
+
+            synchronized (this.lock) {
+                while (batch.size() < this.maxBatchSize && false == this.buffer.isEmpty()) {
+                    batch.add(this.buffer.poll());
+                }
+                completed = this.completed;
+                error = this.error;
+
+                if (batch.isEmpty()) {
+                    this.draining = false;
+                    if (false == completed || this.closed) {
+                        break;
+                    }
+                    this.closed = true;
+                }
+            }
+
+            if (batch.isEmpty()) {
+                if (null != error) {
+                    this.publisher.closeExceptionally(error);
+                } else {
+                    this.publisher.close();
+                }
+                break;
+            }
+
+            try {
+                this.process(batch);
+                this.emitResults();
+            } finally {
+                if (false == completed) {
+                    this.subscription.request(batch.size());
+                }
+            }
+        }
+    }
+
+    private void process(final List<Map.Entry<K, String>> batch) {
+        final Map<K, List<JsonNode>> keyToPatches = new LinkedHashMap<>();
+
+        for (final Map.Entry<K, String> item : batch) {
+            final K key = item.getKey();
+            final JsonNode patch;
+            final List<PatchViolation> violations;
+
+            // parse and validate
+            try {
+                patch = JsonNode.parse(item.getValue());
+                violations = this.validate(patch);
+            } catch (final RuntimeException cause) {
+                this.emit(
+                    PatchProcessorResult.error(
+                        key,
+                        cause,
+                        1
+                    )
+                );
+                continue;
+            }
+
+            if (false == violations.isEmpty()) {
+                this.emit(
+                    PatchProcessorResult.violations(
+                        key,
+                        violations,
+                        1
+                    )
+                );
+                continue;
+            }
+
+            // coalesce
+            keyToPatches.computeIfAbsent(
+                key,
+                k -> new ArrayList<>()
+            ).add(patch);
+        }
+
+        // apply
+        for (final Map.Entry<K, List<JsonNode>> keyAndPatches : keyToPatches.entrySet()) {
+            final K key = keyAndPatches.getKey();
+            final List<JsonNode> patches = keyAndPatches.getValue();
+            final int count = patches.size();
+
+            PatchProcessorResult<K, T> result;
+            try {
+                final T patched = this.load(key)
+                    .patchAll(
+                        patches,
+                        this.context
+                    );
+                this.store.accept(
+                    key,
+                    patched
+                );
+                this.values.put(
+                    key,
+                    patched
+                );
+                result = PatchProcessorResult.success(
+                    key,
+                    patched,
+                    count
+                );
+            } catch (final UnknownPropertyJsonNodeException cause) {
+                result = PatchProcessorResult.violations(
+                    key,
+                    Lists.of(
+                        PatchViolation.unknown(
+                            cause.name(),
+                            cause.node()
+                        )
+                    ),
+                    count
+                );
+            } catch (final InvalidPropertyJsonNodeException cause) {
+                result = PatchProcessorResult.violations(
+                    key,
+                    Lists.of(
+                        PatchViolation.invalid(
+                            cause.name(),
+                            cause.node()
+                        )
+                    ),
+                    count
+                );
+            } catch (final RuntimeException cause) {
+                result = PatchProcessorResult.error(
+                    key,
+                    cause,
+                    count
+                );
+            }
+
+            this.emit(result);
+        }
+    }
+
+    /**
+     * Validates the patch against the schema if present, failing if the patch is not a JSON object.
+     */
+    private List<PatchViolation> validate(final JsonNode patch) {
+        final List<PatchViolation> violations;
+
+        if (this.schema.isPresent()) {
+            if (false == patch.isObject()) {
+                throw new IllegalArgumentException("Patch must be an object but got " + patch);
+            }
+            violations = this.schema.get()
+                .validate(patch);
+        } else {
+            violations = Lists.empty();
+        }
+
+        return violations;
+    }
+
+    private T load(final K key) {
+        T value = this.values.get(key);
+        if (null == value) {
+            value = Objects.requireNonNull(
+                this.loader.apply(key),
+                () -> "loader returned null for " + key
+            );
+        }
+        return value;
+    }
+
+    /**
+     * Queues the result until {@link #emitResults()}.
+     */
+    private void emit(final PatchProcessorResult<K, T> result) {
+        synchronized (this.lock) {
+            this.results.add(result);
+        }
+    }
+
+    /**
+     * Publishes queued results in order, blocking while the subscribers are too far behind, which stops further
+     * upstream demand. A result is only removed once it has been published, so it is retried if publishing fails.
+     */
+    private void emitResults() {
+        for (;;) {
+            final PatchProcessorResult<K, T> result;
+            synchronized (this.lock) {
+                result = this.results.peek();
+            }
+            if (null == result) {
+                break;
+            }
+
+            this.publisher.submit(result);
+
+            synchronized (this.lock) {
+                this.results.poll();
+            }
+        }
+    }
+
+    /**
+     * The latest value for the key, if any patches for it have been applied and it has not since been evicted by
+     * patches for more recently patched keys.
+     */
+    public Optional<T> value(final K key) {
+        return Optional.ofNullable(
+            this.values.get(key)
+        );
+    }
+
+    private final Function<K, T> loader;
+
+    private final BiConsumer<K, T> store;
+
+    private final Optional<PatchSchema<T>> schema;
+
+    private final JsonNodeUnmarshallContext context;
+
+    private final Executor executor;
+
+    private final int maxBatchSize;
+
+    private final SubmissionPublisher<PatchProcessorResult<K, T>> publisher;
+
+    private final Object lock = new Object();
+
+    private final ArrayDeque<Map.Entry<K, String>> buffer = new ArrayDeque<>();
+
+    private final ArrayDeque<PatchProcessorResult<K, T>> results = new ArrayDeque<>();
+
+    private final PatchLruCache<K, T> values;
+
+    private Flow.Subscription subscription;
+
+    private boolean draining;
+
+    private boolean completed;
+
+    private boolean closed;
+
+    private Throwable error;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        final int keys = this.values.size();
+
+        synchronized (this.lock) {
+            return "buffered=" + this.buffer.size() + " keys=" + keys + " maxBatchSize=" + this.maxBatchSize;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A result emitted by a {@link PatchProcessor} for a single key, holding the patched value, the
+ * {@link PatchViolation violations} of a rejected patch, or the error of a patch that failed for any other reason.
+ */
+public final class PatchProcessorResult<K, T> {
+
+    /**
+     * The value after applying one or more coalesced patches.
+     */
+    public static <K, T> PatchProcessorResult<K, T> success(final K key,
+                                                            final T value,
+                                                            final int patchCount) {
+        Objects.requireNonNull(value, "value");
+
+        return new PatchProcessorResult<>(
+            key,
+            Optional.of(value),
+            Collections.emptyList(),
+            Optional.empty(),
+            patchCount
+        );
+    }
+
+    public static <K, T> PatchProcessorResult<K, T> violations(final K key,
+                                                               final List<PatchViolation> violations,
+                                                               final int patchCount) {
+        Objects.requireNonNull(violations, "violations");
+
+        final List<PatchViolation> copy = Collections.unmodifiableList(
+            new ArrayList<>(violations)
+        );
+        if (copy.isEmpty()) {
+            throw new IllegalArgumentException("Missing violations");
+        }
+
+        return new PatchProcessorResult<>(
+            key,
+            Optional.empty(),
+            copy,
+            Optional.empty(),
+            patchCount
+        );
+    }
+
+    public static <K, T> PatchProcessorResult<K, T> error(final K key,
+                                                          final RuntimeException error,
+                                                          final int patchCount) {
+        Objects.requireNonNull(error, "error");
+
+        return new PatchProcessorResult<>(
+            key,
+            Optional.empty(),
+            Collections.emptyList(),
+            Optional.of(error),
+            patchCount
+        );
+    }
+
+    private PatchProcessorResult(final K key,
+                                 final Optional<T> value,
+                                 final List<PatchViolation> violations,
+                                 final Optional<RuntimeException> error,
+                                 final int patchCount) {
+        super();
+        this.key = Objects.requireNonNull(key, "key");
+        this.value = value;
+        this.violations = violations;
+        this.error = error;
+
+        if (patchCount < 1) {
+            throw new IllegalArgumentException("Invalid patch count " + patchCount + " < 1");
+        }
+        this.patchCount = patchCount;
+    }
+
+    public K key() {
+        return this.key;
+    }
+
+    private final K key;
+
+    public boolean isSuccess() {
+        return this.value.isPresent();
+    }
+
+    public Optional<T> value() {
+        return this.value;
+    }
+
+    private final Optional<T> value;
+
+    public List<PatchViolation> violations() {
+        return this.violations;
+    }
+
+    private final List<PatchViolation> violations;
+
+    public Optional<RuntimeException> error() {
+        return this.error;
+    }
+
+    private final Optional<RuntimeException> error;
+
+    /**
+     * The number of patches that were coalesced to produce this result.
+     */
+    public int patchCount() {
+        return this.patchCount;
+    }
+
+    private final int patchCount;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.key,
+            this.value,
+            this.violations,
+            this.error,
+            this.patchCount
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PatchProcessorResult &&
+                this.equals0((PatchProcessorResult<?, ?>) other);
+    }
+
+    private boolean equals0(final PatchProcessorResult<?, ?> other) {
+        return this.key.equals(other.key) &&
+            this.value.equals(other.value) &&
+            this.violations.equals(other.violations) &&
+            this.error.equals(other.error) &&
+            this.patchCount == other.patchCount;
+    }
+
+    @Override
+    public String toString() {
+        return this.key + "=" +
+            (this.isSuccess() ?
+                this.value.get() :
+                this.error.isPresent() ?
+                    this.error.get() :
+                    this.violations) +
+            " x" + this.patchCount;
+    }
+}
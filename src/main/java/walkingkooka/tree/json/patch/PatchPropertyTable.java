@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable table of {@link PatchPropertyHandler} by {@link JsonPropertyName}, which may be shared by all instances
+ * of a {@link Patchable} type to dispatch each patch property with a single hash lookup.
+ * <br>
+ * The {@link PatchSchema} decides which properties are known. Unknown properties are reported using
+ * {@link Patchable#unknownPropertyPresent(JsonPropertyName, JsonNode)}, immutable properties and properties without a
+ * handler using {@link Patchable#invalidPropertyPresent(JsonPropertyName, JsonNode)} and values of the wrong JSON type
+ * with an {@link IllegalArgumentException}.
+ */
+public final class PatchPropertyTable<T> {
+
+    /**
+     * A table without any handlers for the given schema.
+     */
+    public static <T> PatchPropertyTable<T> with(final PatchSchema<T> schema) {
+        Objects.requireNonNull(schema, "schema");
+
+        return new PatchPropertyTable<>(
+            schema,
+            Collections.emptyMap()
+        );
+    }
+
+    private PatchPropertyTable(final PatchSchema<T> schema,
+                               final Map<JsonPropertyName, PatchPropertyHandler<T>> handlers) {
+        super();
+        this.schema = schema;
+        this.handlers = handlers;
+    }
+
+    /**
+     * Returns a new table with the given handler added. The property must be patchable in the schema.
+     */
+    public PatchPropertyTable<T> handler(final JsonPropertyName property,
+                                         final PatchPropertyHandler<T> handler) {
+        this.schema.patchableOrFail(property);
+        Objects.requireNonNull(handler, "handler");
+
+        final Map<JsonPropertyName, PatchPropertyHandler<T>> handlers = new HashMap<>(this.handlers);
+        handlers.put(
+            property,
+            handler
+        );
+        return new PatchPropertyTable<>(
+            this.schema,
+            handlers
+        );
+    }
+
+    /**
+     * Applies each property of the JSON object patch to the value, using the handler for each property.
+     */
+    public T patch(final T value,
+                   final JsonNode patch,
+                   final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(value, "value");
+        Objects.requireNonNull(patch, "patch");
+        Objects.requireNonNull(context, "context");
+
+        final Map<JsonPropertyName, PatchPropertyHandler<T>> handlers = this.handlers;
+        T patched = value;
+
+        for (final JsonNode property : patch.objectOrFail().children()) {
+            final PatchPropertyHandler<T> handler = handlers.get(property.name());
+            final PatchViolation violation = this.schema.violation(
+                property,
+                null != handler
+            );
+            if (null != violation) {
+                throw violation.exception();
+            }
+
+            patched = handler.patch(
+                patched,
+                property,
+                context
+            );
+        }
+
+        return patched;
+    }
+
+    /**
+     * Validates all properties in a single pass, returning every violation without creating any exceptions. Object
+     * values of properties with a child schema are validated against that schema too, so a nested violation is also
+     * reported before any handler is called. If there are no violations the patch is applied and the result returned.
+     */
+    public PatchResult<T> tryPatch(final T value,
+                                   final JsonNode patch,
+                                   final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(value, "value");
+        Objects.requireNonNull(patch, "patch");
+        Objects.requireNonNull(context, "context");
+
+        final Map<JsonPropertyName, PatchPropertyHandler<T>> handlers = this.handlers;
+        final List<JsonNode> properties = patch.objectOrFail()
+            .children();
+        List<PatchViolation> violations = null;
+
+        for (final JsonNode property : properties) {
+            final PatchViolation violation = this.schema.violation(
+                property,
+                handlers.containsKey(property.name())
+            );
+
+            if (null != violation) {
+                if (null == violations) {
+                    violations = new ArrayList<>();
+                }
+                violations.add(violation);
+            } else {
+                violations = this.schema.childViolations(
+                    property,
+                    violations
+                );
+            }
+        }
+
+        final PatchResult<T> result;
+        if (null == violations) {
+            T patched = value;
+            for (final JsonNode property : properties) {
+                patched = handlers.get(property.name())
+                    .patch(
+                        patched,
+                        property,
+                        context
+                    );
+            }
+            result = PatchResult.success(patched);
+        } else {
+            result = PatchResult.failure(violations);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns true if the property is known by the schema, including immutable properties.
+     */
+    public boolean isKnown(final JsonPropertyName property) {
+        return this.schema.isKnown(property);
+    }
+
+    private final PatchSchema<T> schema;
+
+    private final Map<JsonPropertyName, PatchPropertyHandler<T>> handlers;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.handlers.keySet()
+            .toString();
+    }
+}
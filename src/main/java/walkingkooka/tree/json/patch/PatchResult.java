@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The result of validating and applying a patch without throwing, holding either the patched value or all the
+ * {@link PatchViolation violations} found.
+ */
+public final class PatchResult<T> {
+
+    public static <T> PatchResult<T> success(final T value) {
+        Objects.requireNonNull(value, "value");
+
+        return new PatchResult<>(
+            Optional.of(value),
+            Collections.emptyList()
+        );
+    }
+
+    public static <T> PatchResult<T> failure(final List<PatchViolation> violations) {
+        Objects.requireNonNull(violations, "violations");
+
+        final List<PatchViolation> copy = Collections.unmodifiableList(
+            new ArrayList<>(violations)
+        );
+        if (copy.isEmpty()) {
+            throw new IllegalArgumentException("Missing violations");
+        }
+
+        return new PatchResult<>(
+            Optional.empty(),
+            copy
+        );
+    }
+
+    private PatchResult(final Optional<T> value,
+                        final List<PatchViolation> violations) {
+        super();
+        this.value = value;
+        this.violations = violations;
+    }
+
+    public boolean isSuccess() {
+        return this.value.isPresent();
+    }
+
+    public Optional<T> value() {
+        return this.value;
+    }
+
+    private final Optional<T> value;
+
+    public List<PatchViolation> violations() {
+        return this.violations;
+    }
+
+    private final List<PatchViolation> violations;
+
+    /**
+     * Returns the value or throws the exception for the first violation.
+     */
+    public T valueOrFail() {
+        if (false == this.isSuccess()) {
+            throw this.violations.get(0)
+                .exception();
+        }
+        return this.value.get();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.value,
+            this.violations
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PatchResult &&
+                this.equals0((PatchResult<?>) other);
+    }
+
+    private boolean equals0(final PatchResult<?> other) {
+        return this.value.equals(other.value) &&
+            this.violations.equals(other.violations);
+    }
+
+    @Override
+    public String toString() {
+        return this.isSuccess() ?
+            this.value.get().toString() :
+            this.violations.toString();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.Objects;
+
+/**
+ * Memoizes the results of {@link Patchable#patch(JsonNode, JsonNodeUnmarshallContext)} in a bounded least recently
+ * used cache, keyed by the identity of the target and context and the value of the patch, so applying the same patch
+ * to the same immutable value again returns the previous result. Failed patches are not cached.
+ * <br>
+ * This is not itself a {@link Patchable}, as one cache serves many targets, each passed to
+ * {@link #patch(Patchable, JsonNode, JsonNodeUnmarshallContext)}.
+ */
+public final class PatchResultCache<T extends Patchable<T>> {
+
+    public static <T extends Patchable<T>> PatchResultCache<T> with(final int maxSize) {
+        return new PatchResultCache<>(
+            PatchLruCache.<JsonNodeCacheKey, T>with(maxSize)
+        );
+    }
+
+    private PatchResultCache(final PatchLruCache<JsonNodeCacheKey, T> cache) {
+        super();
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the cached result of patching the target, or applies the patch and caches the result.
+     */
+    public T patch(final T target,
+                   final JsonNode patch,
+                   final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(target, "target");
+        Objects.requireNonNull(patch, "patch");
+        Objects.requireNonNull(context, "context");
+
+        final JsonNodeCacheKey key = JsonNodeCacheKey.with(
+            target,
+            patch,
+            context
+        );
+
+        T patched = this.cache.get(key);
+        if (null == patched) {
+            patched = target.patch(
+                patch,
+                context
+            );
+            this.cache.put(
+                key,
+                patched
+            );
+        }
+
+        return patched;
+    }
+
+    /**
+     * The number of cached results.
+     */
+    public int size() {
+        return this.cache.size();
+    }
+
+    public long hitCount() {
+        return this.cache.hits();
+    }
+
+    public long missCount() {
+        return this.cache.misses();
+    }
+
+    public long evictionCount() {
+        return this.cache.evictions();
+    }
+
+    private final PatchLruCache<JsonNodeCacheKey, T> cache;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.cache.toString();
+    }
+}
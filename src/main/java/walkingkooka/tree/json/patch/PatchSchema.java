@@ -0,0 +1,292 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An immutable description of the patchable properties of a {@link Patchable} type, including the class of each value,
+ * properties that are immutable and properties holding nested {@link Patchable} children with their own schema.
+ * <br>
+ * A schema is intended to be built once and kept in a static field of the type it describes. It uses no reflection,
+ * so it is also available in GWT and J2CL. {@link #validate(JsonNode)} checks every property of a patch in a single
+ * pass, recursing into children, without applying it.
+ * <br>
+ * {@link PatchPropertyTable} and {@link PatchApplier} are built from a schema, which decides which properties are
+ * unknown, immutable or have a value of the wrong JSON type before their handlers or setters are called.
+ */
+public final class PatchSchema<T> {
+
+    /**
+     * Creates an empty schema for the given type, where every property is unknown.
+     */
+    public static <T> PatchSchema<T> with(final Class<T> type) {
+        Objects.requireNonNull(type, "type");
+
+        return new PatchSchema<>(
+            type,
+            Collections.emptyMap()
+        );
+    }
+
+    private PatchSchema(final Class<T> type,
+                        final Map<JsonPropertyName, PatchSchemaProperty> properties) {
+        super();
+        this.type = type;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns a new schema with a patchable property of the given value class. Values for {@link String},
+     * {@link Boolean} and the boxed number classes must be JSON strings, booleans or numbers respectively.
+     */
+    public PatchSchema<T> property(final JsonPropertyName property,
+                                   final Class<?> type) {
+        Objects.requireNonNull(type, "type");
+
+        return this.replace(
+            property,
+            PatchSchemaProperty.value(type)
+        );
+    }
+
+    /**
+     * Returns a new schema with a property that is known but may not be patched.
+     */
+    public PatchSchema<T> immutable(final JsonPropertyName property) {
+        return this.replace(
+            property,
+            PatchSchemaProperty.IMMUTABLE
+        );
+    }
+
+    /**
+     * Returns a new schema with a property holding a nested {@link Patchable} described by the given schema.
+     */
+    public PatchSchema<T> child(final JsonPropertyName property,
+                                final PatchSchema<?> schema) {
+        Objects.requireNonNull(schema, "schema");
+
+        return this.replace(
+            property,
+            PatchSchemaProperty.child(schema)
+        );
+    }
+
+    private PatchSchema<T> replace(final JsonPropertyName property,
+                                   final PatchSchemaProperty value) {
+        Objects.requireNonNull(property, "property");
+
+        final Map<JsonPropertyName, PatchSchemaProperty> properties = new LinkedHashMap<>(this.properties);
+        properties.put(
+            property,
+            value
+        );
+        return new PatchSchema<>(
+            this.type,
+            properties
+        );
+    }
+
+    /**
+     * The type described by this schema.
+     */
+    public Class<T> type() {
+        return this.type;
+    }
+
+    /**
+     * Returns true if the property is registered, including immutable properties.
+     */
+    public boolean isKnown(final JsonPropertyName property) {
+        return this.properties.containsKey(property);
+    }
+
+    /**
+     * Returns true if the property is registered as immutable.
+     */
+    public boolean isImmutable(final JsonPropertyName property) {
+        return PatchSchemaProperty.IMMUTABLE == this.properties.get(property);
+    }
+
+    /**
+     * Returns the value class of a patchable or child property.
+     */
+    public Optional<Class<?>> valueType(final JsonPropertyName property) {
+        final PatchSchemaProperty schemaProperty = this.properties.get(property);
+        return Optional.ofNullable(
+            null == schemaProperty ?
+                null :
+                schemaProperty.type
+        );
+    }
+
+    /**
+     * Returns the schema of a child property.
+     */
+    public Optional<PatchSchema<?>> childSchema(final JsonPropertyName property) {
+        final PatchSchemaProperty schemaProperty = this.properties.get(property);
+        return Optional.ofNullable(
+            null == schemaProperty ?
+                null :
+                schemaProperty.child
+        );
+    }
+
+    /**
+     * Checks every property of the JSON object patch, returning a {@link PatchViolation} for each unknown property,
+     * each immutable property as invalid and each value of the wrong JSON type as an invalid value. Child object values are validated against
+     * their schema. An empty list means the patch is valid.
+     */
+    public List<PatchViolation> validate(final JsonNode patch) {
+        Objects.requireNonNull(patch, "patch");
+
+        final List<PatchViolation> violations = new ArrayList<>();
+        this.validate(
+            patch,
+            violations
+        );
+        return Collections.unmodifiableList(violations);
+    }
+
+    private void validate(final JsonNode patch,
+                          final List<PatchViolation> violations) {
+        final Map<JsonPropertyName, PatchSchemaProperty> properties = this.properties;
+
+        for (final JsonNode property : patch.objectOrFail().children()) {
+            final PatchViolation violation = this.violation(
+                property,
+                true
+            );
+
+            if (null == violation) {
+                final PatchSchema<?> child = properties.get(property.name())
+                    .child;
+                if (null != child && property.isObject()) {
+                    child.validate(
+                        property,
+                        violations
+                    );
+                }
+            } else {
+                violations.add(violation);
+            }
+        }
+    }
+
+    /**
+     * Checks a single property without recursing into children, returning null if it is valid. Handled is false when
+     * the caller has no handler or setter for the property, which makes a patchable property invalid.
+     */
+    PatchViolation violation(final JsonNode property,
+                             final boolean handled) {
+        final JsonPropertyName name = property.name();
+        final PatchSchemaProperty schemaProperty = this.properties.get(name);
+
+        final PatchViolation violation;
+        if (null == schemaProperty) {
+            violation = PatchViolation.unknown(
+                name,
+                property
+            );
+        } else {
+            if (PatchSchemaProperty.IMMUTABLE == schemaProperty || false == handled) {
+                violation = PatchViolation.invalid(
+                    name,
+                    property
+                );
+            } else {
+                violation = schemaProperty.isValid(property) ?
+                    null :
+                    PatchViolation.invalidValue(
+                        name,
+                        property
+                    );
+            }
+        }
+
+        return violation;
+    }
+
+    /**
+     * Validates the object value of a valid property against its child schema if it has one, returning the violations
+     * with any found added. The list is created when null and a violation is found.
+     */
+    List<PatchViolation> childViolations(final JsonNode property,
+                                         final List<PatchViolation> violations) {
+        List<PatchViolation> all = violations;
+
+        final PatchSchema<?> child = this.properties.get(property.name())
+            .child;
+        if (null != child && property.isObject()) {
+            final List<PatchViolation> childViolations = child.validate(property);
+            if (false == childViolations.isEmpty()) {
+                if (null == all) {
+                    all = new ArrayList<>();
+                }
+                all.addAll(childViolations);
+            }
+        }
+
+        return all;
+    }
+
+    /**
+     * Fails if the property is unknown or immutable, used when registering a handler or setter.
+     */
+    void patchableOrFail(final JsonPropertyName property) {
+        Objects.requireNonNull(property, "property");
+
+        if (false == this.isKnown(property) || this.isImmutable(property)) {
+            throw new IllegalArgumentException("Property " + property + " is not patchable in " + this);
+        }
+    }
+
+    /**
+     * Validates the patch, reporting the first violation using {@link Patchable#unknownPropertyPresent(JsonPropertyName, JsonNode)}
+     * or {@link Patchable#invalidPropertyPresent(JsonPropertyName, JsonNode)}, and an invalid value with an
+     * {@link IllegalArgumentException}.
+     */
+    public void validateOrFail(final JsonNode patch) {
+        final List<PatchViolation> violations = this.validate(patch);
+        if (false == violations.isEmpty()) {
+            throw violations.get(0)
+                .exception();
+        }
+    }
+
+    private final Class<T> type;
+
+    private final Map<JsonPropertyName, PatchSchemaProperty> properties;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.type.getSimpleName() + this.properties;
+    }
+}
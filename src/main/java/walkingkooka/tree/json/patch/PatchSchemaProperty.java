@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+
+/**
+ * The metadata for a single property of a {@link PatchSchema}, computed once when the property is registered.
+ */
+final class PatchSchemaProperty {
+
+    /**
+     * The JSON value may be anything.
+     */
+    private final static int ANY = 0;
+
+    private final static int STRING = 1;
+
+    private final static int BOOLEAN = 2;
+
+    private final static int NUMBER = 3;
+
+    static PatchSchemaProperty value(final Class<?> type) {
+        return new PatchSchemaProperty(
+            type,
+            jsonKind(type),
+            null
+        );
+    }
+
+    /**
+     * Maps the value type to the JSON type it must be marshalled as, comparing classes directly because
+     * {@link Class#isAssignableFrom(Class)} is not available in GWT.
+     */
+    private static int jsonKind(final Class<?> type) {
+        final int kind;
+
+        if (String.class == type) {
+            kind = STRING;
+        } else if (Boolean.class == type) {
+            kind = BOOLEAN;
+        } else if (Byte.class == type || Short.class == type || Integer.class == type || Long.class == type ||
+            Float.class == type || Double.class == type || Number.class == type) {
+            kind = NUMBER;
+        } else {
+            kind = ANY;
+        }
+
+        return kind;
+    }
+
+    static PatchSchemaProperty child(final PatchSchema<?> schema) {
+        return new PatchSchemaProperty(
+            schema.type(),
+            ANY,
+            schema
+        );
+    }
+
+    /**
+     * A property that is known but may not be patched.
+     */
+    final static PatchSchemaProperty IMMUTABLE = new PatchSchemaProperty(
+        null,
+        ANY,
+        null
+    );
+
+    private PatchSchemaProperty(final Class<?> type,
+                                final int jsonKind,
+                                final PatchSchema<?> child) {
+        super();
+        this.type = type;
+        this.jsonKind = jsonKind;
+        this.child = child;
+    }
+
+    /**
+     * Returns true if the JSON is null or of the JSON type expected for the value type.
+     */
+    boolean isValid(final JsonNode value) {
+        final boolean valid;
+
+        if (value.isNull()) {
+            valid = true;
+        } else {
+            switch (this.jsonKind) {
+                case STRING:
+                    valid = value.isString();
+                    break;
+                case BOOLEAN:
+                    valid = value.isBoolean();
+                    break;
+                case NUMBER:
+                    valid = value.isNumber();
+                    break;
+                default:
+                    valid = true;
+                    break;
+            }
+        }
+
+        return valid;
+    }
+
+    final Class<?> type;
+
+    private final int jsonKind;
+
+    final PatchSchema<?> child;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return IMMUTABLE == this ?
+            "immutable" :
+            null != this.child ?
+                this.child.toString() :
+                this.type.getSimpleName();
+    }
+}
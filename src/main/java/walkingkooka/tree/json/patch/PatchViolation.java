@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.InvalidPropertyJsonNodeException;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+
+import java.util.Objects;
+
+/**
+ * An invalid, unknown or wrongly typed property found in a patch, which only creates the matching exception when
+ * {@link #exception()} is called.
+ */
+public final class PatchViolation {
+
+    private final static int INVALID = 0;
+
+    private final static int UNKNOWN = 1;
+
+    private final static int INVALID_VALUE = 2;
+
+    /**
+     * A property that is known but may not be patched, see {@link Patchable#invalidPropertyPresent(JsonPropertyName, JsonNode)}.
+     */
+    public static PatchViolation invalid(final JsonPropertyName property,
+                                         final JsonNode node) {
+        return with(
+            property,
+            node,
+            INVALID
+        );
+    }
+
+    /**
+     * A property that is not known, see {@link Patchable#unknownPropertyPresent(JsonPropertyName, JsonNode)}.
+     */
+    public static PatchViolation unknown(final JsonPropertyName property,
+                                         final JsonNode node) {
+        return with(
+            property,
+            node,
+            UNKNOWN
+        );
+    }
+
+    /**
+     * A property that may be patched, but whose value is not the JSON type expected by its {@link PatchSchema}.
+     */
+    public static PatchViolation invalidValue(final JsonPropertyName property,
+                                              final JsonNode node) {
+        return with(
+            property,
+            node,
+            INVALID_VALUE
+        );
+    }
+
+    private static PatchViolation with(final JsonPropertyName property,
+                                       final JsonNode node,
+                                       final int kind) {
+        Objects.requireNonNull(property, "property");
+        Objects.requireNonNull(node, "node");
+
+        return new PatchViolation(
+            property,
+            node,
+            kind
+        );
+    }
+
+    private PatchViolation(final JsonPropertyName property,
+                           final JsonNode node,
+                           final int kind) {
+        super();
+        this.property = property;
+        this.node = node;
+        this.kind = kind;
+    }
+
+    public JsonPropertyName property() {
+        return this.property;
+    }
+
+    private final JsonPropertyName property;
+
+    public JsonNode node() {
+        return this.node;
+    }
+
+    private final JsonNode node;
+
+    public boolean isInvalid() {
+        return INVALID == this.kind;
+    }
+
+    public boolean isUnknown() {
+        return UNKNOWN == this.kind;
+    }
+
+    public boolean isInvalidValue() {
+        return INVALID_VALUE == this.kind;
+    }
+
+    private final int kind;
+
+    /**
+     * Creates the exception that {@link Patchable} would have thrown for this violation, an invalid value is reported
+     * with an {@link IllegalArgumentException}.
+     */
+    public RuntimeException exception() {
+        final RuntimeException exception;
+
+        switch (this.kind) {
+            case UNKNOWN:
+                exception = new UnknownPropertyJsonNodeException(
+                    this.property,
+                    this.node
+                );
+                break;
+            case INVALID_VALUE:
+                exception = new IllegalArgumentException("Invalid value for property " + this.property + " " + this.node);
+                break;
+            default:
+                exception = new InvalidPropertyJsonNodeException(
+                    this.property,
+                    this.node
+                );
+                break;
+        }
+
+        return exception;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.property,
+            this.node,
+            this.kind
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PatchViolation &&
+                this.equals0((PatchViolation) other);
+    }
+
+    private boolean equals0(final PatchViolation other) {
+        return this.property.equals(other.property) &&
+            this.node.equals(other.node) &&
+            this.kind == other.kind;
+    }
+
+    @Override
+    public String toString() {
+        final String kind;
+
+        switch (this.kind) {
+            case UNKNOWN:
+                kind = "Unknown property ";
+                break;
+            case INVALID_VALUE:
+                kind = "Invalid value for property ";
+                break;
+            default:
+                kind = "Invalid property ";
+                break;
+        }
+
+        return kind + this.property + " " + this.node;
+    }
+}
@@ -17,12 +17,15 @@
 
 package walkingkooka.tree.json.patch;
 
+import walkingkooka.Cast;
 import walkingkooka.tree.json.InvalidPropertyJsonNodeException;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.JsonPropertyName;
 import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
+import java.util.Objects;
+
 /**
  * A Java interface, for types that support patching probably from the body of PATCH http request returning the updated result.
  */
@@ -34,6 +37,59 @@ public interface Patchable<T> {
     T patch(final JsonNode json,
             final JsonNodeUnmarshallContext context);
 
+    /**
+     * Accepts a JSON object along with the {@link PatchPlan} compiled from it. Types that dispatch using
+     * {@link PatchPlan#values(JsonNode)} should override this method, the default ignores the plan.
+     */
+    default T patch(final PatchPlan plan,
+                    final JsonNode json,
+                    final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(plan, "plan");
+
+        return this.patch(
+            json,
+            context
+        );
+    }
+
+    /**
+     * Applies the patch, returning this rather than the result when the two are equal, so callers that compare by
+     * identity, such as caches or parents holding this value, see a patch that changes nothing as no change at all.
+     * <br>
+     * Only {@link #equals(Object)} is trusted, no marshalled form of this value is required. Types that can detect a
+     * no-op patch cheaply should return this from {@link #patch(JsonNode, JsonNodeUnmarshallContext)}, avoiding the
+     * intermediate equal instance.
+     */
+    default T patchIfChanged(final JsonNode json,
+                             final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(json, "json");
+        Objects.requireNonNull(context, "context");
+
+        final T patched = this.patch(
+            json,
+            context
+        );
+
+        return this.equals(patched) ?
+            Cast.to(this) :
+            patched;
+    }
+
+    /**
+     * Applies many patches in order, merging consecutive object patches using a {@link PatchBatch} so fewer
+     * {@link #patch(JsonNode, JsonNodeUnmarshallContext)} calls are made. Object values are only merged recursively
+     * when this is a {@link MergePatchable}.
+     */
+    default T patchAll(final Iterable<JsonNode> patches,
+                       final JsonNodeUnmarshallContext context) {
+        return PatchBatch.with(this)
+            .addAll(patches)
+            .apply(
+                this,
+                context
+            );
+    }
+
     /**
      * Used to report an invalid property was encountered during a PATCH.
      */
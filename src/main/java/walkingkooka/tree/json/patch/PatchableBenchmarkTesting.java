@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+/**
+ * A mixin interface that adds performance regression tests to {@link PatchableTesting}, repeatedly applying
+ * {@link #createPatch()} to {@link #createPatchable()} after a warmup, and failing if the bytes allocated per patch
+ * exceed the given budget.
+ * <br>
+ * Allocation tests are skipped when the JVM cannot measure thread allocated bytes. Bytes allocated do not depend on
+ * the machine, but patches per second do, so the throughput test is skipped unless
+ * {@link #patchMinPatchesPerSecond()} is overridden to opt in, which is best done only for builds on dedicated
+ * machines.
+ */
+public interface PatchableBenchmarkTesting<T extends Patchable<T>> extends PatchableTesting<T> {
+
+    @Test
+    default void testPatchAllocatedBytesPerPatch() {
+        this.patchAllocatedBytesPerPatchAndCheck(
+            this.createPatchable(),
+            this.createPatch(),
+            this.createPatchContext(),
+            this.patchMaxAllocatedBytesPerPatch()
+        );
+    }
+
+    @Test
+    default void testPatchThroughput() {
+        Assumptions.assumeTrue(
+            this.patchMinPatchesPerSecond() > 0,
+            "Throughput check not enabled"
+        );
+
+        this.patchThroughputAndCheck(
+            this.createPatchable(),
+            this.createPatch(),
+            this.createPatchContext(),
+            this.patchMinPatchesPerSecond()
+        );
+    }
+
+    /**
+     * The maximum average bytes allocated by a single patch.
+     */
+    long patchMaxAllocatedBytesPerPatch();
+
+    /**
+     * The minimum number of patches per second, the default of zero skips the throughput test.
+     */
+    default long patchMinPatchesPerSecond() {
+        return 0;
+    }
+
+    default void patchThroughputAndCheck(final T patchable,
+                                         final JsonNode patch,
+                                         final JsonNodeUnmarshallContext context,
+                                         final long minPatchesPerSecond) {
+        this.patchRepeatedly(
+            patchable,
+            patch,
+            context,
+            this.patchWarmupCount()
+        );
+
+        final int count = this.patchMeasureCount();
+
+        final long start = System.nanoTime();
+        this.patchRepeatedly(
+            patchable,
+            patch,
+            context,
+            count
+        );
+        final long elapsed = Math.max(
+            1,
+            System.nanoTime() - start
+        );
+        final long patchesPerSecond = count * 1_000_000_000L / elapsed;
+
+        this.checkEquals(
+            true,
+            patchesPerSecond >= minPatchesPerSecond,
+            () -> patchable + " patch " + patch + " " + patchesPerSecond + " patches per second, minimum " + minPatchesPerSecond
+        );
+    }
+}
@@ -16,18 +16,24 @@
  */
 package walkingkooka.tree.json.patch;
 
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.test.Testing;
 import walkingkooka.tree.json.InvalidPropertyJsonNodeException;
 import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
 import walkingkooka.tree.json.JsonPropertyName;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -181,6 +187,243 @@ public interface PatchableTesting<T extends Patchable<T>> extends Testing {
         );
     }
 
+    default void patchAndCheckAllocations(final T before,
+                                          final String patch,
+                                          final T after,
+                                          final long maxBytes) {
+        this.patchAndCheckAllocations(
+            before,
+            JsonNode.parse(patch),
+            after,
+            maxBytes
+        );
+    }
+
+    default void patchAndCheckAllocations(final T before,
+                                          final JsonNode patch,
+                                          final T after,
+                                          final long maxBytes) {
+        this.patchAndCheckAllocations(
+            before,
+            patch,
+            this.createPatchContext(),
+            after,
+            maxBytes
+        );
+    }
+
+    /**
+     * Verifies the patch result like {@link #patchAndCheck(Patchable, JsonNode, JsonNodeUnmarshallContext, Patchable)},
+     * and then the bytes allocated per patch using {@link #patchAllocatedBytesPerPatchAndCheck(Patchable, JsonNode, JsonNodeUnmarshallContext, long)}.
+     * The result is always verified, after which the test is reported as skipped when the JVM does not support
+     * measuring thread allocated bytes.
+     */
+    default void patchAndCheckAllocations(final T before,
+                                          final JsonNode patch,
+                                          final JsonNodeUnmarshallContext context,
+                                          final T after,
+                                          final long maxBytes) {
+        this.patchAndCheck(
+            before,
+            patch,
+            context,
+            after
+        );
+        this.patchAllocatedBytesPerPatchAndCheck(
+            before,
+            patch,
+            context,
+            maxBytes
+        );
+    }
+
+    /**
+     * The number of patches applied before measuring, giving the JIT a chance to compile the patch path. The default
+     * keeps each check well under a second, so budgets should allow for a patch path that is not yet fully optimized,
+     * or this may be overridden with a larger count.
+     */
+    default int patchWarmupCount() {
+        return 2_000;
+    }
+
+    /**
+     * The number of patches applied while measuring.
+     */
+    default int patchMeasureCount() {
+        return 1_000;
+    }
+
+    /**
+     * Applies the patch {@link #patchWarmupCount()} times, then fails if the average bytes allocated by each of the
+     * next {@link #patchMeasureCount()} patches exceeds maxBytes. When the JVM cannot measure thread allocated bytes
+     * the assumption fails, so the calling test is reported as skipped rather than passing without checking.
+     */
+    default void patchAllocatedBytesPerPatchAndCheck(final T patchable,
+                                                     final JsonNode patch,
+                                                     final JsonNodeUnmarshallContext context,
+                                                     final long maxBytes) {
+        Assumptions.assumeTrue(
+            ThreadAllocatedBytes.isSupported(),
+            "Thread allocated bytes not supported"
+        );
+
+        this.patchRepeatedly(
+            patchable,
+            patch,
+            context,
+            this.patchWarmupCount()
+        );
+
+        final int count = this.patchMeasureCount();
+
+        final long start = ThreadAllocatedBytes.currentThread();
+        this.patchRepeatedly(
+            patchable,
+            patch,
+            context,
+            count
+        );
+        final long perPatch = (ThreadAllocatedBytes.currentThread() - start) / count;
+
+        this.checkEquals(
+            true,
+            perPatch <= maxBytes,
+            () -> patchable + " patch " + patch + " allocated " + perPatch + " bytes per patch, budget " + maxBytes
+        );
+    }
+
+    /**
+     * Applies the patch count times, returning a hash of the results so the JIT cannot eliminate the patching.
+     */
+    default int patchRepeatedly(final T patchable,
+                                final JsonNode patch,
+                                final JsonNodeUnmarshallContext context,
+                                final int count) {
+        int hash = 0;
+
+        for (int i = 0; i < count; i++) {
+            hash += System.identityHashCode(
+                patchable.patch(
+                    patch,
+                    context
+                )
+            );
+        }
+
+        return hash;
+    }
+
+    default void patchNoopAndCheck(final T before,
+                                   final String patch) {
+        this.patchNoopAndCheck(
+            before,
+            JsonNode.parse(patch)
+        );
+    }
+
+    default void patchNoopAndCheck(final T before,
+                                   final JsonNode patch) {
+        this.patchNoopAndCheck(
+            before,
+            patch,
+            this.createPatchContext()
+        );
+    }
+
+    /**
+     * Verifies that {@link Patchable#patchIfChanged(JsonNode, JsonNodeUnmarshallContext)} returns the same instance for
+     * a patch which does not change the value.
+     */
+    default void patchNoopAndCheck(final T before,
+                                   final JsonNode patch,
+                                   final JsonNodeUnmarshallContext context) {
+        assertSame(
+            before,
+            before.patchIfChanged(patch, context),
+            () -> before + " patchIfChanged " + patch + " should return same instance"
+        );
+    }
+
+    default <C extends Patchable<C>> void patchUntouchedChildrenAndCheck(final NestedPatchable<T, C> before,
+                                                                      final String patch) {
+        this.patchUntouchedChildrenAndCheck(
+            before,
+            JsonNode.parse(patch)
+        );
+    }
+
+    default <C extends Patchable<C>> void patchUntouchedChildrenAndCheck(final NestedPatchable<T, C> before,
+                                                                      final JsonNode patch) {
+        this.patchUntouchedChildrenAndCheck(
+            before,
+            patch,
+            this.createPatchContext()
+        );
+    }
+
+    /**
+     * Verifies that every child of a {@link NestedPatchable} that is not named by the patch is the same instance after
+     * patching.
+     */
+    default <C extends Patchable<C>> void patchUntouchedChildrenAndCheck(final NestedPatchable<T, C> before,
+                                                                      final JsonNode patch,
+                                                                      final JsonNodeUnmarshallContext context) {
+        final NestedPatchable<T, C> after = Cast.to(
+            before.patch(patch, context)
+        );
+        final Map<JsonPropertyName, C> afterChildren = after.nestedPatchables();
+        final JsonObject patchObject = patch.objectOrFail();
+
+        for (final Map.Entry<JsonPropertyName, C> beforeChild : before.nestedPatchables().entrySet()) {
+            final JsonPropertyName name = beforeChild.getKey();
+
+            if (false == patchObject.get(name).isPresent()) {
+                assertSame(
+                    beforeChild.getValue(),
+                    afterChildren.get(name),
+                    () -> before + " patch " + patch + " untouched child " + name + " should be same instance"
+                );
+            }
+        }
+    }
+
+    default void patchAllAndCheck(final T before,
+                                  final List<JsonNode> patches,
+                                  final T after) {
+        this.patchAllAndCheck(
+            before,
+            patches,
+            this.createPatchContext(),
+            after
+        );
+    }
+
+    /**
+     * Verifies that {@link Patchable#patchAll(Iterable, JsonNodeUnmarshallContext)} returns the expected result, which
+     * must also equal applying each patch one at a time.
+     */
+    default void patchAllAndCheck(final T before,
+                                  final List<JsonNode> patches,
+                                  final JsonNodeUnmarshallContext context,
+                                  final T after) {
+        T patched = before;
+        for (final JsonNode patch : patches) {
+            patched = patched.patch(patch, context);
+        }
+
+        this.checkEquals(
+            after,
+            patched,
+            () -> before + " patch one at a time " + patches
+        );
+
+        this.checkEquals(
+            after,
+            before.patchAll(patches, context),
+            () -> before + " patchAll " + patches
+        );
+    }
+
     default void patchInvalidPropertyFails(final String patch,
                                            final String propertyName,
                                            final JsonNode node) {
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * Reads a JSON object patch from a {@link Reader}, parsing and dispatching each top level property to a
+ * {@link StreamingPatchable} as soon as it is read. Characters are read one at a time and only the text of the current
+ * property value is held, so memory is bounded by the largest single property value rather than the whole patch.
+ * Callers reading from a stream or socket should supply a buffered {@link Reader}.
+ * <br>
+ * Only top level properties are streamed. A property whose value is an object or array is buffered and parsed whole
+ * into a single {@link JsonNode} before being given to {@link StreamingPatchable#patchProperty(JsonPropertyName, JsonNode, JsonNodeUnmarshallContext)},
+ * so a patch holding one large nested object gains nothing over {@link JsonNode#parse(String)}.
+ */
+public final class StreamingPatchReader {
+
+    /**
+     * Reads the JSON object patch text, calling {@link StreamingPatchable#patchProperty(JsonPropertyName, JsonNode, JsonNodeUnmarshallContext)}
+     * for each property in order, returning the final result.
+     */
+    public static <T extends StreamingPatchable<T>> T patch(final T patchable,
+                                                            final CharSequence text,
+                                                            final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(text, "text");
+
+        return patch(
+            patchable,
+            new StringReader(
+                text.toString()
+            ),
+            context
+        );
+    }
+
+    /**
+     * Reads the JSON object patch from the {@link Reader} until the end of input, calling
+     * {@link StreamingPatchable#patchProperty(JsonPropertyName, JsonNode, JsonNodeUnmarshallContext)} for each property
+     * in order, returning the final result. The reader is not closed.
+     */
+    public static <T extends StreamingPatchable<T>> T patch(final T patchable,
+                                                            final Reader reader,
+                                                            final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(patchable, "patchable");
+        Objects.requireNonNull(reader, "reader");
+        Objects.requireNonNull(context, "context");
+
+        return new StreamingPatchReader(reader)
+            .read(
+                patchable,
+                context
+            );
+    }
+
+    private StreamingPatchReader(final Reader reader) {
+        super();
+        this.reader = reader;
+    }
+
+    private <T extends StreamingPatchable<T>> T read(final T patchable,
+                                                     final JsonNodeUnmarshallContext context) {
+        T patched = patchable;
+
+        this.skipWhitespace();
+        this.expect('{');
+        this.skipWhitespace();
+
+        if (this.peek() == '}') {
+            this.advance();
+        } else {
+            for (; ; ) {
+                this.skipWhitespace();
+                final JsonPropertyName property = JsonPropertyName.with(
+                    this.string()
+                );
+                this.skipWhitespace();
+                this.expect(':');
+                this.skipWhitespace();
+
+                this.value = new StringBuilder();
+                this.skipValue();
+                final String value = this.value.toString();
+                this.value = null;
+
+                patched = patched.patchProperty(
+                    property,
+                    JsonNode.parse(value),
+                    context
+                );
+
+                this.skipWhitespace();
+                if (this.peek() == ',') {
+                    this.advance();
+                    continue;
+                }
+                this.expect('}');
+                break;
+            }
+        }
+
+        this.skipWhitespace();
+        if (EOF != this.peekOrEof()) {
+            this.invalidCharacter();
+        }
+
+        return patched;
+    }
+
+    /**
+     * Reads a string, processing any escape sequences.
+     */
+    private String string() {
+        this.expect('"');
+
+        final StringBuilder b = new StringBuilder();
+
+        for (; ; ) {
+            final char c = this.next();
+            if ('"' == c) {
+                break;
+            }
+            if ('\\' != c) {
+                b.append(c);
+                continue;
+            }
+
+            final char escaped = this.next();
+            switch (escaped) {
+                case 'b':
+                    b.append('\b');
+                    break;
+                case 'f':
+                    b.append('\f');
+                    break;
+                case 'n':
+                    b.append('\n');
+                    break;
+                case 'r':
+                    b.append('\r');
+                    break;
+                case 't':
+                    b.append('\t');
+                    break;
+                case 'u':
+                    int unicode = 0;
+                    for (int i = 0; i < 4; i++) {
+                        final int digit = Character.digit(this.peek(), 16);
+                        if (-1 == digit) {
+                            this.invalidCharacter();
+                        }
+                        this.advance();
+                        unicode = unicode * 16 + digit;
+                    }
+                    b.append((char) unicode);
+                    break;
+                default:
+                    b.append(escaped);
+                    break;
+            }
+        }
+
+        return b.toString();
+    }
+
+    /**
+     * Advances over a single value, including any nested arrays, objects and strings, leaving the actual parsing to
+     * {@link JsonNode#parse(String)}.
+     */
+    private void skipValue() {
+        int depth = 0;
+
+        do {
+            final char c = this.peek();
+            switch (c) {
+                case '"':
+                    this.skipString();
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    this.advance();
+                    break;
+                case '}':
+                case ']':
+                    if (0 == depth) {
+                        this.invalidCharacter();
+                    }
+                    depth--;
+                    this.advance();
+                    break;
+                case ',':
+                    if (0 == depth) {
+                        this.invalidCharacter();
+                    }
+                    this.advance();
+                    break;
+                default:
+                    this.advance();
+                    break;
+            }
+        } while (depth > 0 || this.isValueCharacter());
+    }
+
+    /**
+     * Returns true if the next character continues a top level literal such as a number, true, false or null.
+     */
+    private boolean isValueCharacter() {
+        final int c = this.peekOrEof();
+        return EOF != c && ',' != c && '}' != c && false == Character.isWhitespace(c);
+    }
+
+    private void skipString() {
+        this.expect('"');
+
+        for (; ; ) {
+            final char c = this.next();
+            if ('"' == c) {
+                break;
+            }
+            if ('\\' == c) {
+                this.next();
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        for (; ; ) {
+            final int c = this.peekOrEof();
+            if (EOF == c || false == Character.isWhitespace(c)) {
+                break;
+            }
+            this.advance();
+        }
+    }
+
+    private void expect(final char c) {
+        if (this.peek() != c) {
+            this.invalidCharacter();
+        }
+        this.advance();
+    }
+
+    private char next() {
+        final char c = this.peek();
+        this.advance();
+        return c;
+    }
+
+    private char peek() {
+        final int c = this.peekOrEof();
+        if (EOF == c) {
+            throw new IllegalArgumentException("Missing end of patch at " + this.position);
+        }
+        return (char) c;
+    }
+
+    /**
+     * Returns the next character without consuming it, or {@link #EOF} at the end of input.
+     */
+    private int peekOrEof() {
+        if (NONE == this.next) {
+            try {
+                this.next = this.reader.read();
+            } catch (final IOException cause) {
+                throw new UncheckedIOException(cause);
+            }
+        }
+        return this.next;
+    }
+
+    /**
+     * Consumes the peeked character, adding it to the current property value if one is being read.
+     */
+    private void advance() {
+        final StringBuilder value = this.value;
+        if (null != value) {
+            value.append((char) this.next);
+        }
+        this.next = NONE;
+        this.position++;
+    }
+
+    private void invalidCharacter() {
+        throw new IllegalArgumentException(
+            "Invalid character " + this.peek() + " at " + this.position
+        );
+    }
+
+    private final static int EOF = -1;
+
+    /**
+     * Marks that no character has been peeked.
+     */
+    private final static int NONE = -2;
+
+    private final Reader reader;
+
+    private int next = NONE;
+
+    /**
+     * The number of characters consumed.
+     */
+    private int position;
+
+    /**
+     * The text of the property value being read, or null when between values.
+     */
+    private StringBuilder value;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "position=" + this.position;
+    }
+}
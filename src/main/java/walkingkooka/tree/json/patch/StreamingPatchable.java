@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+/**
+ * A type that may be patched one property at a time, as each property is read by a {@link StreamingPatchReader}, without
+ * first building a {@link JsonNode} for the entire patch. Nested values are not streamed and arrive whole as the
+ * property value.
+ */
+public interface StreamingPatchable<T extends StreamingPatchable<T>> {
+
+    /**
+     * Accepts a single patch property and its value returning the result.
+     */
+    T patchProperty(final JsonPropertyName property,
+                    final JsonNode value,
+                    final JsonNodeUnmarshallContext context);
+}
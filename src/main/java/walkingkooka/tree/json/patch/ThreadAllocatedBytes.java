@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads the bytes allocated by the current thread using {@link com.sun.management.ThreadMXBean}, when supported by the JVM.
+ */
+final class ThreadAllocatedBytes {
+
+    /**
+     * Returns true if the JVM supports and has enabled measuring thread allocated bytes.
+     */
+    static boolean isSupported() {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        return threads instanceof com.sun.management.ThreadMXBean &&
+            ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported() &&
+            ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Returns the total bytes allocated by the current thread so far.
+     */
+    static long currentThread() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+            .getThreadAllocatedBytes(
+                Thread.currentThread()
+                    .getId()
+            );
+    }
+
+    /**
+     * Stop creation
+     */
+    private ThreadAllocatedBytes() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class AtomicPatchableTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> AtomicPatchable.with(null)
+        );
+    }
+
+    @Test
+    public void testPatchNullPatchFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> AtomicPatchable.with(new TestCounter(0, null))
+                .patch(null, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testPatchNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> AtomicPatchable.with(new TestCounter(0, null))
+                .patch(JsonNode.number(1), null)
+        );
+    }
+
+    @Test
+    public void testPatch() {
+        final AtomicPatchable<TestCounter> atomic = AtomicPatchable.with(new TestCounter(1, null));
+
+        final TestCounter patched = atomic.patch(
+            JsonNode.number(2),
+            CONTEXT
+        );
+        this.checkEquals(
+            3,
+            patched.value,
+            "value"
+        );
+        assertSame(
+            patched,
+            atomic.get(),
+            "get"
+        );
+        this.checkEquals(
+            1L,
+            atomic.patchCount(),
+            "patchCount"
+        );
+        this.checkEquals(
+            0L,
+            atomic.conflictCount(),
+            "conflictCount"
+        );
+    }
+
+    @Test
+    public void testPatchNoop() {
+        final TestCounter counter = new TestCounter(1, null);
+        final AtomicPatchable<TestCounter> atomic = AtomicPatchable.with(counter);
+
+        assertSame(
+            counter,
+            atomic.patch(
+                JsonNode.number(0),
+                CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testPatchFailsUnchanged() {
+        final TestCounter counter = new TestCounter(1, null);
+        final AtomicPatchable<TestCounter> atomic = AtomicPatchable.with(counter);
+
+        assertThrows(
+            ClassCastException.class,
+            () -> atomic.patch(
+                JsonNode.string("!"),
+                CONTEXT
+            )
+        );
+        assertSame(
+            counter,
+            atomic.get()
+        );
+    }
+
+    @Test
+    public void testPatchConflictRetries() {
+        final AtomicPatchable<TestCounter>[] atomic = new AtomicPatchable[1];
+        atomic[0] = AtomicPatchable.with(
+            new TestCounter(
+                0,
+                () -> atomic[0].patch(JsonNode.number(10), CONTEXT)
+            )
+        );
+
+        this.checkEquals(
+            11,
+            atomic[0].patch(JsonNode.number(1), CONTEXT).value,
+            "value"
+        );
+        this.checkEquals(
+            2L,
+            atomic[0].patchCount(),
+            "patchCount"
+        );
+        this.checkEquals(
+            1L,
+            atomic[0].conflictCount(),
+            "conflictCount"
+        );
+        this.checkEquals(
+            1L,
+            atomic[0].maxRetries(),
+            "maxRetries"
+        );
+    }
+
+    @Test
+    public void testPatchConcurrent() throws Exception {
+        final int threads = 4;
+        final int patches = 10_000;
+
+        final AtomicPatchable<TestCounter> atomic = AtomicPatchable.with(new TestCounter(0, null));
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(
+                    executor.submit(() -> {
+                        for (int j = 0; j < patches; j++) {
+                            atomic.patch(JsonNode.number(1), CONTEXT);
+                        }
+                    })
+                );
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        this.checkEquals(
+            threads * patches,
+            atomic.get().value,
+            "value"
+        );
+        this.checkEquals(
+            (long) threads * patches,
+            atomic.patchCount(),
+            "patchCount"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            "123",
+            AtomicPatchable.with(new TestCounter(123, null))
+                .toString()
+        );
+    }
+
+    /**
+     * Adds the patch number to its value, running the hook once before the first patch.
+     */
+    static final class TestCounter implements Patchable<TestCounter> {
+
+        TestCounter(final int value,
+                    final Runnable hook) {
+            this.value = value;
+            this.hook = hook;
+        }
+
+        @Override
+        public TestCounter patch(final JsonNode json,
+                                 final JsonNodeUnmarshallContext context) {
+            final Runnable hook = this.hook;
+            this.hook = null;
+            if (null != hook) {
+                hook.run();
+            }
+
+            final int add = json.numberOrFail()
+                .intValue();
+            return 0 == add ?
+                this :
+                new TestCounter(
+                    this.value + add,
+                    null
+                );
+        }
+
+        final int value;
+
+        private Runnable hook;
+
+        @Override
+        public String toString() {
+            return String.valueOf(this.value);
+        }
+    }
+}
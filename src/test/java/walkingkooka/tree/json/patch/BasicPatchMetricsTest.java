@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class BasicPatchMetricsTest implements Testing {
+
+    private final static JsonPropertyName PROPERTY = JsonPropertyName.with("property");
+
+    @Test
+    public void testPropertyNullTypeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BasicPatchMetrics.empty().property(null, PROPERTY)
+        );
+    }
+
+    @Test
+    public void testPropertyCountNullPropertyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BasicPatchMetrics.empty().propertyCount(String.class, null)
+        );
+    }
+
+    @Test
+    public void testCounts() {
+        final BasicPatchMetrics metrics = BasicPatchMetrics.empty();
+
+        metrics.property(String.class, PROPERTY);
+        metrics.property(String.class, PROPERTY);
+        metrics.property(Integer.class, PROPERTY);
+        metrics.success(String.class, 10);
+        metrics.invalidProperty(String.class, PROPERTY, 20);
+        metrics.unknownProperty(String.class, PROPERTY, 30);
+        metrics.failure(String.class, new RuntimeException(), 40);
+        metrics.failure(String.class, new RuntimeException(), 50);
+
+        this.checkEquals(2L, metrics.propertyCount(String.class, PROPERTY), "String propertyCount");
+        this.checkEquals(1L, metrics.propertyCount(Integer.class, PROPERTY), "Integer propertyCount");
+        this.checkEquals(0L, metrics.propertyCount(Long.class, PROPERTY), "Long propertyCount");
+        this.checkEquals(1L, metrics.successCount(String.class), "successCount");
+        this.checkEquals(1L, metrics.invalidPropertyCount(String.class), "invalidPropertyCount");
+        this.checkEquals(1L, metrics.unknownPropertyCount(String.class), "unknownPropertyCount");
+        this.checkEquals(2L, metrics.failureCount(String.class), "failureCount");
+        this.checkEquals(5L, metrics.latency(String.class).count(), "latency count");
+        this.checkEquals(0L, metrics.latency(Integer.class).count(), "Integer latency count");
+    }
+
+    @Test
+    public void testCountsUnknownTypeNotCreated() {
+        final BasicPatchMetrics metrics = BasicPatchMetrics.empty();
+
+        this.checkEquals(0L, metrics.propertyCount(String.class, PROPERTY), "propertyCount");
+        this.checkEquals(0L, metrics.successCount(String.class), "successCount");
+        this.checkEquals(0L, metrics.invalidPropertyCount(String.class), "invalidPropertyCount");
+        this.checkEquals(0L, metrics.unknownPropertyCount(String.class), "unknownPropertyCount");
+        this.checkEquals(0L, metrics.failureCount(String.class), "failureCount");
+        this.checkEquals(0L, metrics.latency(String.class).count(), "latency count");
+
+        this.checkEquals(
+            "{}",
+            metrics.toString()
+        );
+    }
+
+    @Test
+    public void testConcurrentCounts() throws Exception {
+        final BasicPatchMetrics metrics = BasicPatchMetrics.empty();
+        final int threadCount = 4;
+        final int count = 10_000;
+
+        final Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(
+                () -> {
+                    for (int j = 0; j < count; j++) {
+                        metrics.property(String.class, PROPERTY);
+                        metrics.success(String.class, j);
+                    }
+                }
+            );
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        this.checkEquals((long) threadCount * count, metrics.propertyCount(String.class, PROPERTY), "propertyCount");
+        this.checkEquals((long) threadCount * count, metrics.successCount(String.class), "successCount");
+        this.checkEquals((long) threadCount * count, metrics.latency(String.class).count(), "latency count");
+    }
+}
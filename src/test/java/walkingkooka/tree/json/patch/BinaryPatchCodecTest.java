@@ -0,0 +1,370 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class BinaryPatchCodecTest implements Testing {
+
+    private final static JsonPropertyName COLOR = JsonPropertyName.with("color");
+
+    private final static JsonPropertyName WIDTH = JsonPropertyName.with("width");
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    @Test
+    public void testWithNullDictionaryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BinaryPatchCodec.with(null)
+        );
+    }
+
+    @Test
+    public void testWithDuplicateDictionaryFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> BinaryPatchCodec.with(
+                Lists.of(COLOR, COLOR)
+            )
+        );
+    }
+
+    @Test
+    public void testEncodeNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCodec()
+                .encode(null)
+        );
+    }
+
+    @Test
+    public void testDecodeNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCodec()
+                .decode(null)
+        );
+    }
+
+    @Test
+    public void testRoundtripNull() {
+        this.roundtripAndCheck("null");
+    }
+
+    @Test
+    public void testRoundtripBooleans() {
+        this.roundtripAndCheck("[true, false]");
+    }
+
+    @Test
+    public void testRoundtripNumbers() {
+        this.roundtripAndCheck("[0, 1, -1.5, 123456789, 1.25e100]");
+    }
+
+    @Test
+    public void testRoundtripIntegers() {
+        this.roundtripAndCheck(
+            JsonNode.array()
+                .setChildren(
+                    Lists.of(
+                        JsonNode.number(-1),
+                        JsonNode.number(63),
+                        JsonNode.number(-64),
+                        JsonNode.number(1L << 53),
+                        JsonNode.number(Long.MIN_VALUE),
+                        JsonNode.number(0x1p63)
+                    )
+                )
+        );
+    }
+
+    @Test
+    public void testIntegerSmallerThanDouble() {
+        this.checkEquals(
+            2,
+            this.createCodec()
+                .encode(JsonNode.number(-64))
+                .length
+        );
+    }
+
+    @Test
+    public void testNegativeZeroEncodedAsDouble() {
+        this.checkEquals(
+            9,
+            this.createCodec()
+                .encode(JsonNode.number(-0.0))
+                .length
+        );
+    }
+
+    @Test
+    public void testRoundtripNestedMaxDepth() {
+        this.roundtripAndCheck(
+            nested(BinaryPatchCodec.MAX_DEPTH)
+        );
+    }
+
+    @Test
+    public void testEncodeNestedTooDeepFails() {
+        final JsonNode nested = nested(BinaryPatchCodec.MAX_DEPTH + 1);
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createCodec()
+                .encode(nested)
+        );
+    }
+
+    @Test
+    public void testDecodeNestedTooDeepFails() {
+        final byte[] encoded = new byte[100_000];
+        for (int i = 0; i < encoded.length; i += 2) {
+            encoded[i] = 5; // ARRAY
+            encoded[i + 1] = 1;
+        }
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createCodec()
+                .decode(ByteBuffer.wrap(encoded))
+        );
+    }
+
+    @Test
+    public void testDecodeInvalidCountFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createCodec()
+                .decode(ByteBuffer.wrap(new byte[]{5, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F}))
+        );
+    }
+
+    @Test
+    public void testDecodeNewNameAfterDictionary() {
+        final BinaryPatchCodec codec = this.createCodec();
+
+        // new name "a", then a reference to it which is one more than its index after the two dictionary names
+        this.checkEquals(
+            JsonNode.parse("{\"a\": {\"a\": true}}"),
+            codec.decode(
+                ByteBuffer.wrap(new byte[]{6, 1, 0, 1, 'a', 6, 1, 3, 2})
+            )
+        );
+    }
+
+    @Test
+    public void testRoundtripString() {
+        this.roundtripAndCheck("\"abc \\u00e9\\u4e2d\"");
+    }
+
+    @Test
+    public void testRoundtripObjectDictionaryNames() {
+        this.roundtripAndCheck("{\"color\": \"red\", \"width\": 2}");
+    }
+
+    @Test
+    public void testRoundtripObjectNewNames() {
+        this.roundtripAndCheck("{\"a\": {\"a\": 1, \"b\": {\"a\": null}}, \"color\": [1, {\"b\": 2}]}");
+    }
+
+    @Test
+    public void testRoundtripLongString() {
+        final char[] chars = new char[1000];
+        Arrays.fill(chars, 'x');
+
+        this.roundtripAndCheck(
+            JsonNode.object()
+                .set(COLOR, JsonNode.string(new String(chars)))
+        );
+    }
+
+    @Test
+    public void testDictionaryNameSmallerThanNew() {
+        final BinaryPatchCodec codec = this.createCodec();
+
+        final int dictionary = codec.encode(JsonNode.parse("{\"color\": 1}")).length;
+        final int inline = codec.encode(JsonNode.parse("{\"colour\": 1}")).length;
+
+        this.checkEquals(
+            true,
+            dictionary + 6 < inline,
+            () -> "dictionary " + dictionary + " inline " + inline
+        );
+    }
+
+    @Test
+    public void testRepeatedNewNameWrittenOnce() {
+        final BinaryPatchCodec codec = BinaryPatchCodec.with(Lists.empty());
+
+        final int once = codec.encode(JsonNode.parse("{\"abcdef\": {}}")).length;
+        final int twice = codec.encode(JsonNode.parse("{\"abcdef\": {\"abcdef\": 1}}")).length;
+
+        this.checkEquals(
+            true,
+            twice - once < 11,
+            () -> "once " + once + " twice " + twice
+        );
+    }
+
+    @Test
+    public void testDecodeAdvancesPosition() {
+        final BinaryPatchCodec codec = this.createCodec();
+        final byte[] first = codec.encode(JsonNode.parse("{\"color\": \"red\"}"));
+        final byte[] second = codec.encode(JsonNode.parse("{\"width\": 3}"));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(first.length + second.length);
+        buffer.put(first)
+            .put(second)
+            .flip();
+
+        this.checkEquals(
+            JsonNode.parse("{\"color\": \"red\"}"),
+            codec.decode(buffer),
+            "first"
+        );
+        this.checkEquals(
+            JsonNode.parse("{\"width\": 3}"),
+            codec.decode(buffer),
+            "second"
+        );
+        this.checkEquals(
+            0,
+            buffer.remaining(),
+            "remaining"
+        );
+    }
+
+    @Test
+    public void testDecodeDirectBuffer() {
+        final JsonNode patch = JsonNode.parse("{\"color\": \"red\", \"x\": [\"y\"]}");
+        final byte[] encoded = this.createCodec()
+            .encode(patch);
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(encoded.length);
+        buffer.put(encoded)
+            .flip();
+
+        this.checkEquals(
+            patch,
+            this.createCodec()
+                .decode(buffer)
+        );
+    }
+
+    @Test
+    public void testDecodeTruncatedFails() {
+        final byte[] encoded = this.createCodec()
+            .encode(JsonNode.parse("{\"color\": \"red\"}"));
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createCodec()
+                .decode(ByteBuffer.wrap(encoded, 0, encoded.length - 1))
+        );
+    }
+
+    @Test
+    public void testDecodeInvalidTagFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createCodec()
+                .decode(ByteBuffer.wrap(new byte[]{99}))
+        );
+    }
+
+    @Test
+    public void testDecodeInvalidPropertyReferenceFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createCodec()
+                .decode(ByteBuffer.wrap(new byte[]{6, 1, 9, 0}))
+        );
+    }
+
+    @Test
+    public void testPatch() {
+        final BinaryPatchCodec codec = this.createCodec();
+
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"color\": \"blue\", \"width\": 1}"),
+            codec.patch(
+                TestJsonObjectPatchable.parse("{\"color\": \"red\", \"width\": 1}"),
+                ByteBuffer.wrap(
+                    codec.encode(JsonNode.parse("{\"color\": \"blue\"}"))
+                ),
+                CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            Lists.of(COLOR, WIDTH).toString(),
+            this.createCodec().toString()
+        );
+    }
+
+    private void roundtripAndCheck(final String json) {
+        this.roundtripAndCheck(
+            JsonNode.parse(json)
+        );
+    }
+
+    private void roundtripAndCheck(final JsonNode patch) {
+        final BinaryPatchCodec codec = this.createCodec();
+
+        this.checkEquals(
+            patch,
+            codec.decode(
+                ByteBuffer.wrap(
+                    codec.encode(patch)
+                )
+            ),
+            () -> "roundtrip " + patch
+        );
+    }
+
+    private static JsonNode nested(final int depth) {
+        JsonNode nested = JsonNode.nullNode();
+        for (int i = 0; i < depth; i++) {
+            nested = JsonNode.array()
+                .appendChild(nested);
+        }
+        return nested;
+    }
+
+    private BinaryPatchCodec createCodec() {
+        return BinaryPatchCodec.with(
+            Lists.of(COLOR, WIDTH)
+        );
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CachingJsonNodeUnmarshallContextTest implements Testing {
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CachingJsonNodeUnmarshallContext.with(null, 1, Sets.of(String.class))
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> CachingJsonNodeUnmarshallContext.with(new PatchApplierTest.TestContext(), 0, Sets.of(String.class))
+        );
+    }
+
+    @Test
+    public void testWithNullTypesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CachingJsonNodeUnmarshallContext.with(new PatchApplierTest.TestContext(), 1, null)
+        );
+    }
+
+    @Test
+    public void testUnmarshallNullNodeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createContext(1)
+                .unmarshall(null, String.class)
+        );
+    }
+
+    @Test
+    public void testUnmarshallNullTypeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createContext(1)
+                .unmarshall(JsonNode.string("a"), null)
+        );
+    }
+
+    @Test
+    public void testUnmarshallCached() {
+        final PatchApplierTest.TestContext wrapped = new PatchApplierTest.TestContext();
+        final CachingJsonNodeUnmarshallContext context = this.createContext(wrapped, 10);
+
+        final String first = context.unmarshall(
+            JsonNode.string("red"),
+            String.class
+        );
+        this.checkEquals(
+            "red",
+            first
+        );
+
+        assertSame(
+            first,
+            context.unmarshall(
+                JsonNode.string("red"),
+                String.class
+            )
+        );
+
+        this.checkEquals(
+            1,
+            wrapped.unmarshallCount,
+            "unmarshallCount"
+        );
+        this.checkEquals(
+            1L,
+            context.hitCount(),
+            "hitCount"
+        );
+        this.checkEquals(
+            1L,
+            context.missCount(),
+            "missCount"
+        );
+        this.checkEquals(
+            1,
+            context.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testUnmarshallNotCacheableType() {
+        final PatchApplierTest.TestContext wrapped = new PatchApplierTest.TestContext();
+        final CachingJsonNodeUnmarshallContext context = this.createContext(wrapped, 10);
+
+        context.unmarshall(JsonNode.string("red"), CharSequence.class);
+        context.unmarshall(JsonNode.string("red"), CharSequence.class);
+
+        this.checkEquals(
+            2,
+            wrapped.unmarshallCount,
+            "unmarshallCount"
+        );
+        this.checkEquals(
+            0,
+            context.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testUnmarshallEvicts() {
+        final CachingJsonNodeUnmarshallContext context = this.createContext(2);
+
+        context.unmarshall(JsonNode.string("a"), String.class);
+        context.unmarshall(JsonNode.string("b"), String.class);
+        context.unmarshall(JsonNode.string("c"), String.class);
+
+        this.checkEquals(
+            2,
+            context.size(),
+            "size"
+        );
+        this.checkEquals(
+            1L,
+            context.evictionCount(),
+            "evictionCount"
+        );
+    }
+
+    @Test
+    public void testIsCacheable() {
+        final CachingJsonNodeUnmarshallContext context = this.createContext(1);
+
+        this.checkEquals(
+            true,
+            context.isCacheable(String.class),
+            "String"
+        );
+        this.checkEquals(
+            false,
+            context.isCacheable(CharSequence.class),
+            "CharSequence"
+        );
+    }
+
+    @Test
+    public void testJsonNodeUnmarshallContext() {
+        final PatchApplierTest.TestContext wrapped = new PatchApplierTest.TestContext();
+
+        assertSame(
+            wrapped,
+            this.createContext(wrapped, 1)
+                .jsonNodeUnmarshallContext()
+        );
+    }
+
+    private CachingJsonNodeUnmarshallContext createContext(final int maxSize) {
+        return this.createContext(
+            new PatchApplierTest.TestContext(),
+            maxSize
+        );
+    }
+
+    private CachingJsonNodeUnmarshallContext createContext(final PatchApplierTest.TestContext context,
+                                                           final int maxSize) {
+        return CachingJsonNodeUnmarshallContext.with(
+            context,
+            maxSize,
+            Sets.of(String.class)
+        );
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CoalescingPatchQueueTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    @Test
+    public void testOfferNullKeyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CoalescingPatchQueue.<String, TestJsonObjectPatchable>empty()
+                .offer(null, JsonNode.object())
+        );
+    }
+
+    @Test
+    public void testOfferNullPatchFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CoalescingPatchQueue.<String, TestJsonObjectPatchable>empty()
+                .offer("key", null)
+        );
+    }
+
+    @Test
+    public void testDrainNullTargetsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CoalescingPatchQueue.<String, TestJsonObjectPatchable>empty()
+                .drain(null, CONTEXT, CoalescingPatchQueueTest::unexpectedFailure)
+        );
+    }
+
+    @Test
+    public void testDrainNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CoalescingPatchQueue.<String, TestJsonObjectPatchable>empty()
+                .drain(k -> null, null, CoalescingPatchQueueTest::unexpectedFailure)
+        );
+    }
+
+    @Test
+    public void testDrainNullFailuresFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CoalescingPatchQueue.<String, TestJsonObjectPatchable>empty()
+                .drain(k -> null, CONTEXT, null)
+        );
+    }
+
+    @Test
+    public void testDrainMissingTarget() {
+        final CoalescingPatchQueue<String, TestJsonObjectPatchable> queue = CoalescingPatchQueue.empty();
+        queue.offer("missing", JsonNode.parse("{\"a\": 1}"));
+        queue.offer("x", JsonNode.parse("{\"b\": 2}"));
+
+        final Map<String, String> failures = new LinkedHashMap<>();
+
+        final Map<String, TestJsonObjectPatchable> expected = new LinkedHashMap<>();
+        expected.put("x", TestJsonObjectPatchable.parse("{\"b\": 2}"));
+
+        this.checkEquals(
+            expected,
+            queue.drain(
+                k -> k.equals("x") ? TestJsonObjectPatchable.parse("{}") : null,
+                CONTEXT,
+                (k, cause) -> failures.put(k, cause.getMessage())
+            )
+        );
+
+        final Map<String, String> expectedFailures = new LinkedHashMap<>();
+        expectedFailures.put("missing", "Missing target for missing");
+
+        this.checkEquals(
+            expectedFailures,
+            failures,
+            "failures"
+        );
+        this.checkEquals(
+            1,
+            queue.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testDrainFailurePutBackAndRetried() {
+        final CoalescingPatchQueue<String, TestJsonObjectPatchable> queue = CoalescingPatchQueue.empty();
+        queue.offer("fail", JsonNode.parse("{\"a\": 1}"));
+        queue.offer("fail", JsonNode.parse("{\"b\": 2}"));
+        queue.offer("x", JsonNode.parse("{\"c\": 3}"));
+
+        final List<String> failures = new ArrayList<>();
+
+        final Map<String, TestJsonObjectPatchable> expected = new LinkedHashMap<>();
+        expected.put("x", TestJsonObjectPatchable.parse("{\"c\": 3}"));
+
+        this.checkEquals(
+            expected,
+            queue.drain(
+                k -> {
+                    if (k.equals("fail")) {
+                        throw new IllegalStateException("Fail!");
+                    }
+                    return TestJsonObjectPatchable.parse("{}");
+                },
+                CONTEXT,
+                (k, cause) -> failures.add(k + "=" + cause.getMessage())
+            )
+        );
+        this.checkEquals(
+            Lists.of("fail=Fail!"),
+            failures,
+            "failures"
+        );
+
+        // offered after the failed drain, applied after the put back patches
+        queue.offer("fail", JsonNode.parse("{\"a\": 4}"));
+
+        final Map<String, TestJsonObjectPatchable> retried = new LinkedHashMap<>();
+        retried.put("fail", TestJsonObjectPatchable.parse("{\"a\": 4, \"b\": 2}"));
+
+        this.checkEquals(
+            retried,
+            queue.drain(
+                k -> TestJsonObjectPatchable.parse("{}"),
+                CONTEXT,
+                CoalescingPatchQueueTest::unexpectedFailure
+            )
+        );
+        this.countsAndCheck(
+            queue,
+            4,
+            2,
+            2
+        );
+    }
+
+    @Test
+    public void testDrainConcurrentDrainSkipsDrainingKeys() {
+        final CoalescingPatchQueue<String, TestJsonObjectPatchable> queue = CoalescingPatchQueue.empty();
+        queue.offer("k", JsonNode.parse("{\"a\": 1}"));
+
+        final List<Map<String, TestJsonObjectPatchable>> concurrent = new ArrayList<>();
+
+        queue.drain(
+            k -> {
+                // another drain while this drain is applying k
+                queue.offer("k", JsonNode.parse("{\"a\": 2}"));
+                queue.offer("x", JsonNode.parse("{\"b\": 3}"));
+                concurrent.add(
+                    queue.drain(
+                        kk -> TestJsonObjectPatchable.parse("{}"),
+                        CONTEXT,
+                        CoalescingPatchQueueTest::unexpectedFailure
+                    )
+                );
+                throw new IllegalStateException("Fail!");
+            },
+            CONTEXT,
+            (k, cause) -> {
+            }
+        );
+
+        final Map<String, TestJsonObjectPatchable> drainedConcurrently = new LinkedHashMap<>();
+        drainedConcurrently.put("x", TestJsonObjectPatchable.parse("{\"b\": 3}"));
+
+        this.checkEquals(
+            Lists.of(drainedConcurrently),
+            concurrent,
+            "concurrent drain"
+        );
+
+        // the failed patch is put back ahead of the patch offered during the drain
+        final Map<String, TestJsonObjectPatchable> retried = new LinkedHashMap<>();
+        retried.put("k", TestJsonObjectPatchable.parse("{\"a\": 2}"));
+
+        this.checkEquals(
+            retried,
+            queue.drain(
+                k -> TestJsonObjectPatchable.parse("{}"),
+                CONTEXT,
+                CoalescingPatchQueueTest::unexpectedFailure
+            )
+        );
+    }
+
+    @Test
+    public void testRemoveNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CoalescingPatchQueue.<String, TestJsonObjectPatchable>empty()
+                .remove(null)
+        );
+    }
+
+    @Test
+    public void testRemove() {
+        final CoalescingPatchQueue<String, TestJsonObjectPatchable> queue = CoalescingPatchQueue.empty();
+        queue.offer("x", JsonNode.parse("{\"a\": 1}"));
+
+        this.checkEquals(
+            true,
+            queue.remove("x"),
+            "remove x"
+        );
+        this.checkEquals(
+            false,
+            queue.remove("x"),
+            "remove x again"
+        );
+        this.checkEquals(
+            0,
+            queue.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testDrainEmpty() {
+        this.checkEquals(
+            new LinkedHashMap<>(),
+            CoalescingPatchQueue.<String, TestJsonObjectPatchable>empty()
+                .drain(k -> null, CONTEXT, CoalescingPatchQueueTest::unexpectedFailure)
+        );
+    }
+
+    @Test
+    public void testOfferAndDrain() {
+        final CoalescingPatchQueue<String, TestJsonObjectPatchable> queue = CoalescingPatchQueue.empty();
+        queue.offer("x", JsonNode.parse("{\"a\": 1}"));
+        queue.offer("y", JsonNode.parse("{\"a\": 2}"));
+        queue.offer("x", JsonNode.parse("{\"b\": 3}"));
+        queue.offer("x", JsonNode.parse("{\"a\": 4}"));
+
+        this.checkEquals(
+            2,
+            queue.size(),
+            "size"
+        );
+
+        final TestJsonObjectPatchable x = TestJsonObjectPatchable.parse("{\"c\": 5}");
+        final TestJsonObjectPatchable y = TestJsonObjectPatchable.parse("{}");
+
+        final Map<String, TestJsonObjectPatchable> expected = new LinkedHashMap<>();
+        expected.put("x", TestJsonObjectPatchable.parse("{\"c\": 5, \"a\": 4, \"b\": 3}"));
+        expected.put("y", TestJsonObjectPatchable.parse("{\"a\": 2}"));
+
+        this.checkEquals(
+            expected,
+            queue.drain(
+                k -> k.equals("x") ? x : y,
+                CONTEXT,
+                CoalescingPatchQueueTest::unexpectedFailure
+            )
+        );
+
+        this.checkEquals(
+            1,
+            x.patchCount,
+            "x patchCount"
+        );
+        this.checkEquals(
+            0,
+            queue.size(),
+            "size after drain"
+        );
+        this.countsAndCheck(
+            queue,
+            4,
+            2,
+            2
+        );
+    }
+
+    @Test
+    public void testDrainMergePatchNotMerged() {
+        final CoalescingPatchQueue<String, TestJsonObjectPatchable> queue = CoalescingPatchQueue.mergePatch();
+        queue.offer("x", JsonNode.parse("{\"a\": null}"));
+        queue.offer("x", JsonNode.parse("{\"a\": {\"b\": 1}}"));
+
+        queue.drain(
+            k -> TestJsonObjectPatchable.parse("{}"),
+            CONTEXT,
+            CoalescingPatchQueueTest::unexpectedFailure
+        );
+
+        this.countsAndCheck(
+            queue,
+            2,
+            0,
+            2
+        );
+    }
+
+    @Test
+    public void testDrainMergePatchObjectValuesMerged() {
+        final CoalescingPatchQueue<String, TestJsonObjectPatchable> queue = CoalescingPatchQueue.mergePatch();
+        queue.offer("x", JsonNode.parse("{\"a\": {\"b\": 1}}"));
+        queue.offer("x", JsonNode.parse("{\"a\": {\"c\": 2}}"));
+
+        final Map<String, TestJsonObjectPatchable> expected = new LinkedHashMap<>();
+        expected.put("x", TestJsonObjectPatchable.parse("{\"a\": {\"b\": 1, \"c\": 2, \"d\": 3}}"));
+
+        this.checkEquals(
+            expected,
+            queue.drain(
+                k -> TestJsonObjectPatchable.parse("{\"a\": {\"d\": 3}}"),
+                CONTEXT,
+                CoalescingPatchQueueTest::unexpectedFailure
+            )
+        );
+
+        this.countsAndCheck(
+            queue,
+            2,
+            1,
+            1
+        );
+    }
+
+    @Test
+    public void testDrainObjectValuesReplaced() {
+        final CoalescingPatchQueue<String, TestJsonObjectPatchable> queue = CoalescingPatchQueue.empty();
+        queue.offer("x", JsonNode.parse("{\"a\": {\"b\": 1}}"));
+        queue.offer("x", JsonNode.parse("{\"a\": {\"c\": 2}}"));
+
+        final Map<String, TestJsonObjectPatchable> expected = new LinkedHashMap<>();
+        expected.put("x", TestJsonObjectPatchable.parse("{\"a\": {\"c\": 2}}"));
+
+        this.checkEquals(
+            expected,
+            queue.drain(
+                k -> TestJsonObjectPatchable.parse("{}"),
+                CONTEXT,
+                CoalescingPatchQueueTest::unexpectedFailure
+            )
+        );
+
+        this.countsAndCheck(
+            queue,
+            2,
+            1,
+            1
+        );
+    }
+
+    private static void unexpectedFailure(final String key,
+                                          final RuntimeException cause) {
+        throw new AssertionError("Unexpected failure " + key, cause);
+    }
+
+    private void countsAndCheck(final CoalescingPatchQueue<?, ?> queue,
+                                final long offered,
+                                final long merged,
+                                final long applied) {
+        this.checkEquals(
+            offered,
+            queue.offeredCount(),
+            "offeredCount"
+        );
+        this.checkEquals(
+            merged,
+            queue.mergedCount(),
+            "mergedCount"
+        );
+        this.checkEquals(
+            applied,
+            queue.appliedCount(),
+            "appliedCount"
+        );
+    }
+}
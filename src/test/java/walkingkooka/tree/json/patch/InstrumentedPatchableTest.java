@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class InstrumentedPatchableTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    private final static Class<?> TYPE = TestJsonObjectPatchable.class;
+
+    @Test
+    public void testWithNullPatchableFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> InstrumentedPatchable.with(null, BasicPatchMetrics.empty())
+        );
+    }
+
+    @Test
+    public void testWithNullMetricsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> InstrumentedPatchable.with(TestJsonObjectPatchable.parse("{}"), null)
+        );
+    }
+
+    @Test
+    public void testWithNoopMetrics() {
+        final TestJsonObjectPatchable patchable = TestJsonObjectPatchable.parse("{}");
+
+        assertSame(
+            patchable,
+            InstrumentedPatchable.with(
+                patchable,
+                PatchMetrics.noop()
+            )
+        );
+    }
+
+    @Test
+    public void testPatch() {
+        final BasicPatchMetrics metrics = BasicPatchMetrics.empty();
+        final Patchable<TestJsonObjectPatchable> patchable = InstrumentedPatchable.with(
+            TestJsonObjectPatchable.parse("{\"a\": 1}"),
+            metrics
+        );
+
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"a\": 2, \"b\": 3}"),
+            patchable.patch(
+                JsonNode.parse("{\"a\": 2, \"b\": 3}"),
+                CONTEXT
+            )
+        );
+        patchable.patch(
+            JsonNode.parse("{\"a\": 4}"),
+            CONTEXT
+        );
+
+        this.checkEquals(
+            2L,
+            metrics.propertyCount(TYPE, JsonPropertyName.with("a")),
+            "property a"
+        );
+        this.checkEquals(
+            1L,
+            metrics.propertyCount(TYPE, JsonPropertyName.with("b")),
+            "property b"
+        );
+        this.checkEquals(
+            2L,
+            metrics.successCount(TYPE),
+            "successCount"
+        );
+        this.checkEquals(
+            2L,
+            metrics.latency(TYPE).count(),
+            "latency count"
+        );
+    }
+
+    @Test
+    public void testWithMergePatchable() {
+        final Patchable<TestJsonObjectPatchable> patchable = InstrumentedPatchable.with(
+            (Patchable<TestJsonObjectPatchable>) TestJsonObjectPatchable.parse("{}"),
+            BasicPatchMetrics.empty()
+        );
+
+        this.checkEquals(
+            true,
+            patchable instanceof MergePatchable,
+            () -> patchable.getClass().getName()
+        );
+    }
+
+    @Test
+    public void testPatchAll() {
+        final BasicPatchMetrics metrics = BasicPatchMetrics.empty();
+        final TestJsonObjectPatchable wrapped = TestJsonObjectPatchable.parse("{\"a\": {\"b\": 1}}");
+        final MergePatchable<TestJsonObjectPatchable> patchable = InstrumentedPatchable.with(
+            wrapped,
+            metrics
+        );
+
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"a\": {\"b\": 2, \"c\": 3}}"),
+            patchable.patchAll(
+                Lists.of(
+                    JsonNode.parse("{\"a\": {\"b\": 2}}"),
+                    JsonNode.parse("{\"a\": {\"c\": 3}}")
+                ),
+                CONTEXT
+            )
+        );
+
+        this.checkEquals(
+            1,
+            wrapped.patchCount,
+            "patchCount"
+        );
+        this.checkEquals(
+            2L,
+            metrics.propertyCount(TYPE, JsonPropertyName.with("a")),
+            "property a"
+        );
+        this.checkEquals(
+            1L,
+            metrics.successCount(TYPE),
+            "successCount"
+        );
+    }
+
+    @Test
+    public void testPatchIfChanged() {
+        final BasicPatchMetrics metrics = BasicPatchMetrics.empty();
+        final TestJsonObjectPatchable wrapped = TestJsonObjectPatchable.parse("{\"a\": 1}");
+
+        assertSame(
+            wrapped,
+            InstrumentedPatchable.with(
+                wrapped,
+                metrics
+            ).patchIfChanged(
+                JsonNode.parse("{\"a\": 1}"),
+                CONTEXT
+            )
+        );
+        this.checkEquals(
+            1L,
+            metrics.successCount(TYPE),
+            "successCount"
+        );
+    }
+
+    @Test
+    public void testPatchWithPlan() {
+        final BasicPatchMetrics metrics = BasicPatchMetrics.empty();
+        final TestPlanPatchable patchable = new TestPlanPatchable();
+        final JsonNode patch = JsonNode.parse("{\"a\": 1}");
+
+        InstrumentedPatchable.with(
+            patchable,
+            metrics
+        ).patch(
+            PatchCompiler.with(JsonPropertyName.with("a"))
+                .compile(patch),
+            patch,
+            CONTEXT
+        );
+
+        this.checkEquals(
+            1,
+            patchable.planCount,
+            "planCount"
+        );
+        this.checkEquals(
+            1L,
+            metrics.propertyCount(TestPlanPatchable.class, JsonPropertyName.with("a")),
+            "property a"
+        );
+    }
+
+    static final class TestPlanPatchable implements Patchable<TestPlanPatchable> {
+
+        @Override
+        public TestPlanPatchable patch(final JsonNode json,
+                                       final JsonNodeUnmarshallContext context) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TestPlanPatchable patch(final PatchPlan plan,
+                                       final JsonNode json,
+                                       final JsonNodeUnmarshallContext context) {
+            this.planCount++;
+            return this;
+        }
+
+        int planCount;
+    }
+
+    @Test
+    public void testPatchFailures() {
+        final BasicPatchMetrics metrics = BasicPatchMetrics.empty();
+        final TestFailingPatchable patchable = new TestFailingPatchable();
+        final Patchable<Void> instrumented = InstrumentedPatchable.with(
+            patchable,
+            metrics
+        );
+
+        assertThrows(
+            UnknownPropertyJsonNodeException.class,
+            () -> instrumented.patch(JsonNode.parse("{\"unknown\": 1}"), CONTEXT)
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> instrumented.patch(JsonNode.parse("{\"invalid\": 1}"), CONTEXT)
+        );
+        assertThrows(
+            IllegalStateException.class,
+            () -> instrumented.patch(JsonNode.parse("{}"), CONTEXT)
+        );
+
+        final Class<?> type = TestFailingPatchable.class;
+        this.checkEquals(
+            1L,
+            metrics.unknownPropertyCount(type),
+            "unknownPropertyCount"
+        );
+        this.checkEquals(
+            1L,
+            metrics.invalidPropertyCount(type),
+            "invalidPropertyCount"
+        );
+        this.checkEquals(
+            1L,
+            metrics.failureCount(type),
+            "failureCount"
+        );
+        this.checkEquals(
+            0L,
+            metrics.successCount(type),
+            "successCount"
+        );
+        this.checkEquals(
+            3L,
+            metrics.latency(type).count(),
+            "latency count"
+        );
+    }
+
+    static final class TestFailingPatchable implements Patchable<Void> {
+
+        @Override
+        public Void patch(final JsonNode json,
+                          final JsonNodeUnmarshallContext context) {
+            for (final JsonNode property : json.children()) {
+                switch (property.name().value()) {
+                    case "unknown":
+                        Patchable.unknownPropertyPresent(property.name(), property);
+                        break;
+                    case "invalid":
+                        Patchable.invalidPropertyPresent(property.name(), property);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            throw new IllegalStateException("Failed");
+        }
+    }
+}
@@ -0,0 +1,603 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class JsonPatchOperationsTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    // pointer..........................................................................................................
+
+    @Test
+    public void testPointerEmpty() {
+        this.checkEquals(
+            Lists.empty(),
+            JsonPatchOperations.pointer("")
+        );
+    }
+
+    @Test
+    public void testPointerMissingSlashFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> JsonPatchOperations.pointer("a")
+        );
+    }
+
+    @Test
+    public void testPointerInvalidEscapeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> JsonPatchOperations.pointer("/a~2")
+        );
+    }
+
+    @Test
+    public void testPointerUnescapes() {
+        this.checkEquals(
+            Lists.of("a/b", "m~n", "", "0"),
+            JsonPatchOperations.pointer("/a~1b/m~0n//0")
+        );
+    }
+
+    // apply............................................................................................................
+
+    @Test
+    public void testApplyNullDocumentFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonPatchOperations.apply(null, JsonNode.array())
+        );
+    }
+
+    @Test
+    public void testApplyNullOperationsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonPatchOperations.apply(JsonNode.object(), null)
+        );
+    }
+
+    @Test
+    public void testApplyNotArrayFails() {
+        this.applyFails(
+            "{}",
+            "{}"
+        );
+    }
+
+    @Test
+    public void testApplyUnknownOpFails() {
+        this.applyFails(
+            "{}",
+            "[{\"op\": \"unknown\", \"path\": \"/a\"}]"
+        );
+    }
+
+    @Test
+    public void testApplyMissingPathFails() {
+        this.applyFails(
+            "{}",
+            "[{\"op\": \"add\", \"value\": 1}]"
+        );
+    }
+
+    @Test
+    public void testApplyMissingValueFails() {
+        this.applyFails(
+            "{}",
+            "[{\"op\": \"add\", \"path\": \"/a\"}]"
+        );
+    }
+
+    @Test
+    public void testAddObjectMember() {
+        this.applyAndCheck(
+            "{\"foo\": \"bar\"}",
+            "[{\"op\": \"add\", \"path\": \"/baz\", \"value\": \"qux\"}]",
+            "{\"baz\": \"qux\", \"foo\": \"bar\"}"
+        );
+    }
+
+    @Test
+    public void testAddArrayElement() {
+        this.applyAndCheck(
+            "{\"foo\": [\"bar\", \"baz\"]}",
+            "[{\"op\": \"add\", \"path\": \"/foo/1\", \"value\": \"qux\"}]",
+            "{\"foo\": [\"bar\", \"qux\", \"baz\"]}"
+        );
+    }
+
+    @Test
+    public void testAddArrayEnd() {
+        this.applyAndCheck(
+            "{\"foo\": [1, 2]}",
+            "[{\"op\": \"add\", \"path\": \"/foo/-\", \"value\": 3}]",
+            "{\"foo\": [1, 2, 3]}"
+        );
+    }
+
+    @Test
+    public void testAddNestedMember() {
+        this.applyAndCheck(
+            "{\"foo\": {\"bar\": 1}}",
+            "[{\"op\": \"add\", \"path\": \"/foo/child\", \"value\": {\"grandchild\": {}}}]",
+            "{\"foo\": {\"bar\": 1, \"child\": {\"grandchild\": {}}}}"
+        );
+    }
+
+    @Test
+    public void testAddToNonexistentTargetFails() {
+        this.applyFails(
+            "{\"foo\": \"bar\"}",
+            "[{\"op\": \"add\", \"path\": \"/baz/bat\", \"value\": \"qux\"}]"
+        );
+    }
+
+    @Test
+    public void testAddArrayIndexOutOfBoundsFails() {
+        this.applyFails(
+            "[1]",
+            "[{\"op\": \"add\", \"path\": \"/2\", \"value\": 3}]"
+        );
+    }
+
+    @Test
+    public void testAddArrayLeadingZeroFails() {
+        this.applyFails(
+            "[1, 2]",
+            "[{\"op\": \"add\", \"path\": \"/01\", \"value\": 3}]"
+        );
+    }
+
+    @Test
+    public void testAddRoot() {
+        this.applyAndCheck(
+            "{\"foo\": 1}",
+            "[{\"op\": \"add\", \"path\": \"\", \"value\": [1]}]",
+            "[1]"
+        );
+    }
+
+    @Test
+    public void testRemoveObjectMember() {
+        this.applyAndCheck(
+            "{\"baz\": \"qux\", \"foo\": \"bar\"}",
+            "[{\"op\": \"remove\", \"path\": \"/baz\"}]",
+            "{\"foo\": \"bar\"}"
+        );
+    }
+
+    @Test
+    public void testRemoveArrayElement() {
+        this.applyAndCheck(
+            "{\"foo\": [\"bar\", \"qux\", \"baz\"]}",
+            "[{\"op\": \"remove\", \"path\": \"/foo/1\"}]",
+            "{\"foo\": [\"bar\", \"baz\"]}"
+        );
+    }
+
+    @Test
+    public void testRemoveMissingFails() {
+        this.applyFails(
+            "{\"foo\": 1}",
+            "[{\"op\": \"remove\", \"path\": \"/bar\"}]"
+        );
+    }
+
+    @Test
+    public void testReplace() {
+        this.applyAndCheck(
+            "{\"baz\": \"qux\", \"foo\": \"bar\"}",
+            "[{\"op\": \"replace\", \"path\": \"/baz\", \"value\": \"boo\"}]",
+            "{\"baz\": \"boo\", \"foo\": \"bar\"}"
+        );
+    }
+
+    @Test
+    public void testReplaceArrayElement() {
+        this.applyAndCheck(
+            "[1, 2, 3]",
+            "[{\"op\": \"replace\", \"path\": \"/1\", \"value\": 9}]",
+            "[1, 9, 3]"
+        );
+    }
+
+    @Test
+    public void testReplaceMissingFails() {
+        this.applyFails(
+            "{\"foo\": 1}",
+            "[{\"op\": \"replace\", \"path\": \"/bar\", \"value\": 2}]"
+        );
+    }
+
+    @Test
+    public void testMove() {
+        this.applyAndCheck(
+            "{\"foo\": {\"bar\": \"baz\", \"waldo\": \"fred\"}, \"qux\": {\"corge\": \"grault\"}}",
+            "[{\"op\": \"move\", \"from\": \"/foo/waldo\", \"path\": \"/qux/thud\"}]",
+            "{\"foo\": {\"bar\": \"baz\"}, \"qux\": {\"corge\": \"grault\", \"thud\": \"fred\"}}"
+        );
+    }
+
+    @Test
+    public void testMoveArrayElement() {
+        this.applyAndCheck(
+            "{\"foo\": [\"all\", \"grass\", \"cows\", \"eat\"]}",
+            "[{\"op\": \"move\", \"from\": \"/foo/1\", \"path\": \"/foo/3\"}]",
+            "{\"foo\": [\"all\", \"cows\", \"eat\", \"grass\"]}"
+        );
+    }
+
+    @Test
+    public void testMoveIntoChildFails() {
+        this.applyFails(
+            "{\"foo\": {\"bar\": 1}}",
+            "[{\"op\": \"move\", \"from\": \"/foo\", \"path\": \"/foo/bar/baz\"}]"
+        );
+    }
+
+    @Test
+    public void testCopy() {
+        this.applyAndCheck(
+            "{\"foo\": {\"bar\": 1}}",
+            "[{\"op\": \"copy\", \"from\": \"/foo\", \"path\": \"/baz\"}]",
+            "{\"foo\": {\"bar\": 1}, \"baz\": {\"bar\": 1}}"
+        );
+    }
+
+    @Test
+    public void testTest() {
+        this.applyAndCheck(
+            "{\"baz\": \"qux\", \"foo\": [\"a\", 2, \"c\"]}",
+            "[{\"op\": \"test\", \"path\": \"/baz\", \"value\": \"qux\"}, {\"op\": \"test\", \"path\": \"/foo/1\", \"value\": 2}]",
+            "{\"baz\": \"qux\", \"foo\": [\"a\", 2, \"c\"]}"
+        );
+    }
+
+    @Test
+    public void testTestFails() {
+        this.applyFails(
+            "{\"baz\": \"qux\"}",
+            "[{\"op\": \"test\", \"path\": \"/baz\", \"value\": \"bar\"}]"
+        );
+    }
+
+    @Test
+    public void testEscapedPath() {
+        this.applyAndCheck(
+            "{\"a/b\": 1, \"m~n\": 2}",
+            "[{\"op\": \"replace\", \"path\": \"/a~1b\", \"value\": 3}, {\"op\": \"remove\", \"path\": \"/m~0n\"}]",
+            "{\"a/b\": 3}"
+        );
+    }
+
+    @Test
+    public void testApplyFailureUsesNoPartialResult() {
+        final JsonNode document = JsonNode.parse("{\"a\": 1}");
+
+        this.applyFails(
+            document.toString(),
+            "[{\"op\": \"add\", \"path\": \"/b\", \"value\": 2}, {\"op\": \"remove\", \"path\": \"/c\"}]"
+        );
+        this.checkEquals(
+            JsonNode.parse("{\"a\": 1}"),
+            document
+        );
+    }
+
+    // mergePatch.......................................................................................................
+
+    @Test
+    public void testMergePatchManyOperationsOneProperty() {
+        this.checkEquals(
+            JsonNode.parse("{\"style\": {\"color\": \"blue\", \"width\": null}}"),
+            JsonPatchOperations.mergePatch(
+                JsonNode.parse("{\"style\": {\"color\": \"red\", \"width\": 1}, \"text\": \"hello\"}"),
+                JsonNode.parse("[" +
+                    "{\"op\": \"replace\", \"path\": \"/style/color\", \"value\": \"green\"}," +
+                    "{\"op\": \"replace\", \"path\": \"/style/color\", \"value\": \"blue\"}," +
+                    "{\"op\": \"remove\", \"path\": \"/style/width\"}," +
+                    "{\"op\": \"add\", \"path\": \"/text\", \"value\": \"hello\"}" +
+                    "]")
+            )
+        );
+    }
+
+    @Test
+    public void testMergePatchReplaceNullFails() {
+        this.mergePatchFails(
+            "{\"a\": 1}",
+            "[{\"op\": \"replace\", \"path\": \"/a\", \"value\": null}]"
+        );
+    }
+
+    @Test
+    public void testMergePatchAddNullFails() {
+        this.mergePatchFails(
+            "{\"a\": 1}",
+            "[{\"op\": \"add\", \"path\": \"/b\", \"value\": null}]"
+        );
+    }
+
+    @Test
+    public void testMergePatchAddObjectIncludingNullFails() {
+        this.mergePatchFails(
+            "{\"a\": 1}",
+            "[{\"op\": \"add\", \"path\": \"/b\", \"value\": {\"c\": null}}]"
+        );
+    }
+
+    @Test
+    public void testMergePatchReplaceArrayItemNull() {
+        this.checkEquals(
+            JsonNode.parse("{\"a\": [null, 2]}"),
+            JsonPatchOperations.mergePatch(
+                JsonNode.parse("{\"a\": [1, 2]}"),
+                JsonNode.parse("[{\"op\": \"replace\", \"path\": \"/a/0\", \"value\": null}]")
+            )
+        );
+    }
+
+    // patch............................................................................................................
+
+    @Test
+    public void testPatchReplaceNullFails() {
+        final TestJsonObjectPatchable patchable = TestJsonObjectPatchable.parse("{\"a\": 1, \"b\": 2}");
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> JsonPatchOperations.patch(
+                patchable,
+                patchable.value,
+                JsonNode.parse("[{\"op\": \"replace\", \"path\": \"/a\", \"value\": null}]"),
+                CONTEXT
+            )
+        );
+        this.checkEquals(
+            0,
+            patchable.patchCount,
+            "patchCount"
+        );
+    }
+
+    @Test
+    public void testPatch() {
+        final TestJsonObjectPatchable patchable = TestJsonObjectPatchable.parse("{\"a\": {\"b\": 1, \"c\": 2}, \"d\": [1, 2]}");
+
+        final StringBuilder operations = new StringBuilder("[");
+        for (int i = 0; i < 500; i++) {
+            operations.append("{\"op\": \"replace\", \"path\": \"/a/b\", \"value\": ")
+                .append(i)
+                .append("},");
+        }
+        operations.append("{\"op\": \"add\", \"path\": \"/d/-\", \"value\": 3}]");
+
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"a\": {\"b\": 499, \"c\": 2}, \"d\": [1, 2, 3]}"),
+            JsonPatchOperations.patch(
+                patchable,
+                patchable.value,
+                JsonNode.parse(operations.toString()),
+                CONTEXT
+            )
+        );
+        this.checkEquals(
+            1,
+            patchable.patchCount,
+            "patchCount"
+        );
+    }
+
+    @Test
+    public void testPatchNoop() {
+        final TestJsonObjectPatchable patchable = TestJsonObjectPatchable.parse("{\"a\": 1}");
+
+        assertSame(
+            patchable,
+            JsonPatchOperations.patch(
+                patchable,
+                patchable.value,
+                JsonNode.parse("[{\"op\": \"replace\", \"path\": \"/a\", \"value\": 2}, {\"op\": \"replace\", \"path\": \"/a\", \"value\": 1}]"),
+                CONTEXT
+            )
+        );
+        this.checkEquals(
+            0,
+            patchable.patchCount,
+            "patchCount"
+        );
+    }
+
+    @Test
+    public void testApplyReplaceNull() {
+        this.applyAndCheck(
+            "{\"a\": 1}",
+            "[{\"op\": \"replace\", \"path\": \"/a\", \"value\": null}]",
+            "{\"a\": null}"
+        );
+    }
+
+    @Test
+    public void testPatchNotMergePatchableReplacesTopLevelProperty() {
+        final TestReplacePatchable patchable = new TestReplacePatchable(
+            JsonNode.parse("{\"style\": {\"color\": \"red\", \"width\": 1}, \"text\": \"hello\"}")
+        );
+
+        final TestReplacePatchable patched = JsonPatchOperations.patch(
+            patchable,
+            patchable.value,
+            JsonNode.parse("[{\"op\": \"replace\", \"path\": \"/style/color\", \"value\": \"blue\"}]"),
+            CONTEXT
+        );
+
+        this.checkEquals(
+            JsonNode.parse("{\"style\": {\"color\": \"blue\", \"width\": 1}}"),
+            patched.patch,
+            "patch"
+        );
+        this.checkEquals(
+            JsonNode.parse("{\"style\": {\"color\": \"blue\", \"width\": 1}, \"text\": \"hello\"}"),
+            patched.value,
+            "value"
+        );
+    }
+
+    @Test
+    public void testPatchNotMergePatchableNestedNull() {
+        final TestReplacePatchable patchable = new TestReplacePatchable(
+            JsonNode.parse("{\"style\": {\"color\": \"red\", \"width\": 1}}")
+        );
+
+        this.checkEquals(
+            JsonNode.parse("{\"style\": {\"color\": null, \"width\": 1}}"),
+            JsonPatchOperations.patch(
+                patchable,
+                patchable.value,
+                JsonNode.parse("[{\"op\": \"replace\", \"path\": \"/style/color\", \"value\": null}]"),
+                CONTEXT
+            ).value
+        );
+    }
+
+    @Test
+    public void testPatchNotMergePatchableRemove() {
+        final TestReplacePatchable patchable = new TestReplacePatchable(
+            JsonNode.parse("{\"a\": 1, \"b\": 2}")
+        );
+
+        this.checkEquals(
+            JsonNode.parse("{\"b\": 2}"),
+            JsonPatchOperations.patch(
+                patchable,
+                patchable.value,
+                JsonNode.parse("[{\"op\": \"remove\", \"path\": \"/a\"}]"),
+                CONTEXT
+            ).value
+        );
+    }
+
+    @Test
+    public void testPatchNotMergePatchableTopLevelNullFails() {
+        final TestReplacePatchable patchable = new TestReplacePatchable(
+            JsonNode.parse("{\"a\": 1}")
+        );
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> JsonPatchOperations.patch(
+                patchable,
+                patchable.value,
+                JsonNode.parse("[{\"op\": \"replace\", \"path\": \"/a\", \"value\": null}]"),
+                CONTEXT
+            )
+        );
+    }
+
+    private void applyAndCheck(final String document,
+                               final String operations,
+                               final String expected) {
+        this.checkEquals(
+            JsonNode.parse(expected),
+            JsonPatchOperations.apply(
+                JsonNode.parse(document),
+                JsonNode.parse(operations)
+            ),
+            () -> document + " " + operations
+        );
+    }
+
+    private void mergePatchFails(final String document,
+                                 final String operations) {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> JsonPatchOperations.mergePatch(
+                JsonNode.parse(document),
+                JsonNode.parse(operations)
+            )
+        );
+    }
+
+    private void applyFails(final String document,
+                            final String operations) {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> JsonPatchOperations.apply(
+                JsonNode.parse(document),
+                JsonNode.parse(operations)
+            )
+        );
+    }
+
+    /**
+     * A {@link Patchable} which replaces each top level property with the patch value, and removes properties with a
+     * null value.
+     */
+    private static final class TestReplacePatchable implements Patchable<TestReplacePatchable> {
+
+        TestReplacePatchable(final JsonNode value) {
+            this(
+                value,
+                null
+            );
+        }
+
+        private TestReplacePatchable(final JsonNode value,
+                                     final JsonNode patch) {
+            this.value = value;
+            this.patch = patch;
+        }
+
+        @Override
+        public TestReplacePatchable patch(final JsonNode json,
+                                          final JsonNodeUnmarshallContext context) {
+            JsonObject object = this.value.objectOrFail();
+
+            for (final JsonNode property : json.children()) {
+                object = property.isNull() ?
+                    object.remove(property.name()) :
+                    object.set(
+                        property.name(),
+                        property
+                    );
+            }
+
+            return new TestReplacePatchable(
+                object,
+                json
+            );
+        }
+
+        final JsonNode value;
+
+        /**
+         * The last patch applied.
+         */
+        final JsonNode patch;
+    }
+}
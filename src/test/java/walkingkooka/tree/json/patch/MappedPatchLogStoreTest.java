@@ -0,0 +1,380 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class MappedPatchLogStoreTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    private final static int SEGMENT_SIZE = 1024;
+
+    @Test
+    public void testOpenNullDirectoryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> MappedPatchLogStore.open(null, SEGMENT_SIZE)
+        );
+    }
+
+    @Test
+    public void testOpenInvalidSegmentSizeFails(@TempDir final Path directory) {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> MappedPatchLogStore.open(directory, MappedPatchLogStore.MIN_SEGMENT_SIZE - 1)
+        );
+    }
+
+    @Test
+    public void testOpenEmpty(@TempDir final Path directory) {
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            this.checkEquals(
+                Optional.empty(),
+                store.latestSnapshot(),
+                "latestSnapshot"
+            );
+            this.checkEquals(
+                Lists.empty(),
+                store.entries(),
+                "entries"
+            );
+            this.checkEquals(
+                1,
+                store.segmentCount(),
+                "segmentCount"
+            );
+        }
+    }
+
+    @Test
+    public void testAppendAndReopen(@TempDir final Path directory) {
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            store.appendSnapshot(snapshot(0));
+            store.append(entry(1));
+            store.append(entry(2));
+            store.appendSnapshot(snapshot(2));
+            store.append(entry(3));
+        }
+
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            this.checkEquals(
+                Optional.of(snapshot(2)),
+                store.latestSnapshot(),
+                "latestSnapshot"
+            );
+            this.checkEquals(
+                Lists.of(entry(3)),
+                store.entries(),
+                "entries"
+            );
+
+            store.append(entry(4));
+            this.checkEquals(
+                Lists.of(entry(3), entry(4)),
+                store.entries(),
+                "entries after append"
+            );
+        }
+    }
+
+    @Test
+    public void testAppendNewSegments(@TempDir final Path directory) {
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, MappedPatchLogStore.MIN_SEGMENT_SIZE)) {
+            store.appendSnapshot(snapshot(0));
+            for (int i = 1; i <= 10; i++) {
+                store.append(entry(i));
+            }
+
+            this.checkEquals(
+                true,
+                store.segmentCount() > 1,
+                () -> "segmentCount " + store.segmentCount()
+            );
+        }
+
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, MappedPatchLogStore.MIN_SEGMENT_SIZE)) {
+            this.checkEquals(
+                10,
+                store.entries().size(),
+                "entries"
+            );
+            this.checkEquals(
+                entry(10),
+                store.entries().get(9),
+                "last entry"
+            );
+        }
+    }
+
+    @Test
+    public void testAppendLargerThanSegment(@TempDir final Path directory) {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            b.append('x');
+        }
+        final PatchLogEntry entry = PatchLogEntry.with(
+            1,
+            1,
+            JsonNode.parse("{\"large\": \"" + b + "\"}")
+        );
+
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, MappedPatchLogStore.MIN_SEGMENT_SIZE)) {
+            store.append(entry);
+        }
+
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, MappedPatchLogStore.MIN_SEGMENT_SIZE)) {
+            this.checkEquals(
+                Lists.of(entry),
+                store.entries()
+            );
+        }
+    }
+
+    @Test
+    public void testRewrite(@TempDir final Path directory) {
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, MappedPatchLogStore.MIN_SEGMENT_SIZE)) {
+            store.appendSnapshot(snapshot(0));
+            for (int i = 1; i <= 10; i++) {
+                store.append(entry(i));
+            }
+            final int segmentCount = store.segmentCount();
+
+            store.rewrite(
+                snapshot(9),
+                Lists.of(entry(10))
+            );
+            this.checkEquals(
+                Optional.of(snapshot(9)),
+                store.latestSnapshot(),
+                "latestSnapshot"
+            );
+            this.checkEquals(
+                Lists.of(entry(10)),
+                store.entries(),
+                "entries"
+            );
+            this.checkEquals(
+                true,
+                store.segmentCount() < segmentCount,
+                () -> "segmentCount " + store.segmentCount() + " before " + segmentCount
+            );
+
+            store.append(entry(11));
+        }
+
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            this.checkEquals(
+                Lists.of(entry(10), entry(11)),
+                store.entries()
+            );
+        }
+    }
+
+    @Test
+    public void testEntriesSkipsRepeatedVersions(@TempDir final Path directory) {
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            store.appendSnapshot(snapshot(0));
+            store.append(entry(1));
+            store.append(entry(2));
+            store.append(entry(3));
+
+            // as left by a rewrite that did not complete
+            store.appendSnapshot(snapshot(1));
+            store.append(entry(2));
+
+            this.checkEquals(
+                Lists.of(entry(2), entry(3)),
+                store.entries()
+            );
+        }
+    }
+
+    @Test
+    public void testReopenZeroesTornRecord(@TempDir final Path directory) throws IOException {
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            store.append(entry(1));
+        }
+
+        // a torn record, its kind never written, whose text holds a complete record where a shorter append will end
+        final ByteBuffer entry2 = record((byte) 1, entry(2));
+        final ByteBuffer hidden = record((byte) 1, entry(99));
+        final byte[] padding = new byte[entry2.remaining() - HEADER_SIZE];
+        final ByteBuffer torn = ByteBuffer.allocate(HEADER_SIZE + padding.length + hidden.remaining());
+        torn.put((byte) 0)
+            .putLong(3)
+            .putLong(3)
+            .putInt(padding.length + hidden.remaining())
+            .put(padding)
+            .put(hidden);
+        torn.flip();
+
+        try (final FileChannel channel = FileChannel.open(directory.resolve("0000000000000000.segment"), StandardOpenOption.WRITE)) {
+            channel.write(
+                torn,
+                record((byte) 1, entry(1)).remaining()
+            );
+        }
+
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            this.checkEquals(
+                Lists.of(entry(1)),
+                store.entries(),
+                "entries"
+            );
+            store.append(entry(2));
+        }
+
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            this.checkEquals(
+                Lists.of(entry(1), entry(2)),
+                store.entries()
+            );
+        }
+    }
+
+    @Test
+    public void testOpenIgnoresOtherSegmentFileNames(@TempDir final Path directory) throws IOException {
+        Files.write(directory.resolve("notes.segment"), new byte[SEGMENT_SIZE]);
+        Files.write(directory.resolve("1.segment"), new byte[SEGMENT_SIZE]);
+
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            store.append(entry(1));
+
+            this.checkEquals(
+                1,
+                store.segmentCount(),
+                "segmentCount"
+            );
+        }
+
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            this.checkEquals(
+                Lists.of(entry(1)),
+                store.entries()
+            );
+        }
+    }
+
+    @Test
+    public void testAppendAfterCloseFails(@TempDir final Path directory) {
+        final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE);
+        store.close();
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> store.append(entry(1))
+        );
+    }
+
+    @Test
+    public void testPatchLogRecover(@TempDir final Path directory) {
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            final PatchLog<TestJsonObjectPatchable> log = PatchLog.with(
+                TestJsonObjectPatchable.parse("{}"),
+                2,
+                store,
+                p -> p.value
+            );
+            for (int i = 1; i <= 5; i++) {
+                log.append(entry(i).patch(), CONTEXT);
+            }
+        }
+
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            final PatchLog<TestJsonObjectPatchable> log = PatchLog.recover(
+                store,
+                2,
+                p -> p.value,
+                TestJsonObjectPatchable::new,
+                CONTEXT
+            );
+
+            this.checkEquals(
+                TestJsonObjectPatchable.parse("{\"p1\": 1, \"p2\": 2, \"p3\": 3, \"p4\": 4, \"p5\": 5}"),
+                log.head()
+            );
+            this.checkEquals(
+                5L,
+                log.version(),
+                "version"
+            );
+        }
+    }
+
+    @Test
+    public void testToString(@TempDir final Path directory) {
+        try (final MappedPatchLogStore store = MappedPatchLogStore.open(directory, SEGMENT_SIZE)) {
+            this.checkEquals(
+                directory + " segments=1",
+                store.toString()
+            );
+        }
+    }
+
+    private final static int HEADER_SIZE = 1 + 8 + 8 + 4;
+
+    /**
+     * Encodes the entry as {@link MappedPatchLogStore} writes a record.
+     */
+    private static ByteBuffer record(final byte kind,
+                                     final PatchLogEntry entry) {
+        final byte[] text = entry.patch()
+            .toString()
+            .getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + text.length);
+        buffer.put(kind)
+            .putLong(entry.firstVersion())
+            .putLong(entry.version())
+            .putInt(text.length)
+            .put(text);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static PatchLogSnapshot snapshot(final int version) {
+        return PatchLogSnapshot.with(
+            version,
+            JsonNode.parse("{\"snapshot\": " + version + "}")
+        );
+    }
+
+    private static PatchLogEntry entry(final int version) {
+        return PatchLogEntry.with(
+            version,
+            version,
+            JsonNode.parse("{\"p" + version + "\": " + version + "}")
+        );
+    }
+}
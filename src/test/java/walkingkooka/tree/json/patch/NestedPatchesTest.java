@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class NestedPatchesTest implements PatchableTesting<NestedPatchesTest.TestNestedPatchable> {
+
+    private final static JsonPropertyName A = JsonPropertyName.with("a");
+
+    private final static JsonPropertyName B = JsonPropertyName.with("b");
+
+    private final static JsonPropertyName C = JsonPropertyName.with("c");
+
+    @Test
+    public void testPatchNullNestedFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> NestedPatches.patch(null, JsonNode.object(), this.createPatchContext())
+        );
+    }
+
+    @Test
+    public void testPatchUnknownChildFails() {
+        final UnknownPropertyJsonNodeException thrown = assertThrows(
+            UnknownPropertyJsonNodeException.class,
+            () -> this.createPatchable()
+                .patch(
+                    JsonNode.parse("{\"unknown\": {}}"),
+                    this.createPatchContext()
+                )
+        );
+        this.checkEquals(
+            JsonPropertyName.with("unknown"),
+            thrown.name(),
+            "name"
+        );
+    }
+
+    @Test
+    public void testPatchEmpty() {
+        final TestNestedPatchable patchable = this.createPatchable();
+
+        assertSame(
+            patchable,
+            patchable.patch(
+                JsonNode.object(),
+                this.createPatchContext()
+            )
+        );
+    }
+
+    @Test
+    public void testPatchOneChild() {
+        this.patchAndCheck(
+            this.createPatchable(),
+            "{\"b\": {\"x\": 99}}",
+            this.create(
+                "{\"x\": 1}",
+                "{\"x\": 99}",
+                "{\"x\": 3}"
+            )
+        );
+    }
+
+    @Test
+    public void testPatchRemoveChild() {
+        final Map<JsonPropertyName, TestJsonObjectPatchable> children = new LinkedHashMap<>();
+        children.put(A, TestJsonObjectPatchable.parse("{\"x\": 1}"));
+        children.put(C, TestJsonObjectPatchable.parse("{\"x\": 3}"));
+
+        this.patchAndCheck(
+            this.createPatchable(),
+            "{\"b\": null}",
+            new TestNestedPatchable(children)
+        );
+    }
+
+    @Test
+    public void testPatchUntouchedChildrenAndCheck() {
+        this.patchUntouchedChildrenAndCheck(
+            this.createPatchable(),
+            "{\"b\": {\"x\": 99}}"
+        );
+    }
+
+    @Test
+    public void testPatchUntouchedChildrenAndCheckRemove() {
+        this.patchUntouchedChildrenAndCheck(
+            this.createPatchable(),
+            "{\"a\": null, \"c\": {\"y\": 1}}"
+        );
+    }
+
+    @Test
+    public void testPatchUntouchedChildrenAndCheckCopiesFails() {
+        final TestNestedPatchable patchable = this.createPatchable();
+        patchable.copyAll = true;
+
+        assertThrows(
+            AssertionError.class,
+            () -> this.patchUntouchedChildrenAndCheck(
+                patchable,
+                "{\"b\": {\"x\": 99}}"
+            )
+        );
+    }
+
+    @Override
+    public TestNestedPatchable createPatchable() {
+        return this.create(
+            "{\"x\": 1}",
+            "{\"x\": 2}",
+            "{\"x\": 3}"
+        );
+    }
+
+    private TestNestedPatchable create(final String a,
+                                       final String b,
+                                       final String c) {
+        final Map<JsonPropertyName, TestJsonObjectPatchable> children = new LinkedHashMap<>();
+        children.put(A, TestJsonObjectPatchable.parse(a));
+        children.put(B, TestJsonObjectPatchable.parse(b));
+        children.put(C, TestJsonObjectPatchable.parse(c));
+        return new TestNestedPatchable(children);
+    }
+
+    @Override
+    public JsonNode createPatch() {
+        return JsonNode.parse("{\"a\": {\"x\": 9}}");
+    }
+
+    @Override
+    public JsonNodeUnmarshallContext createPatchContext() {
+        return PatchableTestingTest.CONTEXT;
+    }
+
+    /**
+     * A container of {@link TestJsonObjectPatchable} that may be told to copy every child, which breaks the untouched
+     * children guarantee.
+     */
+    static final class TestNestedPatchable implements NestedPatchable<TestNestedPatchable, TestJsonObjectPatchable> {
+
+        TestNestedPatchable(final Map<JsonPropertyName, TestJsonObjectPatchable> children) {
+            this.children = children;
+        }
+
+        @Override
+        public TestNestedPatchable patch(final JsonNode json,
+                                         final JsonNodeUnmarshallContext context) {
+            return NestedPatches.patch(
+                this,
+                json,
+                context
+            );
+        }
+
+        @Override
+        public Map<JsonPropertyName, TestJsonObjectPatchable> nestedPatchables() {
+            return Collections.unmodifiableMap(this.children);
+        }
+
+        @Override
+        public TestNestedPatchable setNestedPatchables(final Map<JsonPropertyName, TestJsonObjectPatchable> patched,
+                                                       final Set<JsonPropertyName> removed) {
+            final Map<JsonPropertyName, TestJsonObjectPatchable> children = new LinkedHashMap<>();
+            for (final Map.Entry<JsonPropertyName, TestJsonObjectPatchable> child : this.children.entrySet()) {
+                final JsonPropertyName name = child.getKey();
+                if (false == removed.contains(name)) {
+                    final TestJsonObjectPatchable value = patched.getOrDefault(
+                        name,
+                        child.getValue()
+                    );
+                    children.put(
+                        name,
+                        this.copyAll ?
+                            new TestJsonObjectPatchable(value.value) :
+                            value
+                    );
+                }
+            }
+            return new TestNestedPatchable(children);
+        }
+
+        private final Map<JsonPropertyName, TestJsonObjectPatchable> children;
+
+        boolean copyAll;
+
+        @Override
+        public int hashCode() {
+            return this.children.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof TestNestedPatchable &&
+                this.children.equals(((TestNestedPatchable) other).children);
+        }
+
+        @Override
+        public String toString() {
+            return this.children.toString();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ParallelPatchesTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    private final static ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterAll
+    public static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void testPatchNullPatchableFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ParallelPatches.patch(null, JsonNode.object(), CONTEXT, POOL, 1)
+        );
+    }
+
+    @Test
+    public void testPatchNullPatchFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ParallelPatches.patch(this.createPatchable(1), null, CONTEXT, POOL, 1)
+        );
+    }
+
+    @Test
+    public void testPatchNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ParallelPatches.patch(this.createPatchable(1), JsonNode.object(), null, POOL, 1)
+        );
+    }
+
+    @Test
+    public void testPatchNullPoolFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ParallelPatches.patch(this.createPatchable(1), JsonNode.object(), CONTEXT, null, 1)
+        );
+    }
+
+    @Test
+    public void testPatchInvalidThresholdFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ParallelPatches.patch(this.createPatchable(1), JsonNode.object(), CONTEXT, POOL, 0)
+        );
+    }
+
+    @Test
+    public void testPatchUnknownPropertyFails() {
+        assertThrows(
+            UnknownPropertyJsonNodeException.class,
+            () -> ParallelPatches.patch(
+                this.createPatchable(2),
+                JsonNode.parse("{\"cell0\": {}, \"unknown\": {}}"),
+                CONTEXT,
+                POOL,
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testPatchEmpty() {
+        final NestedPatchesTest.TestNestedPatchable patchable = this.createPatchable(4);
+
+        assertSame(
+            patchable,
+            ParallelPatches.patch(
+                patchable,
+                JsonNode.object(),
+                CONTEXT,
+                POOL,
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testPatchRemove() {
+        final NestedPatchesTest.TestNestedPatchable patched = ParallelPatches.patch(
+            this.createPatchable(3),
+            JsonNode.parse("{\"cell0\": null, \"cell1\": {\"patched\": 1}}"),
+            CONTEXT,
+            POOL,
+            1
+        );
+
+        this.checkEquals(
+            Lists.of(
+                property(1),
+                property(2)
+            ),
+            new ArrayList<>(patched.nestedPatchables().keySet())
+        );
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"value\": 1, \"patched\": 1}"),
+            patched.nestedPatchables().get(property(1))
+        );
+    }
+
+    @Test
+    public void testPatchAtThreshold() {
+        this.patchAndCheck(
+            20,
+            10
+        );
+    }
+
+    @Test
+    public void testPatchUnderThreshold() {
+        this.patchAndCheck(
+            10,
+            100
+        );
+    }
+
+    @Test
+    public void testPatchParallel() {
+        this.patchAndCheck(
+            1000,
+            16
+        );
+    }
+
+    @Test
+    public void testPatchParallelThresholdOne() {
+        this.patchAndCheck(
+            100,
+            1
+        );
+    }
+
+    private void patchAndCheck(final int count,
+                               final int threshold) {
+        final NestedPatchesTest.TestNestedPatchable patchable = this.createPatchable(count);
+
+        JsonObject patch = JsonNode.object();
+        for (int i = 0; i < count; i += 2) {
+            patch = patch.set(
+                property(i),
+                JsonNode.parse("{\"patched\": " + i + "}")
+            );
+        }
+
+        final NestedPatchesTest.TestNestedPatchable patched = ParallelPatches.patch(
+            patchable,
+            patch,
+            CONTEXT,
+            POOL,
+            threshold
+        );
+
+        for (int i = 0; i < count; i++) {
+            final JsonPropertyName property = property(i);
+            final TestJsonObjectPatchable before = patchable.nestedPatchables()
+                .get(property);
+            final TestJsonObjectPatchable after = patched.nestedPatchables()
+                .get(property);
+
+            if (0 == i % 2) {
+                this.checkEquals(
+                    TestJsonObjectPatchable.parse("{\"value\": " + i + ", \"patched\": " + i + "}"),
+                    after,
+                    property::toString
+                );
+            } else {
+                assertSame(
+                    before,
+                    after,
+                    property::toString
+                );
+            }
+        }
+    }
+
+    private NestedPatchesTest.TestNestedPatchable createPatchable(final int count) {
+        final Map<JsonPropertyName, TestJsonObjectPatchable> children = new LinkedHashMap<>();
+
+        for (int i = 0; i < count; i++) {
+            children.put(
+                property(i),
+                TestJsonObjectPatchable.parse("{\"value\": " + i + "}")
+            );
+        }
+
+        return new NestedPatchesTest.TestNestedPatchable(children);
+    }
+
+    private static JsonPropertyName property(final int i) {
+        return JsonPropertyName.with("cell" + i);
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.InvalidPropertyJsonNodeException;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+import walkingkooka.tree.json.marshall.FakeJsonNodeUnmarshallContext;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchApplierTest implements Testing {
+
+    private final static JsonPropertyName PREFIX = JsonPropertyName.with("prefix");
+
+    private final static JsonPropertyName SUFFIX = JsonPropertyName.with("suffix");
+
+    private final static JsonPropertyName ID = JsonPropertyName.with("id");
+
+    private final static PatchSchema<String> SCHEMA = PatchSchema.with(String.class)
+        .property(PREFIX, String.class)
+        .property(SUFFIX, String.class)
+        .immutable(ID);
+
+    @Test
+    public void testWithNullSchemaFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchApplier.with(null)
+        );
+    }
+
+    @Test
+    public void testPropertyNullPropertyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchApplier.with(SCHEMA)
+                .property(null, String.class, (v, p) -> v)
+        );
+    }
+
+    @Test
+    public void testPropertyNullSetterFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchApplier.with(SCHEMA)
+                .property(PREFIX, String.class, null)
+        );
+    }
+
+    @Test
+    public void testPropertyNullTypeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchApplier.with(SCHEMA)
+                .property(PREFIX, null, (v, p) -> v)
+        );
+    }
+
+    @Test
+    public void testPropertyDifferentTypeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchApplier.with(SCHEMA)
+                .property(PREFIX, Integer.class, (v, p) -> v)
+        );
+        this.checkEquals(
+            "Property prefix type java.lang.Integer is not the schema type java.lang.String",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testPropertyUnknownPropertyFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchApplier.with(SCHEMA)
+                .property(JsonPropertyName.with("unknown"), String.class, (v, p) -> v)
+        );
+    }
+
+    @Test
+    public void testPropertyImmutablePropertyFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchApplier.with(SCHEMA)
+                .property(ID, String.class, (v, p) -> v)
+        );
+    }
+
+    @Test
+    public void testPropertyImmutable() {
+        final PatchApplier<String> empty = PatchApplier.with(SCHEMA);
+        final PatchApplier<String> applier = empty.property(PREFIX, String.class, (v, p) -> v);
+
+        this.checkEquals(
+            "[]",
+            empty.toString(),
+            "empty"
+        );
+        this.checkEquals(
+            "[prefix]",
+            applier.toString(),
+            "applier"
+        );
+    }
+
+    @Test
+    public void testApplyNullValuesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createApplier()
+                .apply(null, JsonNode.object(), new TestContext())
+        );
+    }
+
+    @Test
+    public void testApplyNullPatchFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createApplier()
+                .apply(Lists.of("a"), null, new TestContext())
+        );
+    }
+
+    @Test
+    public void testApplyNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createApplier()
+                .apply(Lists.of("a"), JsonNode.object(), null)
+        );
+    }
+
+    @Test
+    public void testApplyUnknownPropertyFails() {
+        final UnknownPropertyJsonNodeException thrown = assertThrows(
+            UnknownPropertyJsonNodeException.class,
+            () -> this.createApplier()
+                .apply(
+                    Lists.of("a"),
+                    JsonNode.parse("{\"prefix\": \"1\", \"unknown\": \"2\"}"),
+                    new TestContext()
+                )
+        );
+        this.checkEquals(
+            JsonPropertyName.with("unknown"),
+            thrown.name(),
+            "name"
+        );
+    }
+
+    @Test
+    public void testApplyInvalidPropertyFails() {
+        final InvalidPropertyJsonNodeException thrown = assertThrows(
+            InvalidPropertyJsonNodeException.class,
+            () -> this.createApplier()
+                .apply(
+                    Lists.of("a"),
+                    JsonNode.parse("{\"id\": 1}"),
+                    new TestContext()
+                )
+        );
+        this.checkEquals(
+            ID,
+            thrown.name(),
+            "name"
+        );
+    }
+
+    @Test
+    public void testApplyWithoutSetterFails() {
+        final InvalidPropertyJsonNodeException thrown = assertThrows(
+            InvalidPropertyJsonNodeException.class,
+            () -> PatchApplier.with(SCHEMA)
+                .property(PREFIX, String.class, (v, p) -> v)
+                .apply(
+                    Lists.of("a"),
+                    JsonNode.parse("{\"suffix\": \">\"}"),
+                    new TestContext()
+                )
+        );
+        this.checkEquals(
+            SUFFIX,
+            thrown.name(),
+            "name"
+        );
+    }
+
+    @Test
+    public void testApplyInvalidValueFails() {
+        final TestContext context = new TestContext();
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createApplier()
+                .apply(
+                    Lists.of("a"),
+                    JsonNode.parse("{\"prefix\": 1}"),
+                    context
+                )
+        );
+        this.checkEquals(
+            0,
+            context.unmarshallCount,
+            "unmarshallCount"
+        );
+    }
+
+    @Test
+    public void testApplyUnmarshallsOnce() {
+        final TestContext context = new TestContext();
+
+        this.checkEquals(
+            Lists.of(
+                "<a>",
+                "<b>",
+                "<c>"
+            ),
+            this.createApplier()
+                .apply(
+                    Lists.of("a", "b", "c"),
+                    JsonNode.parse("{\"prefix\": \"<\", \"suffix\": \">\"}"),
+                    context
+                )
+        );
+        this.checkEquals(
+            2,
+            context.unmarshallCount,
+            "unmarshallCount"
+        );
+    }
+
+    @Test
+    public void testApplyNull() {
+        final TestContext context = new TestContext();
+
+        this.checkEquals(
+            Lists.of(
+                "a!",
+                "b!"
+            ),
+            this.createApplier()
+                .apply(
+                    Lists.of("a", "b"),
+                    JsonNode.parse("{\"prefix\": null, \"suffix\": \"!\"}"),
+                    context
+                )
+        );
+        this.checkEquals(
+            1,
+            context.unmarshallCount,
+            "unmarshallCount"
+        );
+    }
+
+    @Test
+    public void testApplyEmpty() {
+        this.checkEquals(
+            Lists.empty(),
+            this.createApplier()
+                .apply(
+                    Lists.empty(),
+                    JsonNode.parse("{\"prefix\": \"<\"}"),
+                    new TestContext()
+                )
+        );
+    }
+
+    @Test
+    public void testApplyResultImmutable() {
+        final List<String> patched = this.createApplier()
+            .apply(
+                Lists.of("a"),
+                JsonNode.parse("{\"prefix\": \"<\"}"),
+                new TestContext()
+            );
+
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> patched.add("b")
+        );
+    }
+
+    @Test
+    public void testPrepareReused() {
+        final TestContext context = new TestContext();
+        final UnaryOperator<String> prepared = this.createApplier()
+            .prepare(
+                JsonNode.parse("{\"suffix\": \"!\"}"),
+                context
+            );
+
+        this.checkEquals(
+            "a!",
+            prepared.apply("a"),
+            "a"
+        );
+        this.checkEquals(
+            "b!",
+            prepared.apply("b"),
+            "b"
+        );
+        this.checkEquals(
+            1,
+            context.unmarshallCount,
+            "unmarshallCount"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            "[prefix]",
+            PatchApplier.with(SCHEMA)
+                .property(PREFIX, String.class, (v, p) -> v)
+                .toString()
+        );
+    }
+
+    private PatchApplier<String> createApplier() {
+        return PatchApplier.with(SCHEMA)
+            .property(
+                PREFIX,
+                String.class,
+                (v, p) -> null == p ? v : p + v
+            ).property(
+                SUFFIX,
+                String.class,
+                (v, p) -> null == p ? v : v + p
+            );
+    }
+
+    static final class TestContext extends FakeJsonNodeUnmarshallContext {
+
+        @Override
+        public <T> T unmarshall(final JsonNode node,
+                                final Class<T> type) {
+            this.unmarshallCount++;
+            return type.cast(
+                node.stringOrFail()
+            );
+        }
+
+        int unmarshallCount;
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchBatchTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = JsonNodeUnmarshallContexts.fake();
+
+    @Test
+    public void testAddNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchBatch.empty().add(null)
+        );
+    }
+
+    @Test
+    public void testAddAllNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchBatch.empty().addAll(null)
+        );
+    }
+
+    @Test
+    public void testApplyNullPatchableFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchBatch.empty().apply(null, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testApplyNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchBatch.empty().apply(TestJsonObjectPatchable.parse("{}"), null)
+        );
+    }
+
+    @Test
+    public void testEmpty() {
+        this.patchesAndCheck(
+            Lists.empty()
+        );
+    }
+
+    @Test
+    public void testOne() {
+        this.patchesAndCheck(
+            Lists.of("{\"a\": 1}"),
+            "{\"a\": 1}"
+        );
+    }
+
+    @Test
+    public void testDifferentProperties() {
+        this.patchesAndCheck(
+            Lists.of(
+                "{\"a\": 1}",
+                "{\"b\": 2}",
+                "{\"c\": 3}"
+            ),
+            "{\"a\": 1, \"b\": 2, \"c\": 3}"
+        );
+    }
+
+    @Test
+    public void testSamePropertyLastWins() {
+        this.patchesAndCheck(
+            Lists.of(
+                "{\"a\": 1, \"b\": 2}",
+                "{\"a\": 3}",
+                "{\"a\": null}"
+            ),
+            "{\"a\": null, \"b\": 2}"
+        );
+    }
+
+    @Test
+    public void testObjectValuesReplaced() {
+        this.patchesAndCheck(
+            Lists.of(
+                "{\"a\": {\"x\": 1}}",
+                "{\"a\": {\"y\": 2}}"
+            ),
+            "{\"a\": {\"y\": 2}}"
+        );
+    }
+
+    @Test
+    public void testMergePatchObjectValuesMerged() {
+        this.mergePatchesAndCheck(
+            Lists.of(
+                "{\"a\": {\"x\": 1}}",
+                "{\"a\": {\"y\": 2}}",
+                "{\"a\": {\"x\": 3, \"z\": {\"p\": 4}}}"
+            ),
+            "{\"a\": {\"x\": 3, \"y\": 2, \"z\": {\"p\": 4}}}"
+        );
+    }
+
+    @Test
+    public void testLeafAfterObject() {
+        this.patchesAndCheck(
+            Lists.of(
+                "{\"a\": {\"x\": 1}}",
+                "{\"a\": 2}"
+            ),
+            "{\"a\": 2}"
+        );
+    }
+
+    @Test
+    public void testObjectAfterLeaf() {
+        this.patchesAndCheck(
+            Lists.of(
+                "{\"a\": null}",
+                "{\"a\": {\"x\": 1}}"
+            ),
+            "{\"a\": {\"x\": 1}}"
+        );
+    }
+
+    @Test
+    public void testMergePatchObjectAfterLeafNotMerged() {
+        this.mergePatchesAndCheck(
+            Lists.of(
+                "{\"a\": null}",
+                "{\"a\": {\"x\": 1}}"
+            ),
+            "{\"a\": null}",
+            "{\"a\": {\"x\": 1}}"
+        );
+    }
+
+    @Test
+    public void testMergePatchNestedObjectAfterLeafNotMerged() {
+        this.mergePatchesAndCheck(
+            Lists.of(
+                "{\"a\": {\"x\": 1}, \"b\": 2}",
+                "{\"b\": 3, \"a\": {\"x\": {\"y\": 4}}}",
+                "{\"c\": 5}"
+            ),
+            "{\"a\": {\"x\": 1}, \"b\": 2}",
+            "{\"b\": 3, \"a\": {\"x\": {\"y\": 4}}, \"c\": 5}"
+        );
+    }
+
+    @Test
+    public void testNonObjectNotMerged() {
+        this.patchesAndCheck(
+            Lists.of(
+                "{\"a\": 1}",
+                "[2]",
+                "{\"b\": 3}",
+                "{\"c\": 4}"
+            ),
+            "{\"a\": 1}",
+            "[2]",
+            "{\"b\": 3, \"c\": 4}"
+        );
+    }
+
+    private void patchesAndCheck(final List<String> patches,
+                                 final String... expected) {
+        this.patchesAndCheck(
+            PatchBatch.empty(),
+            patches,
+            expected
+        );
+    }
+
+    private void mergePatchesAndCheck(final List<String> patches,
+                                      final String... expected) {
+        this.patchesAndCheck(
+            PatchBatch.mergePatch(),
+            patches,
+            expected
+        );
+    }
+
+    private void patchesAndCheck(final PatchBatch batch,
+                                 final List<String> patches,
+                                 final String... expected) {
+        batch.addAll(
+                patches.stream()
+                    .map(JsonNode::parse)
+                    .collect(Collectors.toList())
+            );
+
+        this.checkEquals(
+            Arrays.stream(expected)
+                .map(JsonNode::parse)
+                .collect(Collectors.toList()),
+            batch.patches(),
+            () -> "patches " + patches
+        );
+        this.checkEquals(
+            patches.size(),
+            batch.count(),
+            "count"
+        );
+    }
+
+    @Test
+    public void testApplyEmpty() {
+        final TestJsonObjectPatchable patchable = TestJsonObjectPatchable.parse("{\"a\": 1}");
+
+        this.checkEquals(
+            patchable,
+            PatchBatch.empty()
+                .apply(patchable, CONTEXT)
+        );
+        this.checkEquals(
+            0,
+            patchable.patchCount,
+            "patchCount"
+        );
+    }
+
+    @Test
+    public void testApplyMergedOnce() {
+        final TestJsonObjectPatchable patchable = TestJsonObjectPatchable.parse("{\"a\": 1, \"b\": {\"x\": 2}}");
+
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"a\": 3, \"b\": {\"x\": 2, \"y\": 4}, \"c\": 5}"),
+            PatchBatch.empty()
+                .add(JsonNode.parse("{\"a\": 3}"))
+                .add(JsonNode.parse("{\"b\": {\"y\": 4}}"))
+                .add(JsonNode.parse("{\"c\": 5}"))
+                .apply(patchable, CONTEXT)
+        );
+        this.checkEquals(
+            1,
+            patchable.patchCount,
+            "patchCount"
+        );
+    }
+
+    @Test
+    public void testApplyNotMerged() {
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"a\": {\"x\": 1}, \"b\": 2}"),
+            PatchBatch.mergePatch()
+                .add(JsonNode.parse("{\"a\": null, \"b\": 2}"))
+                .add(JsonNode.parse("{\"a\": {\"x\": 1}}"))
+                .apply(
+                    TestJsonObjectPatchable.parse("{\"a\": {\"y\": 1}}"),
+                    CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testPatchAll() {
+        final TestJsonObjectPatchable patchable = TestJsonObjectPatchable.parse("{\"a\": 1}");
+
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"a\": 2, \"b\": 3}"),
+            patchable.patchAll(
+                Lists.of(
+                    JsonNode.parse("{\"a\": 2}"),
+                    JsonNode.parse("{\"b\": 3}")
+                ),
+                CONTEXT
+            )
+        );
+        this.checkEquals(
+            1,
+            patchable.patchCount,
+            "patchCount"
+        );
+    }
+
+    @Test
+    public void testPatchAllMergePatchable() {
+        final TestJsonObjectPatchable patchable = TestJsonObjectPatchable.parse("{\"a\": {\"x\": 1}}");
+
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"a\": {\"x\": 1, \"y\": 2, \"z\": 3}}"),
+            patchable.patchAll(
+                Lists.of(
+                    JsonNode.parse("{\"a\": {\"y\": 2}}"),
+                    JsonNode.parse("{\"a\": {\"z\": 3}}")
+                ),
+                CONTEXT
+            )
+        );
+        this.checkEquals(
+            1,
+            patchable.patchCount,
+            "patchCount"
+        );
+    }
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchBatch.with(null)
+        );
+    }
+
+    @Test
+    public void testWithMergePatchable() {
+        this.checkEquals(
+            PatchBatch.mergePatch()
+                .add(JsonNode.parse("{\"a\": {\"x\": 1}}"))
+                .add(JsonNode.parse("{\"a\": {\"y\": 2}}"))
+                .patches(),
+            PatchBatch.with(TestJsonObjectPatchable.parse("{}"))
+                .add(JsonNode.parse("{\"a\": {\"x\": 1}}"))
+                .add(JsonNode.parse("{\"a\": {\"y\": 2}}"))
+                .patches()
+        );
+    }
+
+    @Test
+    public void testWithPatchable() {
+        this.checkEquals(
+            Lists.of(
+                JsonNode.parse("{\"a\": {\"y\": 2}}")
+            ),
+            PatchBatch.with((json, context) -> json)
+                .add(JsonNode.parse("{\"a\": {\"x\": 1}}"))
+                .add(JsonNode.parse("{\"a\": {\"y\": 2}}"))
+                .patches()
+        );
+    }
+
+    @Test
+    public void testToStringMergePatch() {
+        this.checkEquals(
+            "mergePatch " + Lists.of(
+                JsonNode.parse("{\"a\": 1}")
+            ),
+            PatchBatch.mergePatch()
+                .add(JsonNode.parse("{\"a\": 1}"))
+                .toString()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            Lists.of(
+                JsonNode.parse("{\"a\": 1, \"b\": 2}")
+            ).toString(),
+            PatchBatch.empty()
+                .add(JsonNode.parse("{\"a\": 1}"))
+                .add(JsonNode.parse("{\"b\": 2}"))
+                .toString()
+        );
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchCompilerTest implements Testing {
+
+    private final static JsonPropertyName VALUE = JsonPropertyName.with("value");
+
+    private final static JsonPropertyName STYLE = JsonPropertyName.with("style");
+
+    private final static JsonPropertyName FORMAT = JsonPropertyName.with("format");
+
+    @Test
+    public void testWithNullPropertiesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchCompiler.with((JsonPropertyName[]) null)
+        );
+    }
+
+    @Test
+    public void testWithNullPropertyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchCompiler.with(VALUE, null)
+        );
+    }
+
+    @Test
+    public void testWithDuplicatePropertyFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchCompiler.with(VALUE, STYLE, VALUE)
+        );
+    }
+
+    @Test
+    public void testCompileNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCompiler().compile(null)
+        );
+    }
+
+    @Test
+    public void testCompileUnknownPropertyFails() {
+        final UnknownPropertyJsonNodeException thrown = assertThrows(
+            UnknownPropertyJsonNodeException.class,
+            () -> this.createCompiler()
+                .compile(JsonNode.parse("{\"value\": 1, \"unknown\": 2}"))
+        );
+        this.checkEquals(
+            JsonPropertyName.with("unknown"),
+            thrown.name(),
+            "name"
+        );
+    }
+
+    @Test
+    public void testCompile() {
+        final PatchPlan plan = this.createCompiler()
+            .compile(JsonNode.parse("{\"style\": 1, \"value\": 2}"));
+
+        this.checkEquals(
+            2,
+            plan.size(),
+            "size"
+        );
+        this.checkEquals(
+            1,
+            plan.index(0),
+            "index(0)"
+        );
+        this.checkEquals(
+            0,
+            plan.index(1),
+            "index(1)"
+        );
+    }
+
+    @Test
+    public void testCompileSameShapeReused() {
+        final PatchPlan plan = this.createCompiler()
+            .compile(JsonNode.parse("{\"style\": 1, \"value\": 2}"));
+
+        final JsonNode[] values = plan.values(
+            JsonNode.parse("{\"style\": \"different\", \"value\": true}")
+        );
+        this.checkEquals(
+            "different",
+            values[1].stringOrFail(),
+            "style"
+        );
+    }
+
+    @Test
+    public void testCompileSameShapeCached() {
+        final PatchCompiler compiler = this.createCompiler();
+
+        assertSame(
+            compiler.compile(JsonNode.parse("{\"style\": 1, \"value\": 2}")),
+            compiler.compile(JsonNode.parse("{\"style\": \"different\", \"value\": true}"))
+        );
+    }
+
+    @Test
+    public void testCompileDifferentOrderNotShared() {
+        final PatchCompiler compiler = this.createCompiler();
+
+        this.checkNotEquals(
+            compiler.compile(JsonNode.parse("{\"style\": 1, \"value\": 2}")).toString(),
+            compiler.compile(JsonNode.parse("{\"value\": 2, \"style\": 1}")).toString()
+        );
+    }
+
+    @Test
+    public void testPatchWithPlan() {
+        final TestJsonObjectPatchable patchable = TestJsonObjectPatchable.parse("{\"value\": 1}");
+        final JsonNode patch = JsonNode.parse("{\"value\": 2}");
+
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"value\": 2}"),
+            patchable.patch(
+                this.createCompiler().compile(patch),
+                patch,
+                PatchableTestingTest.CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            "[value, style, format]",
+            this.createCompiler().toString()
+        );
+    }
+
+    private PatchCompiler createCompiler() {
+        return PatchCompiler.with(
+            VALUE,
+            STYLE,
+            FORMAT
+        );
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchDiffTest implements Testing {
+
+    @Test
+    public void testDiffNullBeforeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchDiff.diff(null, JsonNode.object())
+        );
+    }
+
+    @Test
+    public void testDiffNullAfterFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchDiff.diff(JsonNode.object(), null)
+        );
+    }
+
+    @Test
+    public void testDiffSame() {
+        this.diffAndCheck(
+            "{\"a\": 1, \"b\": {\"c\": [2]}}",
+            "{\"a\": 1, \"b\": {\"c\": [2]}}",
+            "{}"
+        );
+    }
+
+    @Test
+    public void testDiffAdded() {
+        this.diffAndCheck(
+            "{\"a\": 1}",
+            "{\"a\": 1, \"b\": 2}",
+            "{\"b\": 2}"
+        );
+    }
+
+    @Test
+    public void testDiffRemoved() {
+        this.diffAndCheck(
+            "{\"a\": 1, \"b\": 2, \"c\": 3}",
+            "{\"b\": 2}",
+            "{\"a\": null, \"c\": null}"
+        );
+    }
+
+    @Test
+    public void testDiffChanged() {
+        this.diffAndCheck(
+            "{\"a\": 1, \"b\": \"x\", \"c\": true}",
+            "{\"a\": 1, \"b\": \"y\", \"c\": true}",
+            "{\"b\": \"y\"}"
+        );
+    }
+
+    @Test
+    public void testDiffNested() {
+        this.diffAndCheck(
+            "{\"a\": {\"b\": {\"c\": 1, \"d\": 2}, \"e\": 3}, \"f\": 4}",
+            "{\"a\": {\"b\": {\"c\": 1, \"d\": 5}, \"e\": 3}, \"f\": 4}",
+            "{\"a\": {\"b\": {\"d\": 5}}}"
+        );
+    }
+
+    @Test
+    public void testDiffObjectReplacedByLeaf() {
+        this.diffAndCheck(
+            "{\"a\": {\"b\": 1}}",
+            "{\"a\": 2}",
+            "{\"a\": 2}"
+        );
+    }
+
+    @Test
+    public void testDiffLeafReplacedByObject() {
+        this.diffAndCheck(
+            "{\"a\": 1}",
+            "{\"a\": {\"b\": 2}}",
+            "{\"a\": {\"b\": 2}}"
+        );
+    }
+
+    @Test
+    public void testDiffArrayReplaced() {
+        this.diffAndCheck(
+            "{\"a\": [1, 2, 3]}",
+            "{\"a\": [1, 2]}",
+            "{\"a\": [1, 2]}"
+        );
+    }
+
+    @Test
+    public void testDiffNotObject() {
+        this.diffAndCheck(
+            "{\"a\": 1}",
+            "\"b\"",
+            "\"b\""
+        );
+    }
+
+    @Test
+    public void testDiffNullUnchanged() {
+        this.diffAndCheck(
+            "{\"a\": null, \"b\": 1}",
+            "{\"a\": null, \"b\": 2}",
+            "{\"b\": 2}"
+        );
+    }
+
+    @Test
+    public void testDiffNullInArrayReplaced() {
+        this.diffAndCheck(
+            "{\"a\": [1]}",
+            "{\"a\": [null, {\"b\": null}]}",
+            "{\"a\": [null, {\"b\": null}]}"
+        );
+    }
+
+    @Test
+    public void testDiffNullAddedFails() {
+        this.diffNullPropertyFails(
+            "{\"a\": 1}",
+            "{\"a\": 1, \"b\": null}",
+            "b"
+        );
+    }
+
+    @Test
+    public void testDiffNullChangedFails() {
+        this.diffNullPropertyFails(
+            "{\"a\": 1}",
+            "{\"a\": null}",
+            "a"
+        );
+    }
+
+    @Test
+    public void testDiffNullNestedChangedFails() {
+        this.diffNullPropertyFails(
+            "{\"a\": {\"b\": 1, \"c\": 2}}",
+            "{\"a\": {\"b\": null, \"c\": 2}}",
+            "b"
+        );
+    }
+
+    @Test
+    public void testDiffNullWithinAddedObjectFails() {
+        this.diffNullPropertyFails(
+            "{}",
+            "{\"a\": {\"b\": {\"c\": null}}}",
+            "c"
+        );
+    }
+
+    @Test
+    public void testDiffNullWithinReplacedObjectFails() {
+        this.diffNullPropertyFails(
+            "\"a\"",
+            "{\"b\": null}",
+            "b"
+        );
+    }
+
+    private void diffNullPropertyFails(final String before,
+                                       final String after,
+                                       final String property) {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchDiff.diff(
+                JsonNode.parse(before),
+                JsonNode.parse(after)
+            )
+        );
+        this.checkEquals(
+            "Null property " + property + " cannot be set by a merge patch",
+            thrown.getMessage()
+        );
+    }
+
+    private void diffAndCheck(final String before,
+                              final String after,
+                              final String patch) {
+        final JsonNode beforeJson = JsonNode.parse(before);
+        final JsonNode afterJson = JsonNode.parse(after);
+        final JsonNode diff = PatchDiff.diff(
+            beforeJson,
+            afterJson
+        );
+
+        this.checkEquals(
+            JsonNode.parse(patch),
+            diff,
+            () -> "diff " + before + " " + after
+        );
+
+        this.checkEquals(
+            new TestJsonObjectPatchable(afterJson),
+            new TestJsonObjectPatchable(beforeJson)
+                .patch(
+                    diff,
+                    PatchableTestingTest.CONTEXT
+                ),
+            () -> "patch " + before + " with " + diff
+        );
+    }
+
+    @Test
+    public void testIsNoopNullCurrentFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchDiff.isNoop(null, JsonNode.object())
+        );
+    }
+
+    @Test
+    public void testIsNoopNullPatchFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchDiff.isNoop(JsonNode.object(), null)
+        );
+    }
+
+    @Test
+    public void testIsNoopEmptyPatch() {
+        this.isNoopAndCheck(
+            "{\"a\": 1}",
+            "{}",
+            true
+        );
+    }
+
+    @Test
+    public void testIsNoopSameValues() {
+        this.isNoopAndCheck(
+            "{\"a\": 1, \"b\": \"x\", \"c\": [1, 2]}",
+            "{\"c\": [1, 2], \"a\": 1}",
+            true
+        );
+    }
+
+    @Test
+    public void testIsNoopDifferentValue() {
+        this.isNoopAndCheck(
+            "{\"a\": 1, \"b\": 2}",
+            "{\"a\": 1, \"b\": 3}",
+            false
+        );
+    }
+
+    @Test
+    public void testIsNoopNewProperty() {
+        this.isNoopAndCheck(
+            "{\"a\": 1}",
+            "{\"b\": 1}",
+            false
+        );
+    }
+
+    @Test
+    public void testIsNoopRemoveAbsent() {
+        this.isNoopAndCheck(
+            "{\"a\": 1}",
+            "{\"b\": null}",
+            true
+        );
+    }
+
+    @Test
+    public void testIsNoopRemovePresent() {
+        this.isNoopAndCheck(
+            "{\"a\": 1}",
+            "{\"a\": null}",
+            false
+        );
+    }
+
+    @Test
+    public void testIsNoopNestedSame() {
+        this.isNoopAndCheck(
+            "{\"a\": {\"b\": 1, \"c\": 2}}",
+            "{\"a\": {\"c\": 2}}",
+            true
+        );
+    }
+
+    @Test
+    public void testIsNoopNestedDifferent() {
+        this.isNoopAndCheck(
+            "{\"a\": {\"b\": 1, \"c\": 2}}",
+            "{\"a\": {\"c\": 3}}",
+            false
+        );
+    }
+
+    @Test
+    public void testIsNoopNotObject() {
+        this.isNoopAndCheck(
+            "\"a\"",
+            "\"a\"",
+            true
+        );
+    }
+
+    private void isNoopAndCheck(final String current,
+                                final String patch,
+                                final boolean expected) {
+        this.checkEquals(
+            expected,
+            PatchDiff.isNoop(
+                JsonNode.parse(current),
+                JsonNode.parse(patch)
+            ),
+            () -> "isNoop " + current + " " + patch
+        );
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchExecutorTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    @Test
+    public void testWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchExecutor.with(null, 1)
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxPendingFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchExecutor.with(Runnable::run, 0)
+        );
+    }
+
+    @Test
+    public void testSubmitNullKeyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchExecutor.with(Runnable::run, 1)
+                .submit(null, () -> "")
+        );
+    }
+
+    @Test
+    public void testSubmitNullTaskFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchExecutor.with(Runnable::run, 1)
+                .submit("key", null)
+        );
+    }
+
+    @Test
+    public void testPatch() throws Exception {
+        final PatchExecutor<String> executor = PatchExecutor.with(Runnable::run, 1);
+
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"a\": 2}"),
+            executor.patch(
+                "key",
+                () -> TestJsonObjectPatchable.parse("{\"a\": 1}"),
+                JsonNode.parse("{\"a\": 2}"),
+                CONTEXT
+            ).get()
+        );
+        this.checkEquals(
+            0,
+            executor.pending(),
+            "pending"
+        );
+        this.checkEquals(
+            0,
+            executor.activeKeys(),
+            "activeKeys"
+        );
+    }
+
+    @Test
+    public void testSubmitSameKeyOrdered() {
+        final TestExecutor testExecutor = new TestExecutor();
+        final PatchExecutor<String> executor = PatchExecutor.with(testExecutor, 10);
+        final List<String> log = new ArrayList<>();
+
+        executor.submit("a", () -> log.add("a1"));
+        executor.submit("a", () -> log.add("a2"));
+        executor.submit("b", () -> log.add("b1"));
+        executor.submit("a", () -> log.add("a3"));
+
+        this.checkEquals(
+            4,
+            executor.pending(),
+            "pending"
+        );
+        this.checkEquals(
+            2,
+            executor.activeKeys(),
+            "activeKeys"
+        );
+
+        testExecutor.runAll();
+
+        this.checkEquals(
+            Lists.of("a1", "b1", "a2", "a3"),
+            log
+        );
+        this.checkEquals(
+            0,
+            executor.pending(),
+            "pending"
+        );
+        this.checkEquals(
+            0,
+            executor.activeKeys(),
+            "activeKeys"
+        );
+    }
+
+    @Test
+    public void testSubmitContinuesAfterFailure() throws Exception {
+        final TestExecutor testExecutor = new TestExecutor();
+        final PatchExecutor<String> executor = PatchExecutor.with(testExecutor, 10);
+
+        final CompletableFuture<String> failed = executor.submit(
+            "a",
+            () -> {
+                throw new IllegalStateException("fail!");
+            }
+        );
+        final CompletableFuture<String> next = executor.submit(
+            "a",
+            () -> "next"
+        );
+
+        testExecutor.runAll();
+
+        assertThrows(
+            ExecutionException.class,
+            failed::get
+        );
+        this.checkEquals(
+            "next",
+            next.get()
+        );
+    }
+
+    @Test
+    public void testSubmitPatchSeesPreviousResult() throws Exception {
+        final TestExecutor testExecutor = new TestExecutor();
+        final PatchExecutor<String> executor = PatchExecutor.with(testExecutor, 10);
+        final TestJsonObjectPatchable[] store = new TestJsonObjectPatchable[]{
+            TestJsonObjectPatchable.parse("{}")
+        };
+
+        for (int i = 0; i < 3; i++) {
+            executor.patch(
+                "key",
+                () -> store[0],
+                JsonNode.parse("{\"p" + i + "\": " + i + "}"),
+                CONTEXT
+            ).thenAccept(p -> store[0] = p);
+        }
+
+        testExecutor.runAll();
+
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"p0\": 0, \"p1\": 1, \"p2\": 2}"),
+            store[0]
+        );
+    }
+
+    @Test
+    public void testSubmitRejectedWhenFull() {
+        final TestExecutor testExecutor = new TestExecutor();
+        final PatchExecutor<String> executor = PatchExecutor.with(testExecutor, 2);
+
+        executor.submit("a", () -> "a");
+        executor.submit("b", () -> "b");
+
+        final CompletableFuture<String> rejected = executor.submit("c", () -> "c");
+        final ExecutionException thrown = assertThrows(
+            ExecutionException.class,
+            rejected::get
+        );
+        this.checkEquals(
+            RejectedExecutionException.class,
+            thrown.getCause().getClass(),
+            "cause"
+        );
+        this.checkEquals(
+            1L,
+            executor.rejectedCount(),
+            "rejectedCount"
+        );
+
+        testExecutor.runAll();
+
+        this.checkEquals(
+            0,
+            executor.pending(),
+            "pending"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            "pending=0 maxPending=5 rejected=0",
+            PatchExecutor.with(Runnable::run, 5)
+                .toString()
+        );
+    }
+
+    /**
+     * Queues tasks until {@link #runAll()}, so tests control when tasks run.
+     */
+    private static final class TestExecutor implements Executor {
+
+        @Override
+        public void execute(final Runnable task) {
+            this.tasks.add(task);
+        }
+
+        void runAll() {
+            while (false == this.tasks.isEmpty()) {
+                this.tasks.remove(0)
+                    .run();
+            }
+        }
+
+        private final List<Runnable> tasks = new ArrayList<>();
+    }
+}
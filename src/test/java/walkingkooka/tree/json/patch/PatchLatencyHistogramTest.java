@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchLatencyHistogramTest implements Testing {
+
+    @Test
+    public void testPercentileInvalidFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchLatencyHistogram.empty().percentile(-1)
+        );
+    }
+
+    @Test
+    public void testPercentileInvalidFails2() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchLatencyHistogram.empty().percentile(100.1)
+        );
+    }
+
+    @Test
+    public void testIndexAndHighestValue() {
+        for (long value = 0; value < 100_000; value++) {
+            final long highest = PatchLatencyHistogram.highestValue(
+                PatchLatencyHistogram.index(value)
+            );
+
+            if (highest < value || highest > value + value / 8) {
+                this.checkEquals(
+                    value,
+                    highest,
+                    "highestValue of " + value
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testIndexMaxValue() {
+        this.checkEquals(
+            Long.MAX_VALUE,
+            PatchLatencyHistogram.highestValue(
+                PatchLatencyHistogram.index(Long.MAX_VALUE)
+            )
+        );
+    }
+
+    @Test
+    public void testPercentileEmpty() {
+        this.checkEquals(
+            0L,
+            PatchLatencyHistogram.empty()
+                .percentile(99)
+        );
+    }
+
+    @Test
+    public void testPercentile() {
+        final PatchLatencyHistogram histogram = PatchLatencyHistogram.empty();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        histogram.record(-1);
+
+        this.checkEquals(
+            101L,
+            histogram.count(),
+            "count"
+        );
+        this.checkEquals(
+            0L,
+            histogram.percentile(0),
+            "p0"
+        );
+        this.checkEquals(
+            51L,
+            histogram.percentile(50),
+            "p50"
+        );
+        this.checkEquals(
+            103L,
+            histogram.percentile(99),
+            "p99"
+        );
+        this.checkEquals(
+            103L,
+            histogram.percentile(100),
+            "p100"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final PatchLatencyHistogram histogram = PatchLatencyHistogram.empty();
+        histogram.record(5);
+
+        this.checkEquals(
+            "count=1 p50=5 p99=5",
+            histogram.toString()
+        );
+    }
+}
@@ -0,0 +1,587 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchLogTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    @Test
+    public void testWithNullInitialFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchLog.with(null, 1)
+        );
+    }
+
+    @Test
+    public void testWithInvalidSnapshotIntervalFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchLog.with(TestJsonObjectPatchable.parse("{}"), 0)
+        );
+    }
+
+    @Test
+    public void testAppendNullPatchFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchLog.with(TestJsonObjectPatchable.parse("{}"), 1)
+                .append(null, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testAppendNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchLog.with(TestJsonObjectPatchable.parse("{}"), 1)
+                .append(JsonNode.object(), null)
+        );
+    }
+
+    @Test
+    public void testAppend() {
+        final PatchLog<TestJsonObjectPatchable> log = PatchLog.with(
+            TestJsonObjectPatchable.parse("{}"),
+            2
+        );
+
+        final TestJsonObjectPatchable patched = log.append(
+            JsonNode.parse("{\"a\": 1}"),
+            CONTEXT
+        );
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"a\": 1}"),
+            patched
+        );
+        assertSame(
+            patched,
+            log.head(),
+            "head"
+        );
+        this.checkEquals(
+            1L,
+            log.version(),
+            "version"
+        );
+        this.checkEquals(
+            1,
+            log.snapshotCount(),
+            "snapshotCount"
+        );
+    }
+
+    @Test
+    public void testAppendSnapshots() {
+        final PatchLog<TestJsonObjectPatchable> log = this.createLog(5, 2);
+
+        this.checkEquals(
+            3,
+            log.snapshotCount(),
+            "snapshotCount"
+        );
+    }
+
+    @Test
+    public void testReplayInvalidVersionFails() {
+        final PatchLog<TestJsonObjectPatchable> log = this.createLog(2, 2);
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> log.replay(3, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testReplayNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createLog(2, 2)
+                .replay(1, null)
+        );
+    }
+
+    @Test
+    public void testReplayEveryVersion() {
+        final PatchLog<TestJsonObjectPatchable> log = this.createLog(7, 3);
+
+        for (int i = 0; i <= 7; i++) {
+            this.checkEquals(
+                this.expected(i),
+                log.replay(i, CONTEXT),
+                "version " + i
+            );
+        }
+    }
+
+    @Test
+    public void testReplaySnapshot() {
+        final PatchLog<TestJsonObjectPatchable> log = this.createLog(6, 3);
+
+        final TestJsonObjectPatchable snapshot = log.replay(3, CONTEXT);
+        assertSame(
+            snapshot,
+            log.replay(3, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testReplayMergesPatchesAfterSnapshot() {
+        final PatchLog<TestJsonObjectPatchable> log = this.createLog(5, 3);
+
+        final TestJsonObjectPatchable snapshot = log.replay(3, CONTEXT);
+        final int patchCount = snapshot.patchCount;
+
+        this.checkEquals(
+            this.expected(5),
+            log.replay(5, CONTEXT)
+        );
+        this.checkEquals(
+            patchCount + 1,
+            snapshot.patchCount,
+            "patchCount"
+        );
+    }
+
+    @Test
+    public void testCompact() {
+        final PatchLog<TestJsonObjectPatchable> log = this.createLog(7, 3);
+
+        this.checkEquals(
+            4,
+            log.compact(),
+            "compact"
+        );
+        this.checkEquals(
+            0L,
+            log.firstVersion(),
+            "firstVersion"
+        );
+        this.checkEquals(
+            Lists.of(
+                PatchLogEntry.with(
+                    1,
+                    3,
+                    JsonNode.parse("{\"p1\": 1, \"last\": 3, \"p2\": 2, \"p3\": 3}")
+                ),
+                PatchLogEntry.with(
+                    4,
+                    6,
+                    JsonNode.parse("{\"p4\": 4, \"last\": 6, \"p5\": 5, \"p6\": 6}")
+                ),
+                PatchLogEntry.with(
+                    7,
+                    7,
+                    this.patch(7)
+                )
+            ),
+            log.entries(),
+            "entries"
+        );
+        this.checkEquals(
+            2,
+            log.snapshotCount(),
+            "snapshotCount"
+        );
+
+        for (final int version : new int[]{0, 3, 6, 7}) {
+            this.checkEquals(
+                this.expected(version),
+                log.replay(version, CONTEXT),
+                "version " + version
+            );
+        }
+
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> log.replay(5, CONTEXT)
+        );
+        this.checkEquals(
+            "Invalid version 5 folded into 4..6",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testCompactTwice() {
+        final PatchLog<TestJsonObjectPatchable> log = this.createLog(7, 3);
+        log.compact();
+
+        this.checkEquals(
+            0,
+            log.compact(),
+            "compact"
+        );
+    }
+
+    @Test
+    public void testCompactAfterAppendFoldsOnlyNewPatches() {
+        final PatchLog<TestJsonObjectPatchable> log = this.createLog(4, 2);
+        log.compact();
+
+        for (int i = 5; i <= 8; i++) {
+            log.append(this.patch(i), CONTEXT);
+        }
+
+        this.checkEquals(
+            2,
+            log.compact(),
+            "compact"
+        );
+        this.checkEquals(
+            Lists.of(
+                PatchLogEntry.with(
+                    1,
+                    2,
+                    JsonNode.parse("{\"p1\": 1, \"last\": 2, \"p2\": 2}")
+                ),
+                PatchLogEntry.with(
+                    3,
+                    4,
+                    JsonNode.parse("{\"p3\": 3, \"last\": 4, \"p4\": 4}")
+                ),
+                PatchLogEntry.with(
+                    5,
+                    6,
+                    JsonNode.parse("{\"p5\": 5, \"last\": 6, \"p6\": 6}")
+                ),
+                PatchLogEntry.with(
+                    7,
+                    8,
+                    JsonNode.parse("{\"p7\": 7, \"last\": 8, \"p8\": 8}")
+                )
+            ),
+            log.entries(),
+            "entries"
+        );
+        this.checkEquals(
+            3,
+            log.snapshotCount(),
+            "snapshotCount"
+        );
+
+        for (int version = 0; version <= 8; version += 2) {
+            this.checkEquals(
+                this.expected(version),
+                log.replay(version, CONTEXT),
+                "version " + version
+            );
+        }
+    }
+
+    @Test
+    public void testCompactNotMerged() {
+        final PatchLog<TestJsonObjectPatchable> log = PatchLog.with(
+            TestJsonObjectPatchable.parse("{}"),
+            3
+        );
+        log.append(JsonNode.parse("{\"a\": 1}"), CONTEXT);
+        log.append(JsonNode.parse("[]"), CONTEXT);
+        log.append(JsonNode.parse("{\"b\": 2}"), CONTEXT);
+        log.append(JsonNode.parse("{\"c\": 3}"), CONTEXT);
+
+        this.checkEquals(
+            0,
+            log.compact(),
+            "compact"
+        );
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"b\": 2}"),
+            log.replay(3, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testCompactNothing() {
+        final PatchLog<TestJsonObjectPatchable> log = this.createLog(2, 3);
+
+        this.checkEquals(
+            0,
+            log.compact(),
+            "compact"
+        );
+        this.checkEquals(
+            2,
+            log.entries().size(),
+            "entries"
+        );
+    }
+
+    @Test
+    public void testAppendAfterCompact() {
+        final PatchLog<TestJsonObjectPatchable> log = this.createLog(4, 2);
+        log.compact();
+
+        for (int i = 5; i <= 9; i++) {
+            log.append(this.patch(i), CONTEXT);
+        }
+
+        for (final int version : new int[]{0, 2, 4, 5, 6, 7, 8, 9}) {
+            this.checkEquals(
+                this.expected(version),
+                log.replay(version, CONTEXT),
+                "version " + version
+            );
+        }
+    }
+
+    // store............................................................................................................
+
+    @Test
+    public void testWithNullStoreFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchLog.with(TestJsonObjectPatchable.parse("{}"), 1, null, MARSHALLER)
+        );
+    }
+
+    @Test
+    public void testWithNullMarshallerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchLog.with(TestJsonObjectPatchable.parse("{}"), 1, new TestPatchLogStore(), null)
+        );
+    }
+
+    @Test
+    public void testWithStoreNotEmptyFails() {
+        final TestPatchLogStore store = new TestPatchLogStore();
+        store.appendSnapshot(PatchLogSnapshot.with(0, JsonNode.object()));
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchLog.with(TestJsonObjectPatchable.parse("{}"), 1, store, MARSHALLER)
+        );
+    }
+
+    @Test
+    public void testAppendStored() {
+        final TestPatchLogStore store = new TestPatchLogStore();
+        final PatchLog<TestJsonObjectPatchable> log = this.createLog(5, 2, store);
+
+        this.checkEquals(
+            Lists.of(
+                PatchLogSnapshot.with(0, this.expected(0).value),
+                PatchLogSnapshot.with(2, this.expected(2).value),
+                PatchLogSnapshot.with(4, this.expected(4).value)
+            ),
+            store.snapshots,
+            "snapshots"
+        );
+        this.checkEquals(
+            log.entries(),
+            store.entries,
+            "entries"
+        );
+    }
+
+    @Test
+    public void testRecoverEmptyStoreFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchLog.recover(new TestPatchLogStore(), 2, MARSHALLER, UNMARSHALLER, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testRecover() {
+        final TestPatchLogStore store = new TestPatchLogStore();
+        this.createLog(5, 2, store);
+
+        final PatchLog<TestJsonObjectPatchable> recovered = PatchLog.recover(
+            store,
+            2,
+            MARSHALLER,
+            UNMARSHALLER,
+            CONTEXT
+        );
+
+        this.checkEquals(
+            this.expected(5),
+            recovered.head(),
+            "head"
+        );
+        this.checkEquals(
+            5L,
+            recovered.version(),
+            "version"
+        );
+        this.checkEquals(
+            4L,
+            recovered.firstVersion(),
+            "firstVersion"
+        );
+
+        recovered.append(this.patch(6), CONTEXT);
+        this.checkEquals(
+            this.expected(6),
+            recovered.replay(6, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testCompactRewritesStore() {
+        final TestPatchLogStore store = new TestPatchLogStore();
+        final PatchLog<TestJsonObjectPatchable> log = this.createLog(7, 3, store);
+        log.compact();
+
+        this.checkEquals(
+            Lists.of(
+                PatchLogSnapshot.with(6, this.expected(6).value)
+            ),
+            store.snapshots,
+            "snapshots"
+        );
+        this.checkEquals(
+            Lists.of(
+                PatchLogEntry.with(7, 7, this.patch(7))
+            ),
+            store.entries,
+            "entries"
+        );
+
+        this.checkEquals(
+            this.expected(7),
+            PatchLog.recover(
+                store,
+                3,
+                MARSHALLER,
+                UNMARSHALLER,
+                CONTEXT
+            ).head()
+        );
+    }
+
+    private final static Function<TestJsonObjectPatchable, JsonNode> MARSHALLER = p -> p.value;
+
+    private final static Function<JsonNode, TestJsonObjectPatchable> UNMARSHALLER = TestJsonObjectPatchable::new;
+
+    /**
+     * A {@link PatchLogStore} that records everything in memory.
+     */
+    static final class TestPatchLogStore implements PatchLogStore {
+
+        @Override
+        public void append(final PatchLogEntry entry) {
+            this.entries.add(entry);
+        }
+
+        @Override
+        public void appendSnapshot(final PatchLogSnapshot snapshot) {
+            this.snapshots.add(snapshot);
+        }
+
+        @Override
+        public Optional<PatchLogSnapshot> latestSnapshot() {
+            return this.snapshots.isEmpty() ?
+                Optional.empty() :
+                Optional.of(this.snapshots.get(this.snapshots.size() - 1));
+        }
+
+        @Override
+        public List<PatchLogEntry> entries() {
+            final long version = this.latestSnapshot()
+                .map(PatchLogSnapshot::version)
+                .orElse(0L);
+            return this.entries.stream()
+                .filter(e -> e.version() > version)
+                .collect(Collectors.toList());
+        }
+
+        @Override
+        public void rewrite(final PatchLogSnapshot snapshot,
+                            final List<PatchLogEntry> entries) {
+            this.snapshots.clear();
+            this.snapshots.add(snapshot);
+            this.entries.clear();
+            this.entries.addAll(entries);
+        }
+
+        final List<PatchLogSnapshot> snapshots = new ArrayList<>();
+
+        final List<PatchLogEntry> entries = new ArrayList<>();
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            "version=5 firstVersion=0 snapshots=3",
+            this.createLog(5, 2).toString()
+        );
+    }
+
+    private PatchLog<TestJsonObjectPatchable> createLog(final int count,
+                                                        final int snapshotInterval) {
+        return this.createLog(
+            count,
+            snapshotInterval,
+            PatchLogStore.none()
+        );
+    }
+
+    private PatchLog<TestJsonObjectPatchable> createLog(final int count,
+                                                        final int snapshotInterval,
+                                                        final PatchLogStore store) {
+        final PatchLog<TestJsonObjectPatchable> log = PatchLog.with(
+            TestJsonObjectPatchable.parse("{}"),
+            snapshotInterval,
+            store,
+            MARSHALLER
+        );
+        for (int i = 1; i <= count; i++) {
+            log.append(this.patch(i), CONTEXT);
+        }
+        return log;
+    }
+
+    /**
+     * Each patch sets a property unique to the version and overwrites a shared property.
+     */
+    private JsonNode patch(final int version) {
+        return JsonNode.parse("{\"p" + version + "\": " + version + ", \"last\": " + version + "}");
+    }
+
+    private TestJsonObjectPatchable expected(final int version) {
+        final StringBuilder b = new StringBuilder();
+        b.append('{');
+        for (int i = 1; i <= version; i++) {
+            b.append("\"p").append(i).append("\": ").append(i).append(", ");
+        }
+        if (version > 0) {
+            b.append("\"last\": ").append(version);
+        }
+        b.append('}');
+        return TestJsonObjectPatchable.parse(b.toString());
+    }
+}
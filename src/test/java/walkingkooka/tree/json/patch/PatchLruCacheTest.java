@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchLruCacheTest implements Testing {
+
+    @Test
+    public void testWithInvalidMaxSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchLruCache.with(0)
+        );
+    }
+
+    @Test
+    public void testGetPutEvicts() {
+        final PatchLruCache<String, Integer> cache = PatchLruCache.with(2);
+
+        this.checkEquals(null, cache.get("a"), "get a");
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+        this.checkEquals(1, cache.get("a"), "get a"); // b is now least recently used
+
+        cache.put("c", 3);
+
+        this.checkEquals(null, cache.get("b"), "get b evicted");
+        this.checkEquals(1, cache.get("a"), "get a");
+        this.checkEquals(3, cache.get("c"), "get c");
+
+        this.checkEquals(2, cache.size(), "size");
+        this.checkEquals(3L, cache.hits(), "hits");
+        this.checkEquals(2L, cache.misses(), "misses");
+        this.checkEquals(1L, cache.evictions(), "evictions");
+    }
+
+    @Test
+    public void testToString() {
+        final PatchLruCache<String, Integer> cache = PatchLruCache.with(2);
+        cache.put("a", 1);
+        cache.get("a");
+
+        this.checkEquals(
+            "size=1 hits=1 misses=0 evictions=0",
+            cache.toString()
+        );
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchMergerTest implements Testing {
+
+    @Test
+    public void testMergeNullBaseFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchMerger.merge(null, JsonNode.object(), JsonNode.object())
+        );
+    }
+
+    @Test
+    public void testMergeNullLeftFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchMerger.merge(JsonNode.object(), null, JsonNode.object())
+        );
+    }
+
+    @Test
+    public void testMergeNullRightFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchMerger.merge(JsonNode.object(), JsonNode.object(), null)
+        );
+    }
+
+    @Test
+    public void testMergeDisjoint() {
+        this.mergeAndCheck(
+            "{\"a\": 1, \"b\": 2}",
+            "{\"a\": 10}",
+            "{\"b\": 20, \"c\": 30}",
+            "{\"a\": 10, \"b\": 20, \"c\": 30}"
+        );
+    }
+
+    @Test
+    public void testMergeSameValue() {
+        this.mergeAndCheck(
+            "{\"a\": 1}",
+            "{\"a\": 10}",
+            "{\"a\": 10}",
+            "{\"a\": 10}"
+        );
+    }
+
+    @Test
+    public void testMergeBothRemove() {
+        this.mergeAndCheck(
+            "{\"a\": 1, \"b\": 2}",
+            "{\"a\": null}",
+            "{\"a\": null, \"b\": 3}",
+            "{\"a\": null, \"b\": 3}"
+        );
+    }
+
+    @Test
+    public void testMergeNested() {
+        this.mergeAndCheck(
+            "{\"style\": {\"color\": \"red\", \"width\": 1}}",
+            "{\"style\": {\"color\": \"blue\"}}",
+            "{\"style\": {\"width\": 2}}",
+            "{\"style\": {\"color\": \"blue\", \"width\": 2}}"
+        );
+    }
+
+    @Test
+    public void testMergeLeftUnchangedFromBase() {
+        this.mergeAndCheck(
+            "{\"a\": 1}",
+            "{\"a\": 1}",
+            "{\"a\": 2}",
+            "{\"a\": 2}"
+        );
+    }
+
+    @Test
+    public void testMergeRightRemovesMissing() {
+        this.mergeAndCheck(
+            "{}",
+            "{\"a\": 1}",
+            "{\"a\": null}",
+            "{\"a\": 1}"
+        );
+    }
+
+    @Test
+    public void testMergeConflict() {
+        final JsonNode base = JsonNode.parse("{\"a\": 1, \"b\": 1}");
+        final JsonNode left = JsonNode.parse("{\"a\": 2, \"b\": 3}");
+        final JsonNode right = JsonNode.parse("{\"a\": 4, \"b\": 3}");
+
+        this.checkEquals(
+            PatchMergeResult.conflicts(
+                Lists.of(
+                    PatchConflict.with(
+                        Lists.of(JsonPropertyName.with("a")),
+                        Optional.of(JsonNode.number(1)),
+                        JsonNode.number(2),
+                        JsonNode.number(4)
+                    )
+                )
+            ),
+            PatchMerger.merge(
+                base,
+                left,
+                right
+            )
+        );
+    }
+
+    @Test
+    public void testMergeNestedConflicts() {
+        final PatchMergeResult result = PatchMerger.merge(
+            JsonNode.parse("{\"style\": {\"color\": \"red\"}}"),
+            JsonNode.parse("{\"style\": {\"color\": \"blue\", \"new\": 1}, \"x\": true}"),
+            JsonNode.parse("{\"style\": {\"color\": null, \"new\": 2}, \"x\": false}")
+        );
+
+        final JsonPropertyName style = JsonPropertyName.with("style");
+        this.checkEquals(
+            Lists.of(
+                PatchConflict.with(
+                    Lists.of(style, JsonPropertyName.with("color")),
+                    Optional.of(JsonNode.string("red")),
+                    JsonNode.string("blue"),
+                    JsonNode.nullNode()
+                ),
+                PatchConflict.with(
+                    Lists.of(style, JsonPropertyName.with("new")),
+                    Optional.empty(),
+                    JsonNode.number(1),
+                    JsonNode.number(2)
+                ),
+                PatchConflict.with(
+                    Lists.of(JsonPropertyName.with("x")),
+                    Optional.empty(),
+                    JsonNode.booleanNode(true),
+                    JsonNode.booleanNode(false)
+                )
+            ),
+            result.conflicts()
+        );
+        this.checkEquals(
+            false,
+            result.isMerged(),
+            "isMerged"
+        );
+    }
+
+    @Test
+    public void testMergeRootReplaceConflict() {
+        this.checkEquals(
+            Lists.of(
+                PatchConflict.with(
+                    Lists.empty(),
+                    Optional.of(JsonNode.parse("{}")),
+                    JsonNode.string("left"),
+                    JsonNode.string("right")
+                )
+            ),
+            PatchMerger.merge(
+                JsonNode.object(),
+                JsonNode.string("left"),
+                JsonNode.string("right")
+            ).conflicts()
+        );
+    }
+
+    @Test
+    public void testMergeAppliesAsBoth() {
+        final String base = "{\"a\": 1, \"b\": {\"c\": 2, \"d\": 3}, \"e\": 4}";
+        final String left = "{\"a\": 10, \"b\": {\"c\": null}}";
+        final String right = "{\"b\": {\"d\": 30}, \"e\": null}";
+
+        final TestJsonObjectPatchable merged = TestJsonObjectPatchable.parse(base)
+            .patch(
+                PatchMerger.merge(
+                    JsonNode.parse(base),
+                    JsonNode.parse(left),
+                    JsonNode.parse(right)
+                ).patch()
+                    .get(),
+                PatchableTestingTest.CONTEXT
+            );
+
+        this.checkEquals(
+            TestJsonObjectPatchable.parse(base)
+                .patch(JsonNode.parse(left), PatchableTestingTest.CONTEXT)
+                .patch(JsonNode.parse(right), PatchableTestingTest.CONTEXT),
+            merged
+        );
+    }
+
+    @Test
+    public void testConflictToString() {
+        this.checkEquals(
+            "/a/b " + JsonNode.number(1) + " <> " + JsonNode.number(2),
+            PatchConflict.with(
+                Lists.of(JsonPropertyName.with("a"), JsonPropertyName.with("b")),
+                Optional.empty(),
+                JsonNode.number(1),
+                JsonNode.number(2)
+            ).toString()
+        );
+    }
+
+    @Test
+    public void testMergeResultConflictsEmptyFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchMergeResult.conflicts(Lists.empty())
+        );
+    }
+
+    private void mergeAndCheck(final String base,
+                               final String left,
+                               final String right,
+                               final String expected) {
+        this.checkEquals(
+            PatchMergeResult.merged(
+                JsonNode.parse(expected)
+            ),
+            PatchMerger.merge(
+                JsonNode.parse(base),
+                JsonNode.parse(left),
+                JsonNode.parse(right)
+            ),
+            () -> base + " " + left + " " + right
+        );
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchPlanTest implements Testing {
+
+    private final static PatchCompiler COMPILER = PatchCompiler.with(
+        JsonPropertyName.with("value"),
+        JsonPropertyName.with("style"),
+        JsonPropertyName.with("format")
+    );
+
+    @Test
+    public void testValuesNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createPlan().values(null)
+        );
+    }
+
+    @Test
+    public void testValuesDifferentSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createPlan().values(JsonNode.parse("{\"format\": 1}"))
+        );
+    }
+
+    @Test
+    public void testMatchesNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createPlan().matches(null)
+        );
+    }
+
+    @Test
+    public void testMatches() {
+        this.matchesAndCheck(
+            "{\"format\": 1, \"value\": 2}",
+            true
+        );
+    }
+
+    @Test
+    public void testMatchesDifferentSize() {
+        this.matchesAndCheck(
+            "{\"format\": 1}",
+            false
+        );
+    }
+
+    @Test
+    public void testMatchesSameSizeDifferentProperties() {
+        this.matchesAndCheck(
+            "{\"style\": \"s\", \"value\": \"v\"}",
+            false
+        );
+    }
+
+    @Test
+    public void testMatchesDifferentOrder() {
+        this.matchesAndCheck(
+            "{\"value\": \"v\", \"format\": \"f\"}",
+            false
+        );
+    }
+
+    private void matchesAndCheck(final String patch,
+                                 final boolean expected) {
+        this.checkEquals(
+            expected,
+            this.createPlan()
+                .matches(JsonNode.parse(patch)),
+            patch
+        );
+    }
+
+    @Test
+    public void testValues() {
+        final JsonNode[] values = this.createPlan()
+            .values(JsonNode.parse("{\"format\": \"f2\", \"value\": \"v2\"}"));
+
+        this.checkEquals(
+            Arrays.asList(
+                "v2",
+                null,
+                "f2"
+            ),
+            Arrays.asList(
+                values[0].stringOrFail(),
+                values[1],
+                values[2].stringOrFail()
+            )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            "[2, 0]",
+            this.createPlan().toString()
+        );
+    }
+
+    private PatchPlan createPlan() {
+        return COMPILER.compile(
+            JsonNode.parse("{\"format\": \"f\", \"value\": \"v\"}")
+        );
+    }
+}
@@ -0,0 +1,588 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchProcessorTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    private final static PatchSchema<TestJsonObjectPatchable> SCHEMA = PatchSchema.with(TestJsonObjectPatchable.class)
+        .property(JsonPropertyName.with("a"), Integer.class)
+        .property(JsonPropertyName.with("b"), Integer.class)
+        .immutable(JsonPropertyName.with("id"));
+
+    @Test
+    public void testWithNullLoaderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchProcessor.with(null, (k, v) -> {}, Optional.empty(), CONTEXT, Runnable::run, 1, 8)
+        );
+    }
+
+    @Test
+    public void testWithNullStoreFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchProcessor.with(k -> null, null, Optional.empty(), CONTEXT, Runnable::run, 1, 8)
+        );
+    }
+
+    @Test
+    public void testWithNullSchemaFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchProcessor.with(k -> null, (k, v) -> {}, null, CONTEXT, Runnable::run, 1, 8)
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchProcessor.with(k -> null, (k, v) -> {}, Optional.empty(), null, Runnable::run, 1, 8)
+        );
+    }
+
+    @Test
+    public void testWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchProcessor.with(k -> null, (k, v) -> {}, Optional.empty(), CONTEXT, null, 1, 8)
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxBatchSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchProcessor.with(k -> null, (k, v) -> {}, Optional.empty(), CONTEXT, Runnable::run, 0, 8)
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxKeysFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchProcessor.with(k -> null, (k, v) -> {}, Optional.empty(), CONTEXT, Runnable::run, 1, 0)
+        );
+    }
+
+    @Test
+    public void testOnSubscribeRequestsMaxBatchSize() {
+        final TestExecutor executor = new TestExecutor();
+        final PatchProcessor<String, TestJsonObjectPatchable> processor = this.createProcessor(executor, 8);
+        final TestSubscription subscription = new TestSubscription();
+
+        processor.onSubscribe(subscription);
+
+        this.checkEquals(
+            8L,
+            subscription.requested,
+            "requested"
+        );
+    }
+
+    @Test
+    public void testOnSubscribeTwiceCancelsSecond() {
+        final PatchProcessor<String, TestJsonObjectPatchable> processor = this.createProcessor(new TestExecutor(), 8);
+        final TestSubscription second = new TestSubscription();
+
+        processor.onSubscribe(new TestSubscription());
+        processor.onSubscribe(second);
+
+        this.checkEquals(
+            true,
+            second.cancelled,
+            "cancelled"
+        );
+    }
+
+    @Test
+    public void testCoalescesBufferedPatchesPerKey() {
+        final TestExecutor executor = new TestExecutor();
+        final PatchProcessor<String, TestJsonObjectPatchable> processor = this.createProcessor(executor, 8);
+        final TestSubscription subscription = new TestSubscription();
+        final TestSubscriber subscriber = new TestSubscriber();
+
+        processor.subscribe(subscriber);
+        processor.onSubscribe(subscription);
+        processor.onNext(entry("x", "{\"a\": 1}"));
+        processor.onNext(entry("y", "{\"a\": 2}"));
+        processor.onNext(entry("x", "{\"b\": 3}"));
+        processor.onNext(entry("x", "{\"a\": 4}"));
+        processor.onComplete();
+
+        executor.runAll();
+
+        this.checkEquals(
+            Lists.of(
+                PatchProcessorResult.success("x", TestJsonObjectPatchable.parse("{\"a\": 4, \"b\": 3}"), 3),
+                PatchProcessorResult.success("y", TestJsonObjectPatchable.parse("{\"a\": 2}"), 1)
+            ),
+            subscriber.results
+        );
+        this.checkEquals(
+            true,
+            subscriber.completed,
+            "completed"
+        );
+        this.checkEquals(
+            Optional.of(TestJsonObjectPatchable.parse("{\"a\": 4, \"b\": 3}")),
+            processor.value("x"),
+            "value"
+        );
+    }
+
+    @Test
+    public void testLaterBatchesSeePreviousValue() {
+        final TestExecutor executor = new TestExecutor();
+        final PatchProcessor<String, TestJsonObjectPatchable> processor = this.createProcessor(executor, 8);
+        final TestSubscription subscription = new TestSubscription();
+        final TestSubscriber subscriber = new TestSubscriber();
+
+        processor.subscribe(subscriber);
+        processor.onSubscribe(subscription);
+
+        processor.onNext(entry("x", "{\"a\": 1}"));
+        executor.runAll();
+
+        processor.onNext(entry("x", "{\"b\": 2}"));
+        executor.runAll();
+
+        this.checkEquals(
+            Lists.of(
+                PatchProcessorResult.success("x", TestJsonObjectPatchable.parse("{\"a\": 1}"), 1),
+                PatchProcessorResult.success("x", TestJsonObjectPatchable.parse("{\"a\": 1, \"b\": 2}"), 1)
+            ),
+            subscriber.results
+        );
+        this.checkEquals(
+            10L,
+            subscription.requested,
+            "requested"
+        );
+    }
+
+    @Test
+    public void testBatchLimitedToMaxBatchSize() {
+        final TestExecutor executor = new TestExecutor();
+        final PatchProcessor<String, TestJsonObjectPatchable> processor = this.createProcessor(executor, 2);
+        final TestSubscriber subscriber = new TestSubscriber();
+
+        processor.subscribe(subscriber);
+        processor.onSubscribe(new TestSubscription());
+        processor.onNext(entry("x", "{\"a\": 1}"));
+        processor.onNext(entry("x", "{\"a\": 2}"));
+        processor.onNext(entry("x", "{\"a\": 3}"));
+        processor.onComplete();
+
+        executor.runAll();
+
+        this.checkEquals(
+            Lists.of(
+                PatchProcessorResult.success("x", TestJsonObjectPatchable.parse("{\"a\": 2}"), 2),
+                PatchProcessorResult.success("x", TestJsonObjectPatchable.parse("{\"a\": 3}"), 1)
+            ),
+            subscriber.results
+        );
+    }
+
+    @Test
+    public void testParseAndValidateFailuresSkipped() {
+        final TestExecutor executor = new TestExecutor();
+        final PatchProcessor<String, TestJsonObjectPatchable> processor = this.createProcessor(executor, 8);
+        final TestSubscriber subscriber = new TestSubscriber();
+
+        processor.subscribe(subscriber);
+        processor.onSubscribe(new TestSubscription());
+        processor.onNext(entry("x", "{\"a\": 1}"));
+        processor.onNext(entry("x", "{!"));
+        processor.onNext(entry("x", "{\"id\": 1}"));
+        processor.onNext(entry("x", "{\"b\": 2}"));
+        processor.onComplete();
+
+        executor.runAll();
+
+        final List<PatchProcessorResult<String, TestJsonObjectPatchable>> results = subscriber.results;
+        this.checkEquals(
+            3,
+            results.size(),
+            () -> "results " + results
+        );
+        this.checkEquals(
+            true,
+            results.get(0).error().isPresent(),
+            () -> "parse error " + results.get(0)
+        );
+        this.checkEquals(
+            Lists.of(
+                PatchViolation.invalid(
+                    JsonPropertyName.with("id"),
+                    JsonNode.parse("{\"id\": 1}").objectOrFail().get(JsonPropertyName.with("id")).get()
+                )
+            ),
+            results.get(1).violations(),
+            "violations"
+        );
+        this.checkEquals(
+            PatchProcessorResult.success("x", TestJsonObjectPatchable.parse("{\"a\": 1, \"b\": 2}"), 2),
+            results.get(2)
+        );
+    }
+
+    @Test
+    public void testNonObjectPatchWithSchemaSkipped() {
+        final TestExecutor executor = new TestExecutor();
+        final PatchProcessor<String, TestJsonObjectPatchable> processor = this.createProcessor(executor, 8);
+        final TestSubscription subscription = new TestSubscription();
+        final TestSubscriber subscriber = new TestSubscriber();
+
+        processor.subscribe(subscriber);
+        processor.onSubscribe(subscription);
+        processor.onNext(entry("x", "[1]"));
+        processor.onNext(entry("x", "{\"a\": 1}"));
+        executor.runAll();
+
+        processor.onNext(entry("x", "{\"b\": 2}"));
+        processor.onComplete();
+        executor.runAll();
+
+        final List<PatchProcessorResult<String, TestJsonObjectPatchable>> results = subscriber.results;
+        this.checkEquals(
+            3,
+            results.size(),
+            () -> "results " + results
+        );
+        this.checkEquals(
+            IllegalArgumentException.class,
+            results.get(0).error().get().getClass(),
+            () -> "non object " + results.get(0)
+        );
+        this.checkEquals(
+            Lists.of(
+                PatchProcessorResult.success("x", TestJsonObjectPatchable.parse("{\"a\": 1}"), 1),
+                PatchProcessorResult.success("x", TestJsonObjectPatchable.parse("{\"a\": 1, \"b\": 2}"), 1)
+            ),
+            results.subList(1, 3)
+        );
+        this.checkEquals(
+            10L,
+            subscription.requested,
+            "requested"
+        );
+        this.checkEquals(
+            true,
+            subscriber.completed,
+            "completed"
+        );
+    }
+
+    @Test
+    public void testValuesLimitedToMaxKeys() {
+        final TestExecutor executor = new TestExecutor();
+        final Map<String, TestJsonObjectPatchable> store = new HashMap<>();
+        final PatchProcessor<String, TestJsonObjectPatchable> processor = PatchProcessor.with(
+            k -> store.getOrDefault(k, TestJsonObjectPatchable.parse("{}")),
+            store::put,
+            Optional.of(SCHEMA),
+            CONTEXT,
+            executor,
+            8,
+            1
+        );
+        final TestSubscriber subscriber = new TestSubscriber();
+
+        processor.subscribe(subscriber);
+        processor.onSubscribe(new TestSubscription());
+        processor.onNext(entry("x", "{\"a\": 1}"));
+        processor.onNext(entry("y", "{\"a\": 2}"));
+        executor.runAll();
+
+        this.checkEquals(
+            Optional.empty(),
+            processor.value("x"),
+            "x evicted"
+        );
+        this.checkEquals(
+            Optional.of(TestJsonObjectPatchable.parse("{\"a\": 2}")),
+            processor.value("y"),
+            "y"
+        );
+
+        processor.onNext(entry("x", "{\"b\": 3}"));
+        executor.runAll();
+
+        this.checkEquals(
+            PatchProcessorResult.success("x", TestJsonObjectPatchable.parse("{\"a\": 1, \"b\": 3}"), 1),
+            subscriber.results.get(2),
+            "x reloaded"
+        );
+    }
+
+    @Test
+    public void testStoreFailureReported() {
+        final TestExecutor executor = new TestExecutor();
+        final PatchProcessor<String, TestJsonObjectPatchable> processor = PatchProcessor.with(
+            k -> TestJsonObjectPatchable.parse("{}"),
+            (k, v) -> {
+                throw new IllegalStateException("store failed");
+            },
+            Optional.of(SCHEMA),
+            CONTEXT,
+            executor,
+            8,
+            8
+        );
+        final TestSubscriber subscriber = new TestSubscriber();
+
+        processor.subscribe(subscriber);
+        processor.onSubscribe(new TestSubscription());
+        processor.onNext(entry("x", "{\"a\": 1}"));
+        executor.runAll();
+
+        this.checkEquals(
+            "store failed",
+            subscriber.results.get(0)
+                .error()
+                .get()
+                .getMessage(),
+            "error"
+        );
+        this.checkEquals(
+            Optional.empty(),
+            processor.value("x"),
+            "value"
+        );
+    }
+
+    @Test
+    public void testOnErrorClosesExceptionally() {
+        final TestExecutor executor = new TestExecutor();
+        final PatchProcessor<String, TestJsonObjectPatchable> processor = this.createProcessor(executor, 8);
+        final TestSubscriber subscriber = new TestSubscriber();
+
+        processor.subscribe(subscriber);
+        processor.onSubscribe(new TestSubscription());
+        processor.onNext(entry("x", "{\"a\": 1}"));
+        executor.runAll();
+
+        processor.onError(new IllegalStateException("upstream"));
+        executor.runAll();
+
+        this.checkEquals(
+            1,
+            subscriber.results.size(),
+            "results"
+        );
+        this.checkEquals(
+            "upstream",
+            subscriber.error.getMessage(),
+            "error"
+        );
+    }
+
+    @Test
+    public void testSubmissionPublisher() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final PatchProcessor<String, TestJsonObjectPatchable> processor = this.createProcessor(pool, 16);
+            final TestSubscriber subscriber = new TestSubscriber();
+            processor.subscribe(subscriber);
+
+            final int count = 1000;
+            try (final SubmissionPublisher<Map.Entry<String, String>> publisher = new SubmissionPublisher<>(pool, 16)) {
+                publisher.subscribe(processor);
+
+                for (int i = 0; i < count; i++) {
+                    publisher.submit(
+                        entry(
+                            "key" + (i % 3),
+                            "{\"a\": " + i + ", \"b\": " + (i % 5) + "}"
+                        )
+                    );
+                }
+            }
+
+            this.checkEquals(
+                true,
+                subscriber.done.await(10, TimeUnit.SECONDS),
+                "done"
+            );
+            this.checkEquals(
+                null,
+                subscriber.error,
+                "error"
+            );
+
+            int patchCount = 0;
+            for (final PatchProcessorResult<String, TestJsonObjectPatchable> result : subscriber.results) {
+                this.checkEquals(
+                    true,
+                    result.isSuccess(),
+                    () -> "success " + result
+                );
+                patchCount += result.patchCount();
+            }
+            this.checkEquals(
+                count,
+                patchCount,
+                "patchCount"
+            );
+
+            // per key order: the last patch for each key wins
+            for (int k = 0; k < 3; k++) {
+                final int last = count - 3 + ((k - count % 3 + 3) % 3);
+                this.checkEquals(
+                    JsonNode.number(last),
+                    processor.value("key" + k)
+                        .get()
+                        .value
+                        .objectOrFail()
+                        .get(JsonPropertyName.with("a"))
+                        .get()
+                        .removeParent(),
+                    "key" + k
+                );
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private PatchProcessor<String, TestJsonObjectPatchable> createProcessor(final Executor executor,
+                                                                            final int maxBatchSize) {
+        return PatchProcessor.with(
+            k -> TestJsonObjectPatchable.parse("{}"),
+            (k, v) -> {},
+            Optional.of(SCHEMA),
+            CONTEXT,
+            executor,
+            maxBatchSize,
+            8
+        );
+    }
+
+    private static Map.Entry<String, String> entry(final String key,
+                                                   final String patch) {
+        return new AbstractMap.SimpleImmutableEntry<>(
+            key,
+            patch
+        );
+    }
+
+    /**
+     * Queues tasks until {@link #runAll()}, so tests control when tasks run.
+     */
+    private static final class TestExecutor implements Executor {
+
+        @Override
+        public void execute(final Runnable task) {
+            synchronized (this.tasks) {
+                this.tasks.add(task);
+            }
+        }
+
+        void runAll() {
+            for (;;) {
+                final Runnable task;
+                synchronized (this.tasks) {
+                    if (this.tasks.isEmpty()) {
+                        break;
+                    }
+                    task = this.tasks.remove(0);
+                }
+                task.run();
+            }
+        }
+
+        private final List<Runnable> tasks = new ArrayList<>();
+    }
+
+    private static final class TestSubscription implements Flow.Subscription {
+
+        @Override
+        public void request(final long n) {
+            this.requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        long requested;
+
+        boolean cancelled;
+    }
+
+    private static final class TestSubscriber implements Flow.Subscriber<PatchProcessorResult<String, TestJsonObjectPatchable>> {
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final PatchProcessorResult<String, TestJsonObjectPatchable> result) {
+            this.results.add(result);
+        }
+
+        @Override
+        public void onError(final Throwable error) {
+            this.error = error;
+            this.done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+            this.done.countDown();
+        }
+
+        final List<PatchProcessorResult<String, TestJsonObjectPatchable>> results = Collections.synchronizedList(new ArrayList<>());
+
+        volatile boolean completed;
+
+        volatile Throwable error;
+
+        final CountDownLatch done = new CountDownLatch(1);
+    }
+}
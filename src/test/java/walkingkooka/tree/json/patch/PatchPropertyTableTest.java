@@ -0,0 +1,354 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.InvalidPropertyJsonNodeException;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchPropertyTableTest implements Testing {
+
+    private final static JsonPropertyName PREFIX = JsonPropertyName.with("prefix");
+
+    private final static JsonPropertyName SUFFIX = JsonPropertyName.with("suffix");
+
+    private final static JsonPropertyName ID = JsonPropertyName.with("id");
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    private final static PatchSchema<String> SCHEMA = PatchSchema.with(String.class)
+        .property(PREFIX, String.class)
+        .property(SUFFIX, String.class)
+        .immutable(ID);
+
+    @Test
+    public void testWithNullSchemaFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchPropertyTable.with(null)
+        );
+    }
+
+    @Test
+    public void testHandlerNullPropertyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchPropertyTable.with(SCHEMA)
+                .handler(null, (v, p, c) -> v)
+        );
+    }
+
+    @Test
+    public void testHandlerNullHandlerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchPropertyTable.with(SCHEMA)
+                .handler(PREFIX, null)
+        );
+    }
+
+    @Test
+    public void testHandlerUnknownPropertyFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchPropertyTable.with(SCHEMA)
+                .handler(JsonPropertyName.with("unknown"), (v, p, c) -> v)
+        );
+    }
+
+    @Test
+    public void testHandlerImmutablePropertyFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchPropertyTable.with(SCHEMA)
+                .handler(ID, (v, p, c) -> v)
+        );
+    }
+
+    @Test
+    public void testHandlerImmutable() {
+        final PatchPropertyTable<String> empty = PatchPropertyTable.with(SCHEMA);
+        final PatchPropertyTable<String> table = empty.handler(PREFIX, (v, p, c) -> v);
+
+        this.checkEquals(
+            "[]",
+            empty.toString(),
+            "empty"
+        );
+        this.checkEquals(
+            "[prefix]",
+            table.toString(),
+            "table"
+        );
+    }
+
+    @Test
+    public void testIsKnown() {
+        final PatchPropertyTable<String> table = PatchPropertyTable.with(SCHEMA);
+
+        this.checkEquals(
+            true,
+            table.isKnown(ID),
+            "id"
+        );
+        this.checkEquals(
+            false,
+            table.isKnown(JsonPropertyName.with("unknown")),
+            "unknown"
+        );
+    }
+
+    @Test
+    public void testPatchNullValueFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createTable()
+                .patch(null, JsonNode.object(), CONTEXT)
+        );
+    }
+
+    @Test
+    public void testPatchNullPatchFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createTable()
+                .patch("value", null, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testPatchNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createTable()
+                .patch("value", JsonNode.object(), null)
+        );
+    }
+
+    @Test
+    public void testPatchUnknownPropertyFails() {
+        final UnknownPropertyJsonNodeException thrown = assertThrows(
+            UnknownPropertyJsonNodeException.class,
+            () -> this.createTable()
+                .patch(
+                    "value",
+                    JsonNode.parse("{\"prefix\": \"1\", \"unknown\": \"2\"}"),
+                    CONTEXT
+                )
+        );
+        this.checkEquals(
+            JsonPropertyName.with("unknown"),
+            thrown.name(),
+            "name"
+        );
+    }
+
+    @Test
+    public void testPatchInvalidPropertyFails() {
+        final InvalidPropertyJsonNodeException thrown = assertThrows(
+            InvalidPropertyJsonNodeException.class,
+            () -> this.createTable()
+                .patch(
+                    "value",
+                    JsonNode.parse("{\"id\": 1}"),
+                    CONTEXT
+                )
+        );
+        this.checkEquals(
+            ID,
+            thrown.name(),
+            "name"
+        );
+    }
+
+    @Test
+    public void testPatchWithoutHandlerFails() {
+        final InvalidPropertyJsonNodeException thrown = assertThrows(
+            InvalidPropertyJsonNodeException.class,
+            () -> PatchPropertyTable.with(SCHEMA)
+                .handler(PREFIX, (v, p, c) -> v)
+                .patch(
+                    "value",
+                    JsonNode.parse("{\"suffix\": \">\"}"),
+                    CONTEXT
+                )
+        );
+        this.checkEquals(
+            SUFFIX,
+            thrown.name(),
+            "name"
+        );
+    }
+
+    @Test
+    public void testPatchInvalidValueFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createTable()
+                .patch(
+                    "value",
+                    JsonNode.parse("{\"prefix\": 1}"),
+                    CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testPatchEmpty() {
+        final String value = "value";
+
+        assertSame(
+            value,
+            this.createTable()
+                .patch(
+                    value,
+                    JsonNode.object(),
+                    CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testPatch() {
+        this.checkEquals(
+            "<value>",
+            this.createTable()
+                .patch(
+                    "value",
+                    JsonNode.parse("{\"suffix\": \">\", \"prefix\": \"<\"}"),
+                    CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testTryPatchNullValueFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createTable()
+                .tryPatch(null, JsonNode.object(), CONTEXT)
+        );
+    }
+
+    @Test
+    public void testTryPatchViolations() {
+        final JsonNode patch = JsonNode.parse("{\"id\": 1, \"prefix\": 2, \"suffix\": \">\", \"unknown\": 3}");
+        final List<JsonNode> properties = patch.children();
+
+        this.checkEquals(
+            PatchResult.failure(
+                Lists.of(
+                    PatchViolation.invalid(ID, properties.get(0)),
+                    PatchViolation.invalidValue(PREFIX, properties.get(1)),
+                    PatchViolation.invalid(SUFFIX, properties.get(2)),
+                    PatchViolation.unknown(JsonPropertyName.with("unknown"), properties.get(3))
+                )
+            ),
+            PatchPropertyTable.with(SCHEMA)
+                .handler(
+                    PREFIX,
+                    (v, p, c) -> {
+                        throw new UnsupportedOperationException();
+                    }
+                ).tryPatch(
+                    "value",
+                    patch,
+                    CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testTryPatchChildViolations() {
+        final JsonPropertyName child = JsonPropertyName.with("child");
+        final JsonNode patch = JsonNode.parse("{\"prefix\": \"<\", \"child\": {\"id\": 1, \"suffix\": \">\"}}");
+        final List<JsonNode> childProperties = patch.children()
+            .get(1)
+            .children();
+
+        this.checkEquals(
+            PatchResult.failure(
+                Lists.of(
+                    PatchViolation.invalid(ID, childProperties.get(0))
+                )
+            ),
+            PatchPropertyTable.with(
+                SCHEMA.child(
+                    child,
+                    SCHEMA
+                )
+            ).handler(
+                PREFIX,
+                (v, p, c) -> p.stringOrFail() + v
+            ).handler(
+                child,
+                (v, p, c) -> {
+                    throw new UnsupportedOperationException();
+                }
+            ).tryPatch(
+                "value",
+                patch,
+                CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testTryPatch() {
+        this.checkEquals(
+            PatchResult.success("<value>"),
+            this.createTable()
+                .tryPatch(
+                    "value",
+                    JsonNode.parse("{\"suffix\": \">\", \"prefix\": \"<\"}"),
+                    CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            "[prefix]",
+            PatchPropertyTable.with(SCHEMA)
+                .handler(PREFIX, (v, p, c) -> v)
+                .toString()
+        );
+    }
+
+    private PatchPropertyTable<String> createTable() {
+        return PatchPropertyTable.with(SCHEMA)
+            .handler(
+                PREFIX,
+                (v, p, c) -> p.stringOrFail() + v
+            ).handler(
+                SUFFIX,
+                (v, p, c) -> v + p.stringOrFail()
+            );
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchResultCacheTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    @Test
+    public void testWithInvalidMaxSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchResultCache.with(0)
+        );
+    }
+
+    @Test
+    public void testPatchNullTargetFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchResultCache.<TestJsonObjectPatchable>with(1)
+                .patch(null, JsonNode.object(), CONTEXT)
+        );
+    }
+
+    @Test
+    public void testPatchNullPatchFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchResultCache.<TestJsonObjectPatchable>with(1)
+                .patch(TestJsonObjectPatchable.parse("{}"), null, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testPatchNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchResultCache.<TestJsonObjectPatchable>with(1)
+                .patch(TestJsonObjectPatchable.parse("{}"), JsonNode.object(), null)
+        );
+    }
+
+    @Test
+    public void testPatchSamePatchCached() {
+        final PatchResultCache<TestJsonObjectPatchable> cache = PatchResultCache.with(10);
+        final TestJsonObjectPatchable target = TestJsonObjectPatchable.parse("{\"a\": 1}");
+
+        final TestJsonObjectPatchable patched = cache.patch(
+            target,
+            JsonNode.parse("{\"a\": 2}"),
+            CONTEXT
+        );
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"a\": 2}"),
+            patched
+        );
+
+        assertSame(
+            patched,
+            cache.patch(
+                target,
+                JsonNode.parse("{\"a\": 2}"),
+                CONTEXT
+            )
+        );
+
+        this.checkEquals(
+            1,
+            target.patchCount,
+            "patchCount"
+        );
+        this.countsAndCheck(
+            cache,
+            1,
+            1,
+            1,
+            0
+        );
+    }
+
+    @Test
+    public void testPatchDifferentTargetNotCached() {
+        final PatchResultCache<TestJsonObjectPatchable> cache = PatchResultCache.with(10);
+        final JsonNode patch = JsonNode.parse("{\"a\": 2}");
+
+        cache.patch(TestJsonObjectPatchable.parse("{\"a\": 1}"), patch, CONTEXT);
+        cache.patch(TestJsonObjectPatchable.parse("{\"a\": 1}"), patch, CONTEXT);
+
+        this.countsAndCheck(
+            cache,
+            2,
+            0,
+            2,
+            0
+        );
+    }
+
+    @Test
+    public void testPatchDifferentContextNotCached() {
+        final PatchResultCache<TestJsonObjectPatchable> cache = PatchResultCache.with(10);
+        final TestJsonObjectPatchable target = TestJsonObjectPatchable.parse("{\"a\": 1}");
+        final JsonNode patch = JsonNode.parse("{\"a\": 2}");
+
+        cache.patch(target, patch, CONTEXT);
+        cache.patch(target, patch, JsonNodeUnmarshallContexts.fake());
+
+        this.countsAndCheck(
+            cache,
+            2,
+            0,
+            2,
+            0
+        );
+    }
+
+    @Test
+    public void testPatchEvicts() {
+        final PatchResultCache<TestJsonObjectPatchable> cache = PatchResultCache.with(1);
+        final TestJsonObjectPatchable target = TestJsonObjectPatchable.parse("{\"a\": 1}");
+
+        cache.patch(target, JsonNode.parse("{\"a\": 2}"), CONTEXT);
+        cache.patch(target, JsonNode.parse("{\"a\": 3}"), CONTEXT);
+        cache.patch(target, JsonNode.parse("{\"a\": 2}"), CONTEXT);
+
+        this.countsAndCheck(
+            cache,
+            1,
+            0,
+            3,
+            2
+        );
+    }
+
+    private void countsAndCheck(final PatchResultCache<?> cache,
+                                final int size,
+                                final long hits,
+                                final long misses,
+                                final long evictions) {
+        this.checkEquals(size, cache.size(), "size");
+        this.checkEquals(hits, cache.hitCount(), "hitCount");
+        this.checkEquals(misses, cache.missCount(), "missCount");
+        this.checkEquals(evictions, cache.evictionCount(), "evictionCount");
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchResultTest implements Testing {
+
+    private final static PatchViolation VIOLATION = PatchViolation.unknown(
+        JsonPropertyName.with("property"),
+        JsonNode.string("value")
+    );
+
+    @Test
+    public void testSuccessNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchResult.success(null)
+        );
+    }
+
+    @Test
+    public void testFailureNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchResult.failure(null)
+        );
+    }
+
+    @Test
+    public void testFailureEmptyFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PatchResult.failure(Lists.empty())
+        );
+    }
+
+    @Test
+    public void testSuccess() {
+        final PatchResult<String> result = PatchResult.success("value");
+
+        this.checkEquals(true, result.isSuccess(), "isSuccess");
+        this.checkEquals(Optional.of("value"), result.value(), "value");
+        this.checkEquals(Lists.empty(), result.violations(), "violations");
+        this.checkEquals("value", result.valueOrFail(), "valueOrFail");
+    }
+
+    @Test
+    public void testFailure() {
+        final PatchResult<String> result = PatchResult.failure(Lists.of(VIOLATION));
+
+        this.checkEquals(false, result.isSuccess(), "isSuccess");
+        this.checkEquals(Optional.empty(), result.value(), "value");
+        this.checkEquals(Lists.of(VIOLATION), result.violations(), "violations");
+
+        assertThrows(
+            UnknownPropertyJsonNodeException.class,
+            result::valueOrFail
+        );
+    }
+
+    @Test
+    public void testEquals() {
+        this.checkEquals(
+            PatchResult.failure(Lists.of(VIOLATION)),
+            PatchResult.failure(Lists.of(VIOLATION))
+        );
+    }
+
+    @Test
+    public void testEqualsDifferent() {
+        this.checkNotEquals(
+            PatchResult.success("value"),
+            PatchResult.failure(Lists.of(VIOLATION))
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            "value",
+            PatchResult.success("value").toString()
+        );
+    }
+}
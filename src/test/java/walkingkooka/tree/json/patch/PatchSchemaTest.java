@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.InvalidPropertyJsonNodeException;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchSchemaTest implements Testing {
+
+    private final static JsonPropertyName ID = JsonPropertyName.with("id");
+
+    private final static JsonPropertyName NAME = JsonPropertyName.with("name");
+
+    private final static JsonPropertyName WIDTH = JsonPropertyName.with("width");
+
+    private final static JsonPropertyName STYLE = JsonPropertyName.with("style");
+
+    private final static JsonPropertyName COLOR = JsonPropertyName.with("color");
+
+    private final static JsonPropertyName BOLD = JsonPropertyName.with("bold");
+
+    private final static PatchSchema<Object> STYLE_SCHEMA = PatchSchema.with(Object.class)
+        .property(COLOR, String.class)
+        .property(BOLD, Boolean.class);
+
+    @Test
+    public void testWithNullTypeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchSchema.with(null)
+        );
+    }
+
+    @Test
+    public void testPropertyNullPropertyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchSchema.with(String.class)
+                .property(null, String.class)
+        );
+    }
+
+    @Test
+    public void testPropertyNullTypeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchSchema.with(String.class)
+                .property(NAME, null)
+        );
+    }
+
+    @Test
+    public void testChildNullSchemaFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchSchema.with(String.class)
+                .child(STYLE, null)
+        );
+    }
+
+    @Test
+    public void testPropertyImmutable() {
+        final PatchSchema<String> empty = PatchSchema.with(String.class);
+        final PatchSchema<String> schema = empty.property(NAME, String.class);
+
+        this.checkEquals(
+            false,
+            empty.isKnown(NAME),
+            "empty isKnown"
+        );
+        this.checkEquals(
+            true,
+            schema.isKnown(NAME),
+            "schema isKnown"
+        );
+    }
+
+    @Test
+    public void testIsImmutable() {
+        final PatchSchema<Object> schema = this.createSchema();
+
+        this.checkEquals(
+            true,
+            schema.isImmutable(ID),
+            "id"
+        );
+        this.checkEquals(
+            false,
+            schema.isImmutable(NAME),
+            "name"
+        );
+    }
+
+    @Test
+    public void testValueType() {
+        final PatchSchema<Object> schema = this.createSchema();
+
+        this.checkEquals(
+            Optional.of(Integer.class),
+            schema.valueType(WIDTH),
+            "width"
+        );
+        this.checkEquals(
+            Optional.empty(),
+            schema.valueType(JsonPropertyName.with("unknown")),
+            "unknown"
+        );
+    }
+
+    @Test
+    public void testChildSchema() {
+        this.checkEquals(
+            Optional.of(STYLE_SCHEMA),
+            this.createSchema()
+                .childSchema(STYLE)
+        );
+    }
+
+    @Test
+    public void testValidateNullPatchFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createSchema()
+                .validate(null)
+        );
+    }
+
+    @Test
+    public void testValidateValid() {
+        this.validateAndCheck(
+            "{\"name\": \"hello\", \"width\": 1, \"style\": {\"color\": \"red\", \"bold\": true}, \"other\": [1]}"
+        );
+    }
+
+    @Test
+    public void testValidateNulls() {
+        this.validateAndCheck(
+            "{\"name\": null, \"width\": null, \"style\": null}"
+        );
+    }
+
+    @Test
+    public void testValidateAllViolations() {
+        final JsonObject patch = JsonNode.parse(
+            "{\"id\": 1, \"name\": 2, \"unknown\": 3, \"style\": {\"color\": true, \"unknown2\": 4}}"
+        ).objectOrFail();
+        final JsonObject style = patch.get(STYLE).get().objectOrFail();
+
+        this.validateAndCheck(
+            patch.toString(),
+            PatchViolation.invalid(ID, patch.get(ID).get()),
+            PatchViolation.invalidValue(NAME, patch.get(NAME).get()),
+            PatchViolation.unknown(JsonPropertyName.with("unknown"), patch.get(JsonPropertyName.with("unknown")).get()),
+            PatchViolation.invalidValue(COLOR, style.get(COLOR).get()),
+            PatchViolation.unknown(JsonPropertyName.with("unknown2"), style.get(JsonPropertyName.with("unknown2")).get())
+        );
+    }
+
+    @Test
+    public void testValidateOrFailUnknown() {
+        final UnknownPropertyJsonNodeException thrown = assertThrows(
+            UnknownPropertyJsonNodeException.class,
+            () -> this.createSchema()
+                .validateOrFail(JsonNode.parse("{\"unknown\": 1}"))
+        );
+        this.checkEquals(
+            JsonPropertyName.with("unknown"),
+            thrown.name(),
+            "name"
+        );
+    }
+
+    @Test
+    public void testValidateOrFailInvalid() {
+        final InvalidPropertyJsonNodeException thrown = assertThrows(
+            InvalidPropertyJsonNodeException.class,
+            () -> this.createSchema()
+                .validateOrFail(JsonNode.parse("{\"id\": 1}"))
+        );
+        this.checkEquals(
+            ID,
+            thrown.name(),
+            "name"
+        );
+    }
+
+    @Test
+    public void testValidateOrFailInvalidValue() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createSchema()
+                .validateOrFail(JsonNode.parse("{\"width\": \"wide\"}"))
+        );
+    }
+
+    @Test
+    public void testValidateOrFailValid() {
+        this.createSchema()
+            .validateOrFail(JsonNode.parse("{\"name\": \"ok\"}"));
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            "String{name=String, id=immutable}",
+            PatchSchema.with(String.class)
+                .property(NAME, String.class)
+                .immutable(ID)
+                .toString()
+        );
+    }
+
+    private PatchSchema<Object> createSchema() {
+        return PatchSchema.with(Object.class)
+            .immutable(ID)
+            .property(NAME, String.class)
+            .property(WIDTH, Integer.class)
+            .property(JsonPropertyName.with("other"), List.class)
+            .child(STYLE, STYLE_SCHEMA);
+    }
+
+    private void validateAndCheck(final String patch,
+                                  final PatchViolation... expected) {
+        this.checkEquals(
+            Lists.of(expected),
+            this.createSchema()
+                .validate(JsonNode.parse(patch)),
+            patch
+        );
+    }
+}
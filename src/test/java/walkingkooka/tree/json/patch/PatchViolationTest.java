@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.InvalidPropertyJsonNodeException;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchViolationTest implements Testing {
+
+    private final static JsonPropertyName PROPERTY = JsonPropertyName.with("property");
+
+    private final static JsonNode NODE = JsonNode.string("value");
+
+    @Test
+    public void testInvalidNullPropertyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchViolation.invalid(null, NODE)
+        );
+    }
+
+    @Test
+    public void testUnknownNullNodeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PatchViolation.unknown(PROPERTY, null)
+        );
+    }
+
+    @Test
+    public void testInvalid() {
+        final PatchViolation violation = PatchViolation.invalid(PROPERTY, NODE);
+
+        this.checkEquals(PROPERTY, violation.property(), "property");
+        this.checkEquals(NODE, violation.node(), "node");
+        this.checkEquals(true, violation.isInvalid(), "isInvalid");
+        this.checkEquals(false, violation.isUnknown(), "isUnknown");
+
+        final InvalidPropertyJsonNodeException exception = (InvalidPropertyJsonNodeException) violation.exception();
+        this.checkEquals(PROPERTY, exception.name(), "exception name");
+    }
+
+    @Test
+    public void testUnknown() {
+        final PatchViolation violation = PatchViolation.unknown(PROPERTY, NODE);
+
+        this.checkEquals(false, violation.isInvalid(), "isInvalid");
+        this.checkEquals(true, violation.isUnknown(), "isUnknown");
+        this.checkEquals(false, violation.isInvalidValue(), "isInvalidValue");
+
+        final UnknownPropertyJsonNodeException exception = (UnknownPropertyJsonNodeException) violation.exception();
+        this.checkEquals(PROPERTY, exception.name(), "exception name");
+    }
+
+    @Test
+    public void testInvalidValue() {
+        final PatchViolation violation = PatchViolation.invalidValue(PROPERTY, NODE);
+
+        this.checkEquals(false, violation.isInvalid(), "isInvalid");
+        this.checkEquals(false, violation.isUnknown(), "isUnknown");
+        this.checkEquals(true, violation.isInvalidValue(), "isInvalidValue");
+
+        final RuntimeException exception = violation.exception();
+        this.checkEquals(IllegalArgumentException.class, exception.getClass(), "exception");
+        this.checkEquals("Invalid value for property property " + NODE, exception.getMessage(), "message");
+    }
+
+    @Test
+    public void testEquals() {
+        this.checkEquals(
+            PatchViolation.invalid(PROPERTY, NODE),
+            PatchViolation.invalid(PROPERTY, NODE)
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentKind() {
+        this.checkNotEquals(
+            PatchViolation.invalid(PROPERTY, NODE),
+            PatchViolation.unknown(PROPERTY, NODE)
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentKindInvalidValue() {
+        this.checkNotEquals(
+            PatchViolation.invalid(PROPERTY, NODE),
+            PatchViolation.invalidValue(PROPERTY, NODE)
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            "Unknown property property " + NODE,
+            PatchViolation.unknown(PROPERTY, NODE).toString()
+        );
+    }
+
+    @Test
+    public void testToStringInvalidValue() {
+        this.checkEquals(
+            "Invalid value for property property " + NODE,
+            PatchViolation.invalidValue(PROPERTY, NODE).toString()
+        );
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchableBenchmarkTestingTest implements PatchableBenchmarkTesting<TestJsonObjectPatchable> {
+
+    @Test
+    public void testPatchAllocatedBytesPerPatchOverBudgetFails() {
+        Assumptions.assumeTrue(
+            ThreadAllocatedBytes.isSupported(),
+            "Thread allocated bytes not supported"
+        );
+
+        assertThrows(
+            AssertionError.class,
+            () -> this.patchAllocatedBytesPerPatchAndCheck(
+                this.createPatchable(),
+                this.createPatch(),
+                this.createPatchContext(),
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testPatchThroughputUnderMinimumFails() {
+        assertThrows(
+            AssertionError.class,
+            () -> this.patchThroughputAndCheck(
+                this.createPatchable(),
+                this.createPatch(),
+                this.createPatchContext(),
+                Long.MAX_VALUE
+            )
+        );
+    }
+
+    @Override
+    public long patchMaxAllocatedBytesPerPatch() {
+        return 1024 * 1024;
+    }
+
+    @Override
+    public long patchMinPatchesPerSecond() {
+        return 1;
+    }
+
+    @Override
+    public int patchWarmupCount() {
+        return 100;
+    }
+
+    @Override
+    public int patchMeasureCount() {
+        return 1000;
+    }
+
+    @Override
+    public TestJsonObjectPatchable createPatchable() {
+        return TestJsonObjectPatchable.parse("{\"a\": 1, \"b\": {\"c\": 2}}");
+    }
+
+    @Override
+    public JsonNode createPatch() {
+        return JsonNode.parse("{\"a\": 3, \"b\": {\"d\": 4}}");
+    }
+
+    @Override
+    public JsonNodeUnmarshallContext createPatchContext() {
+        return PatchableTestingTest.CONTEXT;
+    }
+}
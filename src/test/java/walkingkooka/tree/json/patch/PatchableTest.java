@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PatchableTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    @Test
+    public void testPatchIfChangedNullJsonFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TestJsonObjectPatchable.parse("{}")
+                .patchIfChanged(null, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testPatchIfChangedNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TestJsonObjectPatchable.parse("{}")
+                .patchIfChanged(JsonNode.object(), null)
+        );
+    }
+
+    @Test
+    public void testPatchIfChangedNoop() {
+        final TestJsonObjectPatchable patchable = TestJsonObjectPatchable.parse("{\"a\": 1, \"b\": 2}");
+
+        assertSame(
+            patchable,
+            patchable.patchIfChanged(
+                JsonNode.parse("{\"a\": 1}"),
+                CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testPatchIfChangedNoopRemoveAbsent() {
+        final TestJsonObjectPatchable patchable = TestJsonObjectPatchable.parse("{\"a\": 1}");
+
+        assertSame(
+            patchable,
+            patchable.patchIfChanged(
+                JsonNode.parse("{\"b\": null}"),
+                CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testPatchIfChangedChanged() {
+        final TestJsonObjectPatchable patchable = TestJsonObjectPatchable.parse("{\"a\": 1, \"b\": 2}");
+
+        this.checkEquals(
+            TestJsonObjectPatchable.parse("{\"a\": 3, \"b\": 2}"),
+            patchable.patchIfChanged(
+                JsonNode.parse("{\"a\": 3}"),
+                CONTEXT
+            )
+        );
+    }
+}
@@ -17,6 +17,7 @@
 
 package walkingkooka.tree.json.patch;
 
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.tree.json.JsonNode;
@@ -28,6 +29,8 @@ import walkingkooka.tree.json.patch.PatchableTestingTest.TestPatchable;
 import java.util.Objects;
 import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public final class PatchableTestingTest implements PatchableTesting<TestPatchable> {
 
     private final static String BEFORE = "before";
@@ -210,6 +213,124 @@ public final class PatchableTestingTest implements PatchableTesting<TestPatchabl
         );
     }
 
+    @Test
+    public void testPatchAndCheckAllocations() {
+        this.patchAndCheckAllocations(
+            this.createPatchable(),
+            this.createPatch(),
+            new TestPatchable(AFTER),
+            1024
+        );
+    }
+
+    @Test
+    public void testPatchAndCheckAllocationsStringOverload() {
+        this.patchAndCheckAllocations(
+            this.createPatchable(),
+            this.createPatch().toString(),
+            new TestPatchable(AFTER),
+            1024
+        );
+    }
+
+    @Test
+    public void testPatchAndCheckAllocationsWrongResultFails() {
+        assertThrows(
+            AssertionError.class,
+            () -> this.patchAndCheckAllocations(
+                this.createPatchable(),
+                this.createPatch(),
+                new TestPatchable("different"),
+                1024
+            )
+        );
+    }
+
+    @Test
+    public void testPatchAndCheckAllocationsOverBudgetFails() {
+        Assumptions.assumeTrue(
+            ThreadAllocatedBytes.isSupported(),
+            "Thread allocated bytes not supported"
+        );
+
+        assertThrows(
+            AssertionError.class,
+            () -> this.patchAndCheckAllocations(
+                this.createPatchable(),
+                this.createPatch(),
+                new TestPatchable(AFTER),
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testPatchAllocatedBytesPerPatchAndCheck() {
+        this.patchAllocatedBytesPerPatchAndCheck(
+            this.createPatchable(),
+            this.createPatch(),
+            this.createPatchContext(),
+            1024
+        );
+    }
+
+    @Test
+    public void testPatchAllocatedBytesPerPatchAndCheckOverBudgetFails() {
+        Assumptions.assumeTrue(
+            ThreadAllocatedBytes.isSupported(),
+            "Thread allocated bytes not supported"
+        );
+
+        assertThrows(
+            AssertionError.class,
+            () -> this.patchAllocatedBytesPerPatchAndCheck(
+                this.createPatchable(),
+                this.createPatch(),
+                this.createPatchContext(),
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testPatchNoopAndCheck() {
+        this.patchNoopAndCheck(
+            this.createPatchable(),
+            JsonNode.string(BEFORE)
+        );
+    }
+
+    @Test
+    public void testPatchNoopAndCheckStringOverload() {
+        this.patchNoopAndCheck(
+            this.createPatchable(),
+            JsonNode.string(BEFORE).toString()
+        );
+    }
+
+    @Test
+    public void testPatchNoopAndCheckChangedFails() {
+        assertThrows(
+            AssertionError.class,
+            () -> this.patchNoopAndCheck(
+                this.createPatchable(),
+                this.createPatch()
+            )
+        );
+    }
+
+    @Test
+    public void testPatchAllAndCheck() {
+        this.patchAllAndCheck(
+            this.createPatchable(),
+            Lists.of(
+                JsonNode.string("1"),
+                this.createPatch()
+            ),
+            new TestPatchable(AFTER)
+        );
+    }
+
     @Test
     public void testPatchInvalidProperty() {
         final JsonPropertyName name = JsonPropertyName.with("abc");
@@ -272,7 +393,10 @@ public final class PatchableTestingTest implements PatchableTesting<TestPatchabl
                 Patchable.invalidPropertyPresent(first.name(), first);
             }
 
-            return new TestPatchable(json.stringOrFail());
+            final String value = json.stringOrFail();
+            return this.value.equals(value) ?
+                this :
+                new TestPatchable(value);
         }
 
         private final String value;
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StreamingPatchReaderTest implements Testing {
+
+    private final static JsonNodeUnmarshallContext CONTEXT = PatchableTestingTest.CONTEXT;
+
+    @Test
+    public void testPatchNullPatchableFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StreamingPatchReader.patch(null, "{}", CONTEXT)
+        );
+    }
+
+    @Test
+    public void testPatchNullTextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StreamingPatchReader.patch(new TestStreamingPatchable(), (CharSequence) null, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testPatchNullReaderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StreamingPatchReader.patch(new TestStreamingPatchable(), (Reader) null, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testPatchNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StreamingPatchReader.patch(new TestStreamingPatchable(), "{}", null)
+        );
+    }
+
+    @Test
+    public void testPatchNotObjectFails() {
+        this.patchFails("[]");
+    }
+
+    @Test
+    public void testPatchMissingEndFails() {
+        this.patchFails("{\"a\": 1");
+    }
+
+    @Test
+    public void testPatchMissingValueFails() {
+        this.patchFails("{\"a\": }");
+    }
+
+    @Test
+    public void testPatchMissingColonFails() {
+        this.patchFails("{\"a\" 1}");
+    }
+
+    @Test
+    public void testPatchTrailingCharactersFails() {
+        this.patchFails("{\"a\": 1} 2");
+    }
+
+    @Test
+    public void testPatchUnbalancedFails() {
+        this.patchFails("{\"a\": [1}}");
+    }
+
+    private void patchFails(final String text) {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> StreamingPatchReader.patch(
+                new TestStreamingPatchable(),
+                text,
+                CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testPatchEmpty() {
+        this.patchAndCheck(
+            " { } "
+        );
+    }
+
+    @Test
+    public void testPatchLiterals() {
+        this.patchAndCheck(
+            "{\"a\": 1, \"b\": true, \"c\": null, \"d\": -1.5e2}",
+            "a=" + JsonNode.number(1),
+            "b=" + JsonNode.booleanNode(true),
+            "c=" + JsonNode.nullNode(),
+            "d=" + JsonNode.number(-150)
+        );
+    }
+
+    @Test
+    public void testPatchStrings() {
+        this.patchAndCheck(
+            "{\"a\": \"x,}\\\"y\", \"b\\u0063\\n\": \"\"}",
+            "a=" + JsonNode.string("x,}\"y"),
+            "bc\n=" + JsonNode.string("")
+        );
+    }
+
+    @Test
+    public void testPatchNested() {
+        this.patchAndCheck(
+            "{\"a\": {\"x\": [1, {\"y\": \"]\"}]},\"b\":[]}",
+            "a=" + JsonNode.parse("{\"x\": [1, {\"y\": \"]\"}]}"),
+            "b=" + JsonNode.array()
+        );
+    }
+
+    @Test
+    public void testPatchReader() {
+        final StringReader reader = new StringReader("{\"a\": [1, 2], \"b\": \"c\"}");
+
+        this.checkEquals(
+            Lists.of(
+                "a=" + JsonNode.parse("[1, 2]"),
+                "b=" + JsonNode.string("c")
+            ),
+            StreamingPatchReader.patch(
+                new TestStreamingPatchable(),
+                reader,
+                CONTEXT
+            ).properties
+        );
+    }
+
+    @Test
+    public void testPatchReaderIOExceptionFails() {
+        final Reader reader = new Reader() {
+            @Override
+            public int read(final char[] buffer,
+                            final int offset,
+                            final int length) throws IOException {
+                throw new IOException("Fail!");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        final UncheckedIOException thrown = assertThrows(
+            UncheckedIOException.class,
+            () -> StreamingPatchReader.patch(
+                new TestStreamingPatchable(),
+                reader,
+                CONTEXT
+            )
+        );
+        this.checkEquals(
+            "Fail!",
+            thrown.getCause().getMessage()
+        );
+    }
+
+    private void patchAndCheck(final String text,
+                               final String... properties) {
+        this.checkEquals(
+            Lists.of(properties),
+            StreamingPatchReader.patch(
+                new TestStreamingPatchable(),
+                text,
+                CONTEXT
+            ).properties,
+            () -> "patch " + text
+        );
+    }
+
+    static final class TestStreamingPatchable implements StreamingPatchable<TestStreamingPatchable> {
+
+        TestStreamingPatchable() {
+            this(Lists.empty());
+        }
+
+        private TestStreamingPatchable(final List<String> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public TestStreamingPatchable patchProperty(final JsonPropertyName property,
+                                                    final JsonNode value,
+                                                    final JsonNodeUnmarshallContext context) {
+            final List<String> properties = new ArrayList<>(this.properties);
+            properties.add(property + "=" + value);
+            return new TestStreamingPatchable(properties);
+        }
+
+        final List<String> properties;
+    }
+}
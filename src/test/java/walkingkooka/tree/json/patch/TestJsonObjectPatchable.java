@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.patch;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.Objects;
+
+/**
+ * A {@link MergePatchable} holding a {@link JsonObject} which is patched using JSON merge patch semantics, where object
+ * values are merged and null removes a property. Any non object patch replaces the entire value.
+ */
+final class TestJsonObjectPatchable implements MergePatchable<TestJsonObjectPatchable> {
+
+    static TestJsonObjectPatchable parse(final String json) {
+        return new TestJsonObjectPatchable(
+            JsonNode.parse(json)
+        );
+    }
+
+    TestJsonObjectPatchable(final JsonNode value) {
+        this.value = value;
+    }
+
+    @Override
+    public TestJsonObjectPatchable patch(final JsonNode json,
+                                         final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(json, "json");
+        Objects.requireNonNull(context, "context");
+
+        this.patchCount++;
+
+        return new TestJsonObjectPatchable(
+            merge(
+                this.value,
+                json
+            )
+        );
+    }
+
+    private static JsonNode merge(final JsonNode value,
+                                  final JsonNode patch) {
+        final JsonNode merged;
+
+        if (patch.isObject()) {
+            JsonObject object = value.isObject() ?
+                value.objectOrFail() :
+                JsonNode.object();
+
+            for (final JsonNode property : patch.children()) {
+                if (property.isNull()) {
+                    object = object.remove(property.name());
+                } else {
+                    object = object.set(
+                        property.name(),
+                        merge(
+                            object.get(property.name())
+                                .orElse(JsonNode.nullNode()),
+                            property
+                        )
+                    );
+                }
+            }
+            merged = object;
+        } else {
+            merged = patch;
+        }
+
+        return merged.removeParent();
+    }
+
+    final JsonNode value;
+
+    /**
+     * The number of times {@link #patch(JsonNode, JsonNodeUnmarshallContext)} was called on this instance.
+     */
+    int patchCount;
+
+    @Override
+    public int hashCode() {
+        return this.value.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof TestJsonObjectPatchable &&
+                this.value.equals(((TestJsonObjectPatchable) other).value);
+    }
+
+    @Override
+    public String toString() {
+        return this.value.toString();
+    }
+}